@@ -0,0 +1,98 @@
+package dev.davwheat.benchmarks;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.GameBoard;
+import dev.davwheat.GameState;
+import dev.davwheat.Player;
+import dev.davwheat.Renderer;
+import dev.davwheat.exceptions.InsufficientBalanceException;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures paying rent on an Animal, and printing its card.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimalBenchmark {
+    /**
+     * Board space index of the Lion, which has the highest rent.
+     */
+    private static final int LION = 25;
+
+    /**
+     * The Lion.
+     */
+    private final Animal animal = (Animal) GameBoard.getSpace(LION);
+
+    /**
+     * Game the Animal is in.
+     */
+    private Game game;
+
+    /**
+     * Player paying rent, who has enough money to keep paying it for the whole run.
+     */
+    private Player payer;
+
+    /**
+     * Renderer which the card is printed to, and which throws it away when flushed.
+     */
+    private Renderer renderer;
+
+    /**
+     * Creates a game where the second player owns the Lion at level 3.
+     */
+    @Setup
+    public void setUp() {
+        this.game = Game.createHeadlessGame(new GreedyDecisionPolicy(4, 0), 0, 1);
+
+        final GameState state = GameState.createFromGame(this.game);
+        state.setOwner(LION, 1);
+        state.setLevel(LION, 3);
+        state.setBalance(0, Long.MAX_VALUE / 4);
+        state.applyTo(this.game);
+
+        this.payer = this.game.getPlayers().get(0);
+        this.renderer = new Renderer(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Pays the rent for stopping on the Animal.
+     *
+     * @return the payer's balance, so it isn't optimised away
+     * @throws InsufficientBalanceException Never, as the payer has plenty of money
+     */
+    @Benchmark
+    public long payForStop() throws InsufficientBalanceException {
+        this.animal.payForStop(this.payer);
+        return this.payer.getBankBalance();
+    }
+
+    /**
+     * Prints the Animal's card, then flushes it.
+     */
+    @Benchmark
+    public void printCard() {
+        this.animal.printCard(this.renderer, this.game.gameBoardInstance);
+        this.renderer.flush();
+    }
+}
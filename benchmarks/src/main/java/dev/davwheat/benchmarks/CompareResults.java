@@ -0,0 +1,170 @@
+package dev.davwheat.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a run of the benchmarks against the stored baseline.
+ * <p>
+ * Both files are JMH's CSV results (`-rf csv`). Every row in the new results is printed next to
+ * the same row in the baseline, with how much it changed. Rows from `-prof gc` (such as
+ * `gc.alloc.rate.norm`, the bytes allocated per operation) are compared the same way.
+ * <p>
+ * Usage: `java -cp benchmarks/target/benchmarks.jar dev.davwheat.benchmarks.CompareResults BASELINE RESULTS`
+ */
+public final class CompareResults {
+    /**
+     * This class only has static methods.
+     */
+    private CompareResults() {
+    }
+
+    /**
+     * Prints the comparison.
+     *
+     * @param args The baseline file, then the results file
+     * @throws IOException Couldn't read either file
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: CompareResults BASELINE RESULTS");
+        }
+
+        CompareResults.compare(CompareResults.read(Path.of(args[0])), CompareResults.read(Path.of(args[1])), System.out);
+    }
+
+    /**
+     * Prints every result next to its baseline.
+     *
+     * @param baseline Baseline scores, by row
+     * @param results  New scores, by row
+     * @param out      Where to print
+     */
+    static void compare(final Map<String, Score> baseline, final Map<String, Score> results, final PrintStream out) {
+        out.printf("%-72s %14s %14s %9s  %s\n", "Benchmark", "Baseline", "Now", "Change", "Unit");
+
+        for (final Map.Entry<String, Score> entry : results.entrySet()) {
+            final Score now = entry.getValue();
+            final Score before = baseline.get(entry.getKey());
+
+            if (before == null) {
+                out.printf("%-72s %14s %14.3f %9s  %s\n", entry.getKey(), "-", now.value, "new", now.unit);
+            } else if (before.value == 0) {
+                out.printf("%-72s %14.3f %14.3f %9s  %s\n", entry.getKey(), before.value, now.value, now.value == 0 ? "same" : "-", now.unit);
+            } else {
+                out.printf("%-72s %14.3f %14.3f %+8.1f%%  %s\n", entry.getKey(), before.value, now.value, (now.value / before.value - 1) * 100, now.unit);
+            }
+        }
+    }
+
+    /**
+     * Reads JMH's CSV results.
+     *
+     * @param file The file
+     * @return Score of each row, keyed by benchmark name and parameters
+     * @throws IOException Couldn't read the file
+     */
+    static Map<String, Score> read(final Path file) throws IOException {
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        final Map<String, Score> scores = new LinkedHashMap<>();
+
+        if (lines.isEmpty()) {
+            return scores;
+        }
+
+        final List<String> header = CompareResults.splitRow(lines.get(0));
+        final int scoreColumn = header.indexOf("Score");
+        final int unitColumn = header.indexOf("Unit");
+
+        if (header.indexOf("Benchmark") != 0 || scoreColumn == -1 || unitColumn == -1) {
+            throw new IllegalArgumentException(file + " isn't a JMH CSV result file.");
+        }
+
+        for (final String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+
+            final List<String> row = CompareResults.splitRow(line);
+            final StringBuilder key = new StringBuilder(row.get(0));
+
+            // Parameter columns come after the unit, named "Param: name"
+            for (int column = unitColumn + 1; column < header.size(); column++) {
+                if (!row.get(column).isEmpty()) {
+                    key.append(' ').append(header.get(column).replace("Param: ", "")).append('=').append(row.get(column));
+                }
+            }
+
+            scores.put(key.toString(), new Score(Double.parseDouble(row.get(scoreColumn)), row.get(unitColumn)));
+        }
+
+        return scores;
+    }
+
+    /**
+     * Splits a CSV row into its values, taking the quotes off any which have them.
+     *
+     * @param line The row
+     * @return the values
+     */
+    static List<String> splitRow(final String line) {
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+
+            if (c == '"') {
+                // Two quotes in a row inside quotes is one quote
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * One row's score.
+     */
+    static final class Score {
+        /**
+         * The score.
+         */
+        final double value;
+
+        /**
+         * Unit the score is in.
+         */
+        final String unit;
+
+        /**
+         * Create a new instance of Score.
+         *
+         * @param value The score
+         * @param unit  Unit the score is in
+         */
+        Score(final double value, final String unit) {
+            this.value = value;
+            this.unit = unit;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.davwheat.benchmarks;
+
+import dev.davwheat.Card;
+import dev.davwheat.Deck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures taking Chance cards from the standard Deck.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    /**
+     * Deck cards are taken from.
+     */
+    private Deck deck;
+
+    /**
+     * Creates the Deck.
+     */
+    @Setup
+    public void setUp() {
+        this.deck = Deck.createBaseDeck(new SplittableRandom(1));
+    }
+
+    /**
+     * Takes the top card, which moves it to the bottom of the pile.
+     *
+     * @return the card, so it isn't optimised away
+     */
+    @Benchmark
+    public Card takeCard() {
+        return this.deck.takeCard();
+    }
+}
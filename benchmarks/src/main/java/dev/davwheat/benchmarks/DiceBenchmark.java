@@ -0,0 +1,57 @@
+package dev.davwheat.benchmarks;
+
+import dev.davwheat.Dice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rolling the dice, with and without pre-generating rolls in bulk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+    /**
+     * Number of rolls generated at once. 1 generates them one draw at a time.
+     */
+    @Param({"1", "1200"})
+    public int bufferSize;
+
+    /**
+     * Dice being rolled.
+     */
+    private Dice dice;
+
+    /**
+     * Creates the Dice.
+     */
+    @Setup
+    public void setUp() {
+        this.dice = new Dice(new SplittableRandom(1), this.bufferSize);
+    }
+
+    /**
+     * Rolls both dice.
+     *
+     * @return the total, so it isn't optimised away
+     */
+    @Benchmark
+    public int rollAllDice() {
+        return this.dice.rollAllDice().getTotalRoll();
+    }
+}
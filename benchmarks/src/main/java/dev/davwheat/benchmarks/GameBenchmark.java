@@ -0,0 +1,127 @@
+package dev.davwheat.benchmarks;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.Money;
+import dev.davwheat.PendingDecision;
+import dev.davwheat.policies.DecisionPolicy;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures whole headless turns and games, played by the greedy policy as in `--simulate`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    /**
+     * Number of players in each game.
+     */
+    private static final int PLAYERS = 4;
+
+    /**
+     * Turn limit for each game, the same as `--simulate`.
+     */
+    private static final int TURN_LIMIT = 1000;
+
+    /**
+     * Policy making every decision.
+     */
+    private final DecisionPolicy policy = new GreedyDecisionPolicy(PLAYERS, Money.fromPounds(100));
+
+    /**
+     * Seed for the next game, so every game is different but every run plays the same ones.
+     */
+    private long seed;
+
+    /**
+     * Game whose turns are being played.
+     */
+    private Game game;
+
+    /**
+     * Starts the first game.
+     */
+    @Setup
+    public void setUp() {
+        this.seed = 0;
+        this.game = this.nextGame();
+    }
+
+    /**
+     * Creates the next game.
+     *
+     * @return the game
+     */
+    private Game nextGame() {
+        return Game.createHeadlessGame(this.policy, TURN_LIMIT, this.seed++);
+    }
+
+    /**
+     * Plays one turn, starting the next game once one finishes.
+     *
+     * @return the turn count, so it isn't optimised away
+     */
+    @Benchmark
+    public int turn() {
+        final int turn = this.game.getTurnCount();
+
+        while (this.game.getTurnCount() == turn) {
+            final PendingDecision decision = this.game.advance();
+
+            if (decision == null) {
+                this.game = this.nextGame();
+                break;
+            }
+
+            this.game.submitDecision(this.answer(decision));
+        }
+
+        return this.game.getTurnCount();
+    }
+
+    /**
+     * Plays a whole game.
+     *
+     * @return the number of turns it took, so it isn't optimised away
+     */
+    @Benchmark
+    public int game() {
+        final Game game = this.nextGame();
+        game.play();
+        return game.getTurnCount();
+    }
+
+    /**
+     * Asks the policy for a decision, the same way `Game.play()` does.
+     *
+     * @param decision The decision
+     * @return the choice
+     */
+    private int answer(final PendingDecision decision) {
+        return switch (decision.type) {
+            case CONTINUE -> 0;
+            case PURCHASE_ANIMAL -> this.policy.shouldPurchaseAnimal(decision.player, decision.animal) ? 1 : 0;
+            case TAKE_CHANCE_CARD -> this.policy.shouldTakeChanceCard(decision.player) ? 1 : 0;
+            case UPGRADE_ANIMAL -> {
+                final Animal animal = this.policy.chooseAnimalToUpgrade(decision.player, decision.upgradeOptions);
+                yield animal == null ? 0 : decision.upgradeOptions.indexOf(animal) + 1;
+            }
+        };
+    }
+}
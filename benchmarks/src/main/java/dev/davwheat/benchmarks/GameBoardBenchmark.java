@@ -0,0 +1,82 @@
+package dev.davwheat.benchmarks;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.GameBoard;
+import dev.davwheat.GameState;
+import dev.davwheat.Player;
+import dev.davwheat.enums.BoardSpaceType;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the Animals a player owns, which every upgrade menu does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBoardBenchmark {
+    /**
+     * Number of Animals the player owns.
+     */
+    @Param({"2", "12"})
+    public int ownedAnimals;
+
+    /**
+     * Board being looked at.
+     */
+    private GameBoard board;
+
+    /**
+     * Player whose Animals are looked up.
+     */
+    private Player player;
+
+    /**
+     * Creates a game where the first player owns the first few Animals.
+     */
+    @Setup
+    public void setUp() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(4, 0), 0, 1);
+        final GameState state = GameState.createFromGame(game);
+        int owned = 0;
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT && owned < this.ownedAnimals; index++) {
+            if (GameBoard.getSpace(index).type == BoardSpaceType.ANIMAL) {
+                state.setOwner(index, 0);
+                owned++;
+            }
+        }
+
+        state.applyTo(game);
+
+        this.board = game.gameBoardInstance;
+        this.player = game.getPlayers().get(0);
+    }
+
+    /**
+     * Gets the player's Animals.
+     *
+     * @return the Animals, so they aren't optimised away
+     */
+    @Benchmark
+    public List<Animal> getOwnedAnimals() {
+        return this.board.getOwnedAnimals(this.player);
+    }
+}
@@ -0,0 +1,61 @@
+package dev.davwheat.benchmarks;
+
+import dev.davwheat.StringTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the text layout used to print cards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringToolsBenchmark {
+    /**
+     * Width of the inside of a printed card.
+     */
+    private static final int WIDTH = 35;
+
+    /**
+     * The longest Chance card message, which wraps over a few lines.
+     */
+    public String message = "You forgot to pay your taxes. Pay £200 in fines and miss your next turn.";
+
+    /**
+     * A short line, like an Animal's name.
+     */
+    public String name = "Alligator";
+
+    /**
+     * Wraps a card message to the width of a card.
+     *
+     * @return the lines, so they aren't optimised away
+     */
+    @Benchmark
+    public List<String> splitStringAtWhitespace() {
+        return StringTools.splitStringAtWhitespace(this.message, WIDTH);
+    }
+
+    /**
+     * Centres a name in the width of a card.
+     *
+     * @return the centred text, so it isn't optimised away
+     */
+    @Benchmark
+    public String centreText() {
+        return StringTools.centreText(this.name, WIDTH);
+    }
+}
@@ -4,6 +4,6 @@
 mkdir -p javadoc
 
 cd javadoc
-javadoc --release 12 --enable-preview -notimestamp ../src/src/dev/davwheat/*.java ../src/src/dev/davwheat/enums/*.java ../src/src/dev/davwheat/exceptions/*.java
+javadoc --release 12 --enable-preview -notimestamp ../src/src/dev/davwheat/*.java ../src/src/dev/davwheat/enums/*.java ../src/src/dev/davwheat/exceptions/*.java ../src/src/dev/davwheat/policies/*.java ../src/src/dev/davwheat/simulation/*.java ../src/src/dev/davwheat/server/*.java ../src/src/dev/davwheat/analysis/*.java
 
 cd ..
@@ -9,80 +9,106 @@ import dev.davwheat.exceptions.AnimalUpgradeNotAllowedException;
 import dev.davwheat.exceptions.InsufficientBalanceException;
 
 import javax.naming.NoPermissionException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.List;
 
 /**
  * Class that represents an Animal, which is a space on the GameBoard.
+ * <p>
+ * Like every BoardSpace, each Animal is shared by all Games. Its owner and level in
+ * a particular game are kept by that game's GameBoard.
  */
 public class Animal extends BoardSpace {
     /**
-     * The cost of the Animal to buy.
+     * Width of the inside of a printed card.
      */
-    public final double purchaseCost;
+    private static final int CARD_INNER_WIDTH = 24;
 
     /**
-     * The cost to upgrade the Animal to the next level.
+     * Horizontal lines of a printed card's frame.
      */
-    public final double upgradeCost;
+    private static final String CARD_INNER_FRAME = "━".repeat(Animal.CARD_INNER_WIDTH);
 
     /**
-     * The cost to stop on this Animal for each level.
-     * <p>
-     * Contains indexes 0 to 3 (inclusive) for Levels 0 to 3.
+     * The cost of the Animal to buy, in pence.
      */
-    public final double[] stopCosts;
+    public final long purchaseCost;
 
     /**
-     * The Player who owns this Animal.
+     * The cost to upgrade the Animal to the next level, in pence.
      */
-    private Player ownedBy;
+    public final long upgradeCost;
 
     /**
-     * The current level for this Animal.
+     * The cost to stop on this Animal for each level, in pence.
+     * <p>
+     * Contains indexes 0 to 3 (inclusive) for Levels 0 to 3. This is shared by every
+     * Game, so it's kept private to stop it being changed.
      */
-    private AnimalLevel currentLevel = AnimalLevel.LEVEL_ZERO;
+    private final long[] stopCosts;
 
     /**
      * Create a new instance of the Animal class.
      *
      * @param name        Name of the Animal shown to Players.
-     * @param cost        The cost to buy the Animal.
-     * @param upgradeCost The cost to upgrade the Animal.
-     * @param stopCosts   An array of 4 costs for stopping on the Animal (Level 0 - 3).
+     * @param cost        The cost to buy the Animal, in pence.
+     * @param upgradeCost The cost to upgrade the Animal, in pence.
+     * @param stopCosts   An array of 4 costs in pence for stopping on the Animal (Level 0 - 3).
      * @param index       Where the Animal is on the GameBoard.
-     * @param game        The instance of Game that this Animal belongs to.
      */
-    public Animal(final String name, final double cost, final double upgradeCost, final double[] stopCosts, final int index, final Game game) {
+    public Animal(final String name, final long cost, final long upgradeCost, final long[] stopCosts, final int index) {
         // Call the parent class constructor
-        super(name, index, BoardSpaceType.ANIMAL, true, game);
+        super(name, index, BoardSpaceType.ANIMAL, true);
+
+        if (stopCosts.length != AnimalLevel.values().length) {
+            throw new IllegalArgumentException("stopCosts must have one cost for each AnimalLevel.");
+        }
 
         this.purchaseCost = cost;
         this.upgradeCost = upgradeCost;
-        this.stopCosts = stopCosts;
+        this.stopCosts = stopCosts.clone();
+    }
+
+    /**
+     * Gets the owner of this animal in a game.
+     *
+     * @param board The game's board
+     * @return Animal's owner, or null if it isn't owned
+     */
+    public Player getOwner(final GameBoard board) {
+        return board.getOwner(this.index);
+    }
+
+    /**
+     * Gets the current level of this Animal in a game.
+     *
+     * @param board The game's board
+     * @return the level
+     */
+    public AnimalLevel getCurrentLevel(final GameBoard board) {
+        return board.getLevel(this.index);
     }
 
     /**
-     * Gets the owner of this animal
+     * Gets the cost to stop on this Animal at a level, ignoring who owns it.
      *
-     * @return Animal's owner
+     * @param level The level
+     * @return The cost in pence
      */
-    public Player getOwner() {
-        return this.ownedBy;
+    public long getStopCostAtLevel(final AnimalLevel level) {
+        return this.stopCosts[level.value];
     }
 
     /**
      * Get the cost for the provided Player to stop on this Animal's BoardSpace.
      *
      * @param actor The player
-     * @return The cost for this player to stop on this animal
+     * @return The cost in pence for this player to stop on this animal
      */
-    public double getStopCost(final Player actor) {
+    public long getStopCost(final Player actor) {
         // It's free to stop on your own property
         if (this.isOwnedBy(actor)) return 0;
 
-        final double cost = this.stopCosts[this.currentLevel.value];
+        final long cost = this.getStopCostAtLevel(this.getCurrentLevel(actor.getGameInstance().gameBoardInstance));
 
         if (cost == 0) {
             throw new IllegalStateException("stopCost at currentLevel is 0");
@@ -104,7 +130,7 @@ public class Animal extends BoardSpace {
 
         // Charge the person stopping, and apply the
         // opposite action to the Animal owner.
-        actor.adjustBankBalance(-this.getStopCost(actor), this.getOwner());
+        actor.adjustBankBalance(-this.getStopCost(actor), this.getOwner(actor.getGameInstance().gameBoardInstance));
     }
 
     /**
@@ -116,7 +142,9 @@ public class Animal extends BoardSpace {
      * @throws AnimalAlreadyOwnedException Animal is already owned by another player.
      */
     public void purchase(final Player actor) throws AnimalAlreadyOwnedException, InsufficientBalanceException {
-        if (this.getOwner() != null) {
+        final GameBoard board = actor.getGameInstance().gameBoardInstance;
+
+        if (this.getOwner(board) != null) {
             throw new AnimalAlreadyOwnedException("Cannot purchase an animal if it is already owned.");
         }
 
@@ -124,7 +152,7 @@ public class Animal extends BoardSpace {
         actor.adjustBankBalance(-this.purchaseCost);
 
         // Set the owner
-        this.ownedBy = actor;
+        board.setOwner(this, actor);
     }
 
     /**
@@ -139,11 +167,14 @@ public class Animal extends BoardSpace {
      * @throws AnimalUpgradeNotAllowedException Thrown when an Animal is already at the maximum level.
      */
     public void upgrade(final Player actor) throws AnimalNotOwnedException, NoPermissionException, AnimalUpgradeNotAllowedException, InsufficientBalanceException {
-        if (this.getOwner() == null) {
+        final GameBoard board = actor.getGameInstance().gameBoardInstance;
+        final AnimalLevel currentLevel = this.getCurrentLevel(board);
+
+        if (this.getOwner(board) == null) {
             throw new AnimalNotOwnedException("An animal cannot be upgraded if it is not owned. You should always check if an upgrade is possible using `isUpgradable(player)` before attempting an upgrade.");
         } else if (!this.isOwnedBy(actor)) {
             throw new NoPermissionException("Only the Animal owner has permission to upgrade the animal. You should always check if an upgrade is possible using `isUpgradable(player)` before attempting an upgrade.");
-        } else if (this.currentLevel == AnimalLevel.LEVEL_THREE) {
+        } else if (currentLevel == AnimalLevel.LEVEL_THREE) {
             throw new AnimalUpgradeNotAllowedException("Animal is already at the maximum level. You should always check if an upgrade is possible using `isUpgradable(player)` before attempting an upgrade.");
         }
 
@@ -153,7 +184,7 @@ public class Animal extends BoardSpace {
         // Charge the actor the upgrade cost
         actor.adjustBankBalance(-this.upgradeCost);
         // Increase the level by 1
-        this.currentLevel = AnimalLevel.fromNumberValue(this.currentLevel.value + 1);
+        board.setLevel(this, AnimalLevel.fromNumberValue(currentLevel.value + 1));
     }
 
     /**
@@ -163,7 +194,7 @@ public class Animal extends BoardSpace {
      * @return Whether the Player can upgrade the Animal
      */
     public boolean isUpgradable(final Player actor) {
-        return this.getOwner() != null && this.isOwnedBy(actor) && this.currentLevel != AnimalLevel.LEVEL_THREE;
+        return this.isOwnedBy(actor) && this.getCurrentLevel(actor.getGameInstance().gameBoardInstance) != AnimalLevel.LEVEL_THREE;
     }
 
     /**
@@ -173,54 +204,55 @@ public class Animal extends BoardSpace {
      * @return If the player owns the animal
      */
     public boolean isOwnedBy(final Player actor) {
-        final Player owner = this.getOwner();
-        return (owner != null && owner.equals(actor));
+        return actor != null && this.getOwner(actor.getGameInstance().gameBoardInstance) == actor;
     }
 
     /**
-     * Prints a visual representation of the card to stdout.
+     * Prints a visual representation of the card.
+     *
+     * @param renderer Where to print the card
+     * @param board    The board of the game being printed, for the owner and level
      */
-    public void printCard() {
-        final int cardInnerWidth = 24;
-        final String cardInnerFrame = "━".repeat(cardInnerWidth);
+    public void printCard(final Renderer renderer, final GameBoard board) {
+        // Skip all the layout work if nobody will see it
+        if (renderer.isQuiet()) {
+            return;
+        }
+
+        final int cardInnerWidth = Animal.CARD_INNER_WIDTH;
+        final String cardInnerFrame = Animal.CARD_INNER_FRAME;
 
-        final ArrayList<String> displayNameLines = StringTools.centreText(StringTools.splitStringAtWhitespace(this.displayName, cardInnerWidth), cardInnerWidth);
+        final List<String> displayNameLines = StringTools.layoutCentred(this.displayName, cardInnerWidth, cardInnerWidth);
 
         // Frame characters from here:
         // https://en.wikipedia.org/wiki/Box-drawing_character
 
-        System.out.printf("┏%s┓\n", cardInnerFrame);
-        displayNameLines.forEach(s -> System.out.printf("┃%s┃\n", s));
-        System.out.printf("┣%s┫\n", cardInnerFrame);
-        System.out.printf("┃%s%s%s┃\n", Color.WHITE_BOLD_BRIGHT, StringTools.centreText("Stop costs", cardInnerWidth), Color.RESET);
+        renderer.print('┏').print(cardInnerFrame).println("┓");
+        displayNameLines.forEach(s -> renderer.print('┃').print(s).println("┃"));
+        renderer.print('┣').print(cardInnerFrame).println("┫");
+        renderer.print('┃').printColored(Color.WHITE_BOLD_BRIGHT, StringTools.layoutCentred("Stop costs", cardInnerWidth, cardInnerWidth).get(0)).println("┃");
+
+        final Player owner = this.getOwner(board);
+        final AnimalLevel currentLevel = this.getCurrentLevel(board);
 
         // Prints stop costs
-        final AtomicInteger level = new AtomicInteger();
-        Arrays.stream(this.stopCosts).forEach(cost -> {
+        for (int level = 0; level < this.stopCosts.length; level++) {
             // Whether this line of text represents the current level of the Animal.
-            final boolean isThisCurrentLevel = this.getOwner() != null && this.currentLevel.value == level.get();
+            final boolean isThisCurrentLevel = owner != null && currentLevel.value == level;
 
-            System.out.printf("┃%s%s%s┃\n", isThisCurrentLevel ? Color.WHITE_BOLD_BRIGHT : "", StringTools.centreText(String.format("Level %d - £%.2f", level.get(), cost), cardInnerWidth), Color.RESET);
-            level.getAndIncrement();
-        });
+            renderer.print('┃');
+            if (isThisCurrentLevel) renderer.print(Color.WHITE_BOLD_BRIGHT);
+            renderer.print(StringTools.centreText("Level " + level + " - " + Money.format(this.stopCosts[level]), cardInnerWidth)).print(Color.RESET).println("┃");
+        }
 
-        System.out.printf("┣%s┫\n", cardInnerFrame);
+        renderer.print('┣').print(cardInnerFrame).println("┫");
 
-        if (this.getOwner() == null) {
-            System.out.printf("┃%s┃\n", StringTools.centreText(String.format("Purchase for £%.2f", this.purchaseCost), cardInnerWidth));
+        if (owner == null) {
+            renderer.print('┃').print(StringTools.centreText("Purchase for " + Money.format(this.purchaseCost), cardInnerWidth)).println("┃");
         } else {
-            System.out.printf("┃%s┃\n", StringTools.centreText(String.format("Owned by %s", this.getOwner().playerName), cardInnerWidth));
+            renderer.print('┃').print(StringTools.centreText("Owned by " + owner.playerName, cardInnerWidth)).println("┃");
         }
 
-        System.out.printf("┗%s┛\n", cardInnerFrame);
-    }
-
-    /**
-     * Gets the current level of this Animal.
-     *
-     * @return the level
-     */
-    public AnimalLevel getCurrentLevel() {
-        return this.currentLevel;
+        renderer.print('┗').print(cardInnerFrame).println("┛");
     }
 }
@@ -0,0 +1,408 @@
+package dev.davwheat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws the GameBoard as a ring of 26 cells, with a list of players in the middle.
+ * <p>
+ * Each cell shows the space's name, who owns it (and its level) or what it costs, and
+ * the identifiers of any players standing on it.
+ * <p>
+ * When the Renderer allows ANSI codes, the board is pinned to the top of the terminal
+ * the first time it is drawn, and game output scrolls underneath it. After that, only
+ * the lines of the board which have changed are redrawn, using cursor addressing.
+ * Otherwise the whole board is printed every time.
+ */
+public class BoardRenderer {
+    /**
+     * Number of cells along the top and bottom of the board.
+     */
+    private static final int COLUMNS = 7;
+
+    /**
+     * Number of cells down the left and right of the board, including the corners.
+     */
+    private static final int ROWS = 8;
+
+    /**
+     * Width of the text inside a cell.
+     */
+    private static final int CELL_WIDTH = 10;
+
+    /**
+     * Number of lines of text inside a cell.
+     */
+    private static final int CELL_LINES = 3;
+
+    /**
+     * Width of the whole board, in characters.
+     */
+    private static final int BOARD_WIDTH = COLUMNS * (CELL_WIDTH + 1) + 1;
+
+    /**
+     * Height of the whole board, in lines.
+     */
+    private static final int BOARD_HEIGHT = ROWS * (CELL_LINES + 1) + 1;
+
+    /**
+     * Maximum number of players listed in the middle of the board.
+     */
+    private static final int MAX_LISTED_PLAYERS = (ROWS - 2) * (CELL_LINES + 1) - 4;
+
+    /**
+     * Width of each line in the middle of the board.
+     */
+    private static final int LIST_WIDTH = (COLUMNS - 2) * (CELL_WIDTH + 1) - 3;
+
+    /**
+     * The board's frame, with every cell empty.
+     * <p>
+     * Never changes, so it is shared by every BoardRenderer.
+     */
+    private static final char[][] FRAME = BoardRenderer.createFrame();
+
+    /**
+     * The game that the board belongs to.
+     */
+    private final Game gameInstance;
+
+    /**
+     * The board row of each line of text that can change, 0-indexed.
+     */
+    private final int[] slotRows;
+
+    /**
+     * The board column of each line of text that can change, 0-indexed.
+     */
+    private final int[] slotColumns;
+
+    /**
+     * The width of each line of text that can change.
+     */
+    private final int[] slotWidths;
+
+    /**
+     * The text last drawn in each line, or null if it has never been drawn.
+     */
+    private final String[] drawnSlots;
+
+    /**
+     * Reused to build each line of text before comparing it to what was last drawn.
+     */
+    private final StringBuilder line = new StringBuilder(BOARD_WIDTH);
+
+    /**
+     * Whether the board has been pinned to the top of the terminal.
+     */
+    private boolean isPinned;
+
+    /**
+     * Create a new instance of BoardRenderer.
+     *
+     * @param gameInstance The game that the board belongs to
+     */
+    public BoardRenderer(final Game gameInstance) {
+        this.gameInstance = gameInstance;
+
+        final int cellSlots = GameBoard.SPACE_COUNT * CELL_LINES;
+        final int slotCount = cellSlots + 1 + MAX_LISTED_PLAYERS;
+
+        this.slotRows = new int[slotCount];
+        this.slotColumns = new int[slotCount];
+        this.slotWidths = new int[slotCount];
+        this.drawnSlots = new String[slotCount];
+
+        for (int space = 0; space < GameBoard.SPACE_COUNT; space++) {
+            final int row = BoardRenderer.cellRow(space) * (CELL_LINES + 1) + 1;
+            final int column = BoardRenderer.cellColumn(space) * (CELL_WIDTH + 1) + 1;
+
+            for (int i = 0; i < CELL_LINES; i++) {
+                final int slot = space * CELL_LINES + i;
+                this.slotRows[slot] = row + i;
+                this.slotColumns[slot] = column;
+                this.slotWidths[slot] = CELL_WIDTH;
+            }
+        }
+
+        // Title, then the list of players in the middle of the board
+        for (int i = 0; i <= MAX_LISTED_PLAYERS; i++) {
+            final int slot = cellSlots + i;
+            this.slotRows[slot] = CELL_LINES + 3 + i + (i > 0 ? 1 : 0);
+            this.slotColumns[slot] = CELL_WIDTH + 3;
+            this.slotWidths[slot] = LIST_WIDTH;
+        }
+    }
+
+    /**
+     * Gets the row of cells that a board space is drawn in.
+     *
+     * @param index Board space index
+     * @return Row of cells, from the top
+     */
+    static int cellRow(final int index) {
+        if (index < COLUMNS) return 0;
+        if (index < COLUMNS + ROWS - 2) return index - COLUMNS + 1;
+        if (index < 2 * COLUMNS + ROWS - 2) return ROWS - 1;
+        return GameBoard.SPACE_COUNT - index;
+    }
+
+    /**
+     * Gets the column of cells that a board space is drawn in.
+     *
+     * @param index Board space index
+     * @return Column of cells, from the left
+     */
+    static int cellColumn(final int index) {
+        if (index < COLUMNS) return index;
+        if (index < COLUMNS + ROWS - 2) return COLUMNS - 1;
+        if (index < 2 * COLUMNS + ROWS - 2) return 2 * COLUMNS + ROWS - 3 - index;
+        return 0;
+    }
+
+    /**
+     * Draws the empty frame of the board, joining cell borders with the right box-drawing characters.
+     *
+     * @return the frame, as rows of characters
+     */
+    private static char[][] createFrame() {
+        // Bit flags for which directions a border character connects in
+        final int up = 1, down = 2, left = 4, right = 8;
+        final int[][] links = new int[BOARD_HEIGHT][BOARD_WIDTH];
+
+        for (int space = 0; space < GameBoard.SPACE_COUNT; space++) {
+            final int top = BoardRenderer.cellRow(space) * (CELL_LINES + 1);
+            final int bottom = top + CELL_LINES + 1;
+            final int leftEdge = BoardRenderer.cellColumn(space) * (CELL_WIDTH + 1);
+            final int rightEdge = leftEdge + CELL_WIDTH + 1;
+
+            for (int x = leftEdge; x < rightEdge; x++) {
+                links[top][x] |= right;
+                links[top][x + 1] |= left;
+                links[bottom][x] |= right;
+                links[bottom][x + 1] |= left;
+            }
+
+            for (int y = top; y < bottom; y++) {
+                links[y][leftEdge] |= down;
+                links[y + 1][leftEdge] |= up;
+                links[y][rightEdge] |= down;
+                links[y + 1][rightEdge] |= up;
+            }
+        }
+
+        // Indexed by the bit flags above
+        final String boxCharacters = " ╵╷│╴┘┐┤╶└┌├─┴┬┼";
+        final char[][] frame = new char[BOARD_HEIGHT][BOARD_WIDTH];
+
+        for (int y = 0; y < BOARD_HEIGHT; y++) {
+            for (int x = 0; x < BOARD_WIDTH; x++) {
+                frame[y][x] = boxCharacters.charAt(links[y][x]);
+            }
+        }
+
+        return frame;
+    }
+
+    /**
+     * Draws the board, or just the parts of it which have changed since it was last drawn.
+     *
+     * @param renderer Where to draw the board
+     */
+    public void render(final Renderer renderer) {
+        if (renderer.isQuiet()) {
+            return;
+        }
+
+        if (renderer.isStrippingAnsi()) {
+            this.renderWholeBoard(renderer);
+            return;
+        }
+
+        if (!this.isPinned) {
+            // Clear the screen, draw the board at the top, then make everything below it scroll
+            renderer.print("\033[2J\033[H");
+            this.renderWholeBoard(renderer);
+            renderer.print("\033[").print(BOARD_HEIGHT + 1).print('r');
+            renderer.print("\033[").print(BOARD_HEIGHT + 1).print(";1H");
+            this.isPinned = true;
+            return;
+        }
+
+        boolean hasSavedCursor = false;
+
+        for (int slot = 0; slot < this.drawnSlots.length; slot++) {
+            if (!this.updateSlot(slot)) {
+                continue;
+            }
+
+            if (!hasSavedCursor) {
+                renderer.print("\0337");
+                hasSavedCursor = true;
+            }
+
+            // Cursor positions start at 1
+            renderer.print("\033[").print(this.slotRows[slot] + 1).print(';').print(this.slotColumns[slot] + 1).print('H');
+            renderer.print(this.drawnSlots[slot]);
+        }
+
+        if (hasSavedCursor) {
+            renderer.print("\0338");
+        }
+    }
+
+    /**
+     * Stops the board being pinned to the top of the terminal, so that output can use the whole screen again.
+     *
+     * @param renderer Where the board was drawn
+     */
+    public void unpin(final Renderer renderer) {
+        if (!this.isPinned) {
+            return;
+        }
+
+        renderer.print("\033[r").print("\033[999;1H").println();
+        this.isPinned = false;
+    }
+
+    /**
+     * Prints the whole board, line by line.
+     *
+     * @param renderer Where to draw the board
+     */
+    private void renderWholeBoard(final Renderer renderer) {
+        for (int slot = 0; slot < this.drawnSlots.length; slot++) {
+            this.updateSlot(slot);
+        }
+
+        final char[] row = new char[BOARD_WIDTH];
+
+        for (int y = 0; y < BOARD_HEIGHT; y++) {
+            System.arraycopy(FRAME[y], 0, row, 0, BOARD_WIDTH);
+
+            for (int slot = 0; slot < this.drawnSlots.length; slot++) {
+                if (this.slotRows[slot] == y) {
+                    this.drawnSlots[slot].getChars(0, this.slotWidths[slot], row, this.slotColumns[slot]);
+                }
+            }
+
+            renderer.println(new String(row));
+        }
+    }
+
+    /**
+     * Works out the current text of a line, and stores it if it has changed since it was last drawn.
+     *
+     * @param slot Line of text
+     * @return Whether the line has changed
+     */
+    private boolean updateSlot(final int slot) {
+        final StringBuilder sb = this.line;
+        sb.setLength(0);
+
+        final int cellSlots = GameBoard.SPACE_COUNT * CELL_LINES;
+
+        if (slot < cellSlots) {
+            this.appendCellLine(sb, slot / CELL_LINES, slot % CELL_LINES);
+        } else if (slot == cellSlots) {
+            sb.append(StringTools.centreText("ANIMOPOLY", LIST_WIDTH));
+        } else {
+            this.appendPlayerLine(sb, slot - cellSlots - 1);
+        }
+
+        // Pad or cut to exactly fill the line, so the old text is always overwritten
+        final int width = this.slotWidths[slot];
+        if (sb.length() > width) sb.setLength(width);
+        while (sb.length() < width) sb.append(' ');
+
+        final String drawn = this.drawnSlots[slot];
+
+        if (drawn != null && drawn.contentEquals(sb)) {
+            return false;
+        }
+
+        this.drawnSlots[slot] = sb.toString();
+        return true;
+    }
+
+    /**
+     * Appends one line of text inside a cell.
+     *
+     * @param sb    Where to append the text
+     * @param index Board space index
+     * @param line  Line within the cell
+     */
+    private void appendCellLine(final StringBuilder sb, final int index, final int line) {
+        final GameBoard board = this.gameInstance.gameBoardInstance;
+        final BoardSpace space = board.getBoardSpaceAtPosition(index);
+
+        switch (line) {
+            case 0 -> {
+                if (space.displayName.length() <= CELL_WIDTH) {
+                    sb.append(space.displayName);
+                } else {
+                    sb.append(StringTools.splitStringAtWhitespace(space.displayName, CELL_WIDTH).get(0));
+                }
+            }
+            case 1 -> {
+                switch (space.type) {
+                    case START -> sb.append("Pass +£500");
+                    case MISS_NEXT_TURN -> {
+                        // Continue the name from the first line
+                        final List<String> nameLines = StringTools.splitStringAtWhitespace(space.displayName, CELL_WIDTH);
+                        if (nameLines.size() > 1) sb.append(nameLines.get(1));
+                    }
+                    case ANIMAL -> {
+                        final Player owner = board.getOwner(index);
+
+                        if (owner == null) {
+                            Money.appendTo(sb, ((Animal) space).purchaseCost);
+                        } else {
+                            sb.append(owner.playerVisualIdentifier).append(" Lv").append(((Animal) space).getCurrentLevel(board).value);
+                        }
+                    }
+                }
+            }
+            default -> {
+                final ArrayList<Player> players = this.gameInstance.getPlayers();
+
+                for (int i = 0; i < players.size(); i++) {
+                    final Player player = players.get(i);
+
+                    if (!player.hasLost() && player.getCurrentSpaceIndex() == index) {
+                        sb.append(player.playerVisualIdentifier);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the line for a player in the list in the middle of the board.
+     *
+     * @param sb       Where to append the text
+     * @param playerId Player ID
+     */
+    private void appendPlayerLine(final StringBuilder sb, final int playerId) {
+        final ArrayList<Player> players = this.gameInstance.getPlayers();
+
+        if (playerId >= players.size()) {
+            return;
+        }
+
+        final Player player = players.get(playerId);
+        sb.append(player == this.gameInstance.getActivePlayer() ? "> " : "  ");
+        sb.append(player.playerVisualIdentifier).append("  ").append(player.playerName);
+
+        // Line up the balances
+        while (sb.length() < 18) sb.append(' ');
+
+        if (player.hasLost()) {
+            sb.append("Bankrupt");
+        } else {
+            Money.appendTo(sb, player.getBankBalance());
+            sb.append("  (").append(this.gameInstance.gameBoardInstance.countOwnedAnimals(player)).append(" owned)");
+        }
+    }
+
+}
@@ -4,6 +4,10 @@ import dev.davwheat.enums.BoardSpaceType;
 
 /**
  * A space on the GameBoard which a Player can land on and interact with.
+ * <p>
+ * BoardSpaces never change, so every Game shares the same ones (see `GameBoard.SPACES`).
+ * Anything which changes during a game, such as who owns an Animal, is kept by the
+ * Game's GameBoard instead.
  */
 public class BoardSpace {
     /**
@@ -26,11 +30,6 @@ public class BoardSpace {
      */
     public final boolean isOwnable;
 
-    /**
-     * The Game that this BoardSpace is a part of.
-     */
-    private final Game gameInstance;
-
     /**
      * Create a new instance of BoardSpace.
      *
@@ -38,13 +37,11 @@ public class BoardSpace {
      * @param index       The position of this BoardSpace on the GameBoard.
      * @param type        The type of this BoardSpace.
      * @param isOwnable   Whether this BoardSpace can be owned by a Player.
-     * @param game        The Game that this BoardSpace belongs to.
      */
-    public BoardSpace(final String displayName, final int index, final BoardSpaceType type, final boolean isOwnable, final Game game) {
+    public BoardSpace(final String displayName, final int index, final BoardSpaceType type, final boolean isOwnable) {
         this.index = index;
         this.displayName = displayName;
         this.type = type;
         this.isOwnable = isOwnable;
-        this.gameInstance = game;
     }
 }
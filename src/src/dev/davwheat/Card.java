@@ -10,18 +10,33 @@ import java.util.List;
  * balance change as a result), and methods to take the action.
  */
 public class Card {
+    /**
+     * Width of the inside of a printed card.
+     */
+    private static final int CARD_WIDTH = 35;
+
+    /**
+     * Top and bottom border of a printed card.
+     */
+    private static final String CARD_BORDER = "─".repeat(Card.CARD_WIDTH);
+
+    /**
+     * Empty line inside a printed card.
+     */
+    private static final String CARD_BLANK_LINE = " ".repeat(Card.CARD_WIDTH);
+
     public final String message;
-    public final double balanceChange;
+    public final long balanceChange;
     public final boolean missNextTurn;
 
     /**
      * Creates a new Card.
      *
      * @param cardMessage   Message displayed on the card
-     * @param balanceChange Balance change caused by the card
+     * @param balanceChange Balance change caused by the card, in pence
      * @param missNextTurn  Whether to miss next turn because of this card
      */
-    public Card(final String cardMessage, final double balanceChange, final boolean missNextTurn) {
+    public Card(final String cardMessage, final long balanceChange, final boolean missNextTurn) {
         this.message = cardMessage;
         this.balanceChange = balanceChange;
         this.missNextTurn = missNextTurn;
@@ -41,34 +56,46 @@ public class Card {
             throw new NullPointerException("actor cannot be null.");
         }
 
+        final Renderer renderer = actor.getGameInstance().getRenderer();
+
         actor.adjustBankBalance(this.balanceChange);
 
         if (this.missNextTurn) {
             actor.makeMissNextTurn();
             if (this.balanceChange != 0) {
-                System.out.printf("You %s £%.2f and will miss your next turn.\n", this.balanceChange < 0 ? "lost" : "won", this.balanceChange);
+                renderer.print("You ").print(this.balanceChange < 0 ? "lost " : "won ").printMoney(Math.abs(this.balanceChange)).println(" and will miss your next turn.");
             } else {
-                System.out.print("You will miss your next turn.\n");
+                renderer.println("You will miss your next turn.");
             }
         } else {
-            System.out.printf("You %s £%.2f.\n", this.balanceChange < 0 ? "lost" : "won", this.balanceChange);
+            renderer.print("You ").print(this.balanceChange < 0 ? "lost " : "won ").printMoney(Math.abs(this.balanceChange)).println(".");
         }
     }
 
-    public void printCard() {
-        final int width = 35;
-        final String innerBorder = "─".repeat(width);
+    /**
+     * Prints a visual representation of the card.
+     *
+     * @param renderer Where to print the card
+     */
+    public void printCard(final Renderer renderer) {
+        // Skip all the layout work if nobody will see it
+        if (renderer.isQuiet()) {
+            return;
+        }
+
+        final int width = Card.CARD_WIDTH;
+        final String innerBorder = Card.CARD_BORDER;
 
-        System.out.printf("╭%s╮\n", innerBorder);
+        renderer.print('╭').print(innerBorder).println("╮");
 
-        final List<String> lines = StringTools.splitStringAtWhitespace(this.message, width - 2);
-        final List<String> centredLines = StringTools.centreText(lines, width);
+        // Laid out once, then reused every time the card is printed
+        final List<String> centredLines = StringTools.layoutCentred(this.message, width - 2, width);
 
-        System.out.printf("│%s%s%s│\n", Color.WHITE_BOLD_BRIGHT, StringTools.centreText("Chance", width), Color.RESET);
-        System.out.printf("│%s│\n", " ".repeat(width));
+        renderer.print('│').printColored(Color.WHITE_BOLD_BRIGHT, StringTools.layoutCentred("Chance", width, width).get(0)).println("│");
+        renderer.print('│').print(Card.CARD_BLANK_LINE).println("│");
 
-        centredLines.forEach(s -> System.out.printf("│%s│\n", s));
+        centredLines.forEach(s -> renderer.print('│').print(s).println("│"));
 
-        System.out.printf("╰%s╯\n", innerBorder);
+        renderer.print('╰').print(innerBorder).println("╯");
     }
 }
@@ -2,11 +2,14 @@ package dev.davwheat;
 
 import dev.davwheat.exceptions.DeckIsLockedException;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 /**
  * Manages a deck of Cards, from generation to selection.
+ * <p>
+ * Cards are kept in an array with a cursor pointing at the top card, so taking
+ * a card (and putting it on the bottom of the pile) just moves the cursor on.
  */
 public class Deck {
     /**
@@ -15,12 +18,55 @@ public class Deck {
     private boolean isLocked;
 
     /**
-     * ArrayList of all cards in the Deck.
+     * All cards in the Deck.
+     * <p>
+     * Only the first `cardCount` entries are used.
+     */
+    private Card[] allCards = new Card[16];
+
+    /**
+     * Number of cards in the Deck.
+     */
+    private int cardCount;
+
+    /**
+     * Index of the top card in `allCards`.
+     */
+    private int topCardIndex;
+
+    /**
+     * Random number generator used to shuffle the cards.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Whether the cards are shuffled again once every card has been taken.
+     */
+    private boolean reshuffleWhenExhausted;
+
+    /**
+     * Records changes to the order and top card, if the Game using the Deck has an undo log.
      */
-    private ArrayList<Card> allCards = new ArrayList<>();
+    UndoLog undoLog;
 
+    /**
+     * Create a new, empty instance of Deck which shuffles using an unseeded random number generator.
+     */
     public Deck() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Create a new, empty instance of Deck.
+     *
+     * @param random Random number generator used to shuffle the cards
+     */
+    public Deck(final SplittableRandom random) {
+        if (random == null) {
+            throw new NullPointerException("random must be a valid instance of SplittableRandom, and not null.");
+        }
 
+        this.random = random;
     }
 
     /**
@@ -38,7 +84,22 @@ public class Deck {
             throw new DeckIsLockedException("Deck is locked. No modifications are allowed.");
         }
 
-        this.allCards.add(card);
+        if (this.cardCount == this.allCards.length) {
+            this.allCards = Arrays.copyOf(this.allCards, this.cardCount * 2);
+        }
+
+        // Keep the top card at index 0, so that the new card goes on the bottom of the pile
+        if (this.topCardIndex != 0) {
+            final Card[] ordered = new Card[this.allCards.length];
+            System.arraycopy(this.allCards, this.topCardIndex, ordered, 0, this.cardCount - this.topCardIndex);
+            System.arraycopy(this.allCards, 0, ordered, this.cardCount - this.topCardIndex, this.topCardIndex);
+
+            this.allCards = ordered;
+            this.topCardIndex = 0;
+        }
+
+        this.allCards[this.cardCount] = card;
+        this.cardCount++;
         return this;
     }
 
@@ -55,50 +116,165 @@ public class Deck {
     }
 
     /**
-     * Shuffle all the cards.
+     * Makes the Deck shuffle itself again every time all of its cards have been taken.
+     * <p>
+     * Uses the Deck's own random number generator, so a seeded Deck still
+     * produces the same cards every time.
+     *
+     * @param reshuffle Whether to reshuffle when the Deck is exhausted
+     * @return the Deck
+     */
+    public Deck setReshuffleWhenExhausted(final boolean reshuffle) {
+        this.reshuffleWhenExhausted = reshuffle;
+        return this;
+    }
+
+    /**
+     * Shuffle all the cards using the Deck's random number generator.
      *
      * @return the Deck
      */
     public Deck shuffleCards() {
-        Collections.shuffle(this.allCards);
+        return this.shuffleCards(this.random);
+    }
+
+    /**
+     * Shuffle all the cards using the provided random number generator.
+     * <p>
+     * The same generator state always produces the same order.
+     *
+     * @param random Random number generator
+     * @return the Deck
+     */
+    public Deck shuffleCards(final SplittableRandom random) {
+        if (this.undoLog != null) {
+            this.undoLog.recordDeckCursor(this.topCardIndex);
+            this.undoLog.recordDeckOrder(Arrays.copyOf(this.allCards, this.cardCount));
+        }
+
+        // Fisher-Yates shuffle
+        for (int i = this.cardCount - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final Card card = this.allCards[i];
+            this.allCards[i] = this.allCards[j];
+            this.allCards[j] = card;
+        }
+
+        this.topCardIndex = 0;
         return this;
     }
 
     /**
      * Take the top card, return it, and move it to the bottom of the pile.
+     * <p>
+     * If the Deck reshuffles when exhausted, the cards are shuffled again after
+     * the last card in the pile has been taken.
      *
      * @return a Card
      */
     public Card takeCard() {
+        if (this.cardCount == 0) {
+            throw new IllegalStateException("Cannot take a card from an empty Deck.");
+        }
+
         // Get the top card
-        final Card card = this.allCards.get(0);
-        // Remove the top card
-        this.allCards.remove(0);
-        // Push the card to the bottom of the pile
-        this.allCards.add(card);
+        final Card card = this.allCards[this.topCardIndex];
+
+        if (this.undoLog != null) {
+            this.undoLog.recordDeckCursor(this.topCardIndex);
+        }
+
+        // Moving the top index on puts the old top card at the bottom of the pile
+        this.topCardIndex++;
+
+        if (this.topCardIndex == this.cardCount) {
+            this.topCardIndex = 0;
+
+            if (this.reshuffleWhenExhausted) {
+                this.shuffleCards();
+            }
+        }
 
         return card;
     }
 
+    /**
+     * Gets how far through the pile the Deck is.
+     *
+     * @return Index of the top card (0 for the first card after shuffling)
+     */
+    public int getTopCardIndex() {
+        return this.topCardIndex;
+    }
+
+    /**
+     * Moves the top of the pile to a card, without changing the order of the cards.
+     * <p>
+     * Used by `GameState.applyTo()`.
+     *
+     * @param index Index of the new top card
+     */
+    void setTopCardIndex(final int index) {
+        if (index < 0 || index >= Math.max(1, this.cardCount)) {
+            throw new IllegalArgumentException("index must be between 0 and " + (this.cardCount - 1) + ".");
+        }
+
+        this.topCardIndex = index;
+    }
+
+    /**
+     * Puts the cards back into an order recorded by an UndoLog.
+     *
+     * @param cards The cards, in order
+     */
+    void setCardOrder(final Card[] cards) {
+        System.arraycopy(cards, 0, this.allCards, 0, cards.length);
+    }
+
+    /**
+     * Gets the number of cards in the Deck.
+     *
+     * @return number of cards
+     */
+    public int getCardCount() {
+        return this.cardCount;
+    }
+
+    /**
+     * Gets a card without taking it.
+     *
+     * @param position Position in the pile, counting from the top card (0)
+     * @return the Card
+     */
+    public Card getCard(final int position) {
+        if (position < 0 || position >= this.cardCount) {
+            throw new IllegalArgumentException("position must be between 0 and " + (this.cardCount - 1) + ".");
+        }
+
+        return this.allCards[(this.topCardIndex + position) % this.cardCount];
+    }
+
     /**
      * Creates a Deck with the standard set of cards.
      *
+     * @param random Random number generator used to shuffle the cards
      * @return the Deck
      */
-    public static Deck createBaseDeck() {
-        final Deck deck = new Deck();
+    public static Deck createBaseDeck(final SplittableRandom random) {
+        final Deck deck = new Deck(random);
 
+        // All balance changes are in pence (see the Money class).
         try {
-            deck.addCard(new Card("Your animal won second prize in a beauty contest. Collect £50.", 50, false))
-                    .addCard(new Card("It's your animal's birthday! Collect £200.", 200, false))
-                    .addCard(new Card("Your animal gave birth and you sold their babies! Collect £300.", 300, false))
-                    .addCard(new Card("You crashed your tractor. Pay £400 in insurance premiums.", -400, false))
-                    .addCard(new Card("You got a raise! Collect £320.", 320, false))
-                    .addCard(new Card("You forgot to pay your taxes. Pay £200 in fines and miss your next turn.", -200, true))
-                    .addCard(new Card("Your animals have contracted disease and need medication. Pay £100.", -100, false))
-                    .addCard(new Card("Your animals won Best in Show. Collect £100.", 100, false))
-                    .addCard(new Card("You won the the local lottery. Collect £500.", 500, false))
-                    .addCard(new Card("Your stocks diminished in value. Lose £500.", -500, false))
+            deck.addCard(new Card("Your animal won second prize in a beauty contest. Collect £50.", 5000, false))
+                    .addCard(new Card("It's your animal's birthday! Collect £200.", 20000, false))
+                    .addCard(new Card("Your animal gave birth and you sold their babies! Collect £300.", 30000, false))
+                    .addCard(new Card("You crashed your tractor. Pay £400 in insurance premiums.", -40000, false))
+                    .addCard(new Card("You got a raise! Collect £320.", 32000, false))
+                    .addCard(new Card("You forgot to pay your taxes. Pay £200 in fines and miss your next turn.", -20000, true))
+                    .addCard(new Card("Your animals have contracted disease and need medication. Pay £100.", -10000, false))
+                    .addCard(new Card("Your animals won Best in Show. Collect £100.", 10000, false))
+                    .addCard(new Card("You won the the local lottery. Collect £500.", 50000, false))
+                    .addCard(new Card("Your stocks diminished in value. Lose £500.", -50000, false))
                     .addCard(new Card("One of your animals has died. Miss your next turn.", 0, true))
                     .lock()
                     .shuffleCards();
@@ -1,22 +1,104 @@
 package dev.davwheat;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Handles the rolling of dice to decide player movement.
+ * <p>
+ * Dice created with a SplittableRandom roll from a buffer of pre-generated
+ * rolls, so rolling is just an array read most of the time. The same seed
+ * always produces the same rolls, whatever size the buffer is.
  */
 public class Dice {
+    /**
+     * Default number of rolls held in the buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1200;
+
+    /**
+     * Number of rolls generated from each number drawn from the random number generator.
+     */
+    private static final int ROLLS_PER_DRAW = 6;
+
+    /**
+     * Number of different outcomes for `ROLLS_PER_DRAW` rolls (6 to the power 6).
+     */
+    private static final int OUTCOMES_PER_DRAW = 46656;
+
     private int d1;
     private int d2;
 
+    /**
+     * Random number generator used to fill the roll buffer.
+     * <p>
+     * If null, each die is rolled with `rollDice()` instead.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Pre-generated rolls (each 1 to 6).
+     * <p>
+     * Refilled from `random` whenever every roll has been used.
+     */
+    private final byte[] rollBuffer;
+
+    /**
+     * Index of the next unused roll in `rollBuffer`.
+     */
+    private int bufferPosition;
+
+    /**
+     * Create a new instance of Dice which rolls using `rollDice()`.
+     */
+    public Dice() {
+        this.random = null;
+        this.rollBuffer = null;
+    }
+
+    /**
+     * Create a new instance of Dice which rolls using the provided random number generator.
+     * <p>
+     * The same generator state always produces the same rolls.
+     *
+     * @param random Random number generator
+     */
+    public Dice(final SplittableRandom random) {
+        this(random, Dice.ROLLS_PER_DRAW);
+    }
+
+    /**
+     * Create a new instance of Dice which rolls using the provided random number generator,
+     * pre-generating rolls in bulk.
+     * <p>
+     * The same generator state always produces the same rolls, whatever the buffer size.
+     *
+     * @param random     Random number generator
+     * @param bufferSize Number of rolls to generate at once (rounded up to a multiple of 6)
+     */
+    public Dice(final SplittableRandom random, final int bufferSize) {
+        if (random == null) {
+            throw new NullPointerException("random must be a valid instance of SplittableRandom, and not null.");
+        }
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1.");
+        }
+
+        // Round up so that no generated rolls are ever thrown away
+        final int draws = (bufferSize + Dice.ROLLS_PER_DRAW - 1) / Dice.ROLLS_PER_DRAW;
+
+        this.random = random;
+        this.rollBuffer = new byte[draws * Dice.ROLLS_PER_DRAW];
+        this.bufferPosition = this.rollBuffer.length;
+    }
+
     /**
      * Gets a random number between 1 and 6.
      *
      * @return int (1-6)
      */
     public static int rollDice() {
-        final Random random = new Random();
-        return random.nextInt(6) + 1;
+        return ThreadLocalRandom.current().nextInt(1, 7);
     }
 
     /**
@@ -33,15 +115,49 @@ public class Dice {
          * a random value between 2-12 due to the
          * different distribution of values.
          */
-        final int d1 = Dice.rollDice();
-        final int d2 = Dice.rollDice();
-
-        this.d1 = d1;
-        this.d2 = d2;
+        if (this.rollBuffer == null) {
+            this.d1 = Dice.rollDice();
+            this.d2 = Dice.rollDice();
+        } else {
+            this.d1 = this.nextBufferedRoll();
+            this.d2 = this.nextBufferedRoll();
+        }
 
         return this;
     }
 
+    /**
+     * Takes the next roll from the buffer, refilling it if needed.
+     *
+     * @return int (1-6)
+     */
+    private int nextBufferedRoll() {
+        if (this.bufferPosition == this.rollBuffer.length) {
+            this.refillBuffer();
+        }
+
+        return this.rollBuffer[this.bufferPosition++];
+    }
+
+    /**
+     * Fills the whole buffer with new rolls.
+     * <p>
+     * Each number drawn from the random number generator is split into 6 rolls,
+     * by reading it as a 6 digit number in base 6.
+     */
+    private void refillBuffer() {
+        for (int i = 0; i < this.rollBuffer.length; ) {
+            int draw = this.random.nextInt(Dice.OUTCOMES_PER_DRAW);
+
+            for (int j = 0; j < Dice.ROLLS_PER_DRAW; j++) {
+                this.rollBuffer[i++] = (byte) (draw % 6 + 1);
+                draw /= 6;
+            }
+        }
+
+        this.bufferPosition = 0;
+    }
+
     /**
      * Is the roll a double?
      *
@@ -1,7 +1,13 @@
 package dev.davwheat;
 
+import dev.davwheat.enums.TurnState;
+import dev.davwheat.policies.ConsoleDecisionPolicy;
+import dev.davwheat.policies.DecisionPolicy;
+
 import javax.naming.NoPermissionException;
 import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
@@ -9,6 +15,11 @@ import java.util.function.Function;
  * Manages the game state and runs the game itself.
  */
 public class Game {
+    /**
+     * Most players a game can have, so that every `playerId` fits in the owner of a board space (a `short`).
+     */
+    public static final int MAX_PLAYERS = Short.MAX_VALUE;
+
 
     /**
      * List of all players in the game.
@@ -20,6 +31,25 @@ public class Game {
      */
     private Player activePlayer;
 
+    /**
+     * Turn order of the players who haven't lost, as a circular linked list.
+     * <p>
+     * `nextSeat[i]` is the `playerId` of the player after player `i`.
+     * Bankrupt players are unlinked, but keep their own link so that they can
+     * still hand the turn on.
+     */
+    private int[] nextSeat;
+
+    /**
+     * `previousSeat[i]` is the `playerId` of the player before player `i` in the turn order.
+     */
+    private int[] previousSeat;
+
+    /**
+     * Number of players who haven't lost.
+     */
+    private int livePlayerCount;
+
     /**
      * The full deck of cards used within the game.
      */
@@ -31,13 +61,102 @@ public class Game {
     public GameBoard gameBoardInstance;
 
     /**
-     * Creates an instance of the `Game` class.
+     * Supplies every choice made during the game (player setup, purchases, Chance cards, upgrades).
+     */
+    private final DecisionPolicy decisionPolicy;
+
+    /**
+     * Collects all game output, which is flushed at the end of each turn.
+     */
+    private final Renderer renderer;
+
+    /**
+     * Maximum number of turns to play before stopping the game.
+     * <p>
+     * 0 means there is no limit.
+     */
+    private final int turnLimit;
+
+    /**
+     * Number of turns taken so far (including missed turns).
+     */
+    private int turnCount;
+
+    /**
+     * Source of all randomness in the game (dice rolls and shuffling).
+     * <p>
+     * Seeded so that the same seed always plays out the same game.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The Dice rolled by every player.
+     * <p>
+     * Uses its own stream split from `random`.
+     */
+    private final Dice dice;
+
+    /**
+     * Runs each turn one step at a time.
+     */
+    private final TurnStateMachine turnStateMachine;
+
+    /**
+     * Records how to undo every change to the game, or null if changes aren't being recorded.
+     */
+    private UndoLog undoLog;
+
+    /**
+     * Zobrist hash of the game's state, kept up to date as it changes (apart from the Deck's key).
+     */
+    private long stateHash;
+
+    /**
+     * Creates an instance of the `Game` class which is played using the console.
+     * <p>
+     * Call `play()` to start the game.
      */
     public Game() {
-        this.cardDeck = Deck.createBaseDeck();
+        this(new ConsoleDecisionPolicy(new IOHelper()), new Renderer(System.out), 0, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates an instance of the `Game` class.
+     * <p>
+     * Call `play()` to start the game.
+     *
+     * @param decisionPolicy Supplies every choice made during the game
+     * @param renderer       Collects all game output
+     * @param turnLimit      Maximum number of turns to play (0 for no limit)
+     * @param seed           Seed for all randomness in the game
+     */
+    public Game(final DecisionPolicy decisionPolicy, final Renderer renderer, final int turnLimit, final long seed) {
+        if (turnLimit < 0) {
+            throw new IllegalArgumentException("turnLimit cannot be negative.");
+        }
+
+        this.decisionPolicy = decisionPolicy;
+        this.renderer = renderer;
+        this.turnLimit = turnLimit;
+        this.random = new SplittableRandom(seed);
+        this.dice = new Dice(this.random.split(), Dice.DEFAULT_BUFFER_SIZE);
+        this.cardDeck = Deck.createBaseDeck(this.random.split());
+        this.turnStateMachine = new TurnStateMachine(this);
         this.initialiseGame();
     }
 
+    /**
+     * Creates a Game which runs without any console input or output.
+     *
+     * @param decisionPolicy Supplies every choice made during the game
+     * @param turnLimit      Maximum number of turns to play (0 for no limit)
+     * @param seed           Seed for all randomness in the game
+     * @return the Game
+     */
+    public static Game createHeadlessGame(final DecisionPolicy decisionPolicy, final int turnLimit, final long seed) {
+        return new Game(decisionPolicy, Renderer.createQuietRenderer(), turnLimit, seed);
+    }
+
     /**
      * Gets the list of all players in the Game.
      *
@@ -56,6 +175,144 @@ public class Game {
         return this.activePlayer;
     }
 
+    /**
+     * Gets the DecisionPolicy that supplies every choice made during the game.
+     *
+     * @return the DecisionPolicy
+     */
+    public DecisionPolicy getDecisionPolicy() {
+        return this.decisionPolicy;
+    }
+
+    /**
+     * Gets the Renderer which collects all game output.
+     *
+     * @return the Renderer
+     */
+    public Renderer getRenderer() {
+        return this.renderer;
+    }
+
+    /**
+     * Gets the source of all randomness in the game.
+     *
+     * @return the random number generator
+     */
+    public SplittableRandom getRandom() {
+        return this.random;
+    }
+
+    /**
+     * Gets the Dice rolled by every player.
+     *
+     * @return the Dice
+     */
+    public Dice getDice() {
+        return this.dice;
+    }
+
+    /**
+     * Gets the maximum number of turns the game is played for.
+     *
+     * @return turn limit (0 for no limit)
+     */
+    public int getTurnLimit() {
+        return this.turnLimit;
+    }
+
+    /**
+     * Gets the number of turns taken so far (including missed turns).
+     *
+     * @return turn count
+     */
+    public int getTurnCount() {
+        return this.turnCount;
+    }
+
+    /**
+     * Gets the winner of the game.
+     *
+     * @return The only player left, or null if the game is still running or stopped at the turn limit
+     */
+    public Player getWinner() {
+        if (this.livePlayerCount != 1) {
+            return null;
+        }
+
+        return this.nextLivePlayer(this.activePlayer.playerId, true);
+    }
+
+    /**
+     * Starts recording how to undo every change made to the game, so that moves can be taken back.
+     * <p>
+     * If changes are already being recorded, the existing UndoLog is returned.
+     *
+     * @return the UndoLog
+     */
+    public UndoLog startUndoLog() {
+        if (this.undoLog == null) {
+            this.undoLog = new UndoLog(this);
+            this.cardDeck.undoLog = this.undoLog;
+        }
+
+        return this.undoLog;
+    }
+
+    /**
+     * Stops recording changes, keeping the changes made so far.
+     */
+    public void stopUndoLog() {
+        this.undoLog = null;
+        this.cardDeck.undoLog = null;
+    }
+
+    /**
+     * Gets the UndoLog recording changes to the game.
+     *
+     * @return the UndoLog, or null if changes aren't being recorded
+     */
+    public UndoLog getUndoLog() {
+        return this.undoLog;
+    }
+
+    /**
+     * Gets the Zobrist hash of the game's state, which is the same for any two identical states.
+     * <p>
+     * This is kept up to date as the game changes, so it's cheap enough to call after every move
+     * (for example, to look positions up in a transposition table). See ZobristHash for what it covers.
+     *
+     * @return the hash
+     */
+    public long getStateHash() {
+        // The Deck doesn't know which Game it belongs to, so its key is added here instead
+        return this.stateHash ^ ZobristHash.deckCursorKey(this.cardDeck.getTopCardIndex());
+    }
+
+    /**
+     * Works out the state hash from scratch, after the state has been set up or restored.
+     */
+    private void resetStateHash() {
+        this.stateHash = ZobristHash.hashOf(this) ^ ZobristHash.deckCursorKey(this.cardDeck.getTopCardIndex());
+    }
+
+    /**
+     * Updates the state hash after part of the state has changed.
+     *
+     * @param keys The old and new keys for what changed, XORed together
+     */
+    void updateStateHash(final long keys) {
+        this.stateHash ^= keys;
+    }
+
+    /**
+     * Gets the number of players who haven't lost.
+     *
+     * @return live player count
+     */
+    public int getLivePlayerCount() {
+        return this.livePlayerCount;
+    }
+
     /**
      * End the active player's turn.
      *
@@ -67,21 +324,132 @@ public class Game {
             throw new NoPermissionException("Only the active player can end the turn.");
         }
 
-        // Get the index of the current active player
-        final int activePlayerIndex = this.players.indexOf(actor);
+        if (this.livePlayerCount == 0) {
+            throw new IllegalStateException("Every player has lost, so nobody can take the next turn.");
+        }
+
+        this.setActivePlayer(this.nextLivePlayer(actor.playerId, false));
+    }
+
+    /**
+     * Sets the player taking their turn, recording the change if there's an undo log.
+     *
+     * @param player The player
+     */
+    void setActivePlayer(final Player player) {
+        if (this.undoLog != null) {
+            this.undoLog.recordActivePlayer(this.activePlayer);
+        }
+
+        this.stateHash ^= ZobristHash.activeSeatKey(this.activePlayer.playerId) ^ ZobristHash.activeSeatKey(player.playerId);
+        this.activePlayer = player;
+    }
+
+    /**
+     * Sets the number of turns taken, recording the change if there's an undo log.
+     *
+     * @param turnCount The turn count
+     */
+    void setTurnCount(final int turnCount) {
+        if (this.undoLog != null) {
+            this.undoLog.recordTurnCount(this.turnCount);
+        }
+
+        this.turnCount = turnCount;
+    }
+
+    /**
+     * Finds the next player in the turn order who hasn't lost.
+     *
+     * @param playerId    Player to start from
+     * @param includeSelf Whether to return the starting player if they haven't lost
+     * @return The next player who hasn't lost
+     */
+    private Player nextLivePlayer(final int playerId, final boolean includeSelf) {
+        int seat = includeSelf ? playerId : this.nextSeat[playerId];
+
+        // Only a bankrupt player's link can lead to another bankrupt player (who went
+        // bankrupt after them), so this almost never loops more than once.
+        while (this.players.get(seat).hasLost()) {
+            seat = this.nextSeat[seat];
+        }
+
+        return this.players.get(seat);
+    }
+
+    /**
+     * Removes a bankrupt player from the turn order.
+     * <p>
+     * Called by `Player.declareBankruptcy()`.
+     *
+     * @param player Bankrupt player
+     */
+    void removeFromTurnOrder(final Player player) {
+        final int seat = player.playerId;
+
+        this.nextSeat[this.previousSeat[seat]] = this.nextSeat[seat];
+        this.previousSeat[this.nextSeat[seat]] = this.previousSeat[seat];
+        this.livePlayerCount--;
+
+        if (this.undoLog != null) {
+            this.undoLog.recordRemovedFromTurnOrder(player);
+        }
+    }
+
+    /**
+     * Puts a player back into the turn order, where they were before `removeFromTurnOrder()`.
+     * <p>
+     * Only used by the UndoLog. The player keeps their own links when they're removed, so as long
+     * as players are put back in the reverse order they were removed, the links are all still right.
+     *
+     * @param player Player to put back
+     */
+    void returnToTurnOrder(final Player player) {
+        final int seat = player.playerId;
+
+        this.nextSeat[this.previousSeat[seat]] = seat;
+        this.previousSeat[this.nextSeat[seat]] = seat;
+        this.livePlayerCount++;
+    }
+
+    /**
+     * Replaces who is taking their turn and how many turns have been taken, and
+     * rebuilds the turn order from which players have lost. Any turn in progress is
+     * forgotten, so the game carries on from the start of a turn (even if it was over).
+     * <p>
+     * Used by `GameState.applyTo()`, after every player's state has been restored.
+     *
+     * @param activeSeat `playerId` of the player taking their turn
+     * @param turnCount  Number of turns taken so far
+     */
+    void restoreTurnOrder(final int activeSeat, final int turnCount) {
+        final int playerCount = this.players.size();
+        this.livePlayerCount = 0;
 
-        boolean hasPlayerLost = true;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (!this.players.get(seat).hasLost()) {
+                this.livePlayerCount++;
+            }
+
+            // Every player (even one who has lost) links to the next player who hasn't
+            int next = (seat + 1) % playerCount;
+            while (next != seat && this.players.get(next).hasLost()) {
+                next = (next + 1) % playerCount;
+            }
 
-        while (hasPlayerLost) {
-            if (activePlayerIndex + 1 >= this.players.toArray().length) {
-                // This is the last player in the list, we need to wrap
-                // around to the start of the list
-                this.activePlayer = this.players.get(0);
-            } else {
-                this.activePlayer = this.players.get(activePlayerIndex + 1);
+            int previous = (seat + playerCount - 1) % playerCount;
+            while (previous != seat && this.players.get(previous).hasLost()) {
+                previous = (previous + playerCount - 1) % playerCount;
             }
-            hasPlayerLost = this.activePlayer.hasLost();
+
+            this.nextSeat[seat] = next;
+            this.previousSeat[seat] = previous;
         }
+
+        this.activePlayer = this.players.get(activeSeat);
+        this.turnCount = turnCount;
+        this.turnStateMachine.reset();
+        this.resetStateHash();
     }
 
     /**
@@ -92,32 +460,153 @@ public class Game {
      * @hidden
      */
     public void initialiseGame() {
-        final IOHelper ioHelper = new IOHelper();
-
         this.gameBoardInstance = new GameBoard(this);
-        this.createPlayers(ioHelper);
+        this.createPlayers();
+
+        final int playerCount = this.players.size();
+        this.nextSeat = new int[playerCount];
+        this.previousSeat = new int[playerCount];
+        this.livePlayerCount = playerCount;
+
+        for (int i = 0; i < playerCount; i++) {
+            this.nextSeat[i] = (i + 1) % playerCount;
+            this.previousSeat[i] = (i + playerCount - 1) % playerCount;
+        }
 
         this.activePlayer = this.players.get(0);
-        System.out.printf("Player 1 (%s) will start the game.\n\n", this.activePlayer.playerName);
+        this.resetStateHash();
+
+        this.renderer.print("Player 1 (").print(this.activePlayer.playerName).println(") will start the game.").println();
+        this.renderer.flush();
+    }
 
-        while (!this.onlyOnePlayerLeft()) {
-            this.activePlayer.startTurn();
+    /**
+     * Plays the game until only one player is left, or the turn limit is reached.
+     * <p>
+     * Every decision is made by the DecisionPolicy, waiting for it where needed.
+     */
+    public void play() {
+        PendingDecision decision;
+
+        while ((decision = this.turnStateMachine.advance()) != null) {
+            this.turnStateMachine.submitDecision(this.askDecisionPolicy(decision));
         }
     }
 
-    private boolean onlyOnePlayerLeft() {
-        final int playersLeft = (int) this.players.stream().filter(player -> !player.hasLost()).count();
+    /**
+     * Plays the game until it needs a decision, without waiting for one.
+     * <p>
+     * Answer the decision with `submitDecision()`, then call this again to carry on.
+     *
+     * @return The decision the game is waiting for, or null if the game is over
+     */
+    public PendingDecision advance() {
+        return this.turnStateMachine.advance();
+    }
+
+    /**
+     * Answers the decision the game is waiting for.
+     * <p>
+     * Call `advance()` afterwards to carry on with the game.
+     *
+     * @param choice The answer (see `DecisionType` for what each choice means)
+     */
+    public void submitDecision(final int choice) {
+        this.turnStateMachine.submitDecision(choice);
+    }
 
-        return playersLeft <= 1;
+    /**
+     * Gets the decision the game is waiting for.
+     *
+     * @return The decision, or null if the game can carry on (or is over)
+     */
+    public PendingDecision getPendingDecision() {
+        return this.turnStateMachine.getPendingDecision();
+    }
+
+    /**
+     * Gets the step of the turn which will run next.
+     *
+     * @return the turn state
+     */
+    public TurnState getTurnState() {
+        return this.turnStateMachine.getState();
+    }
+
+    /**
+     * Whether the game is over, because only one player is left or the turn limit was reached.
+     *
+     * @return Whether the game is over
+     */
+    public boolean isOver() {
+        return this.turnStateMachine.getState() == TurnState.GAME_OVER;
+    }
+
+    /**
+     * Starts counting a new turn, if the game isn't over.
+     * <p>
+     * Called by the TurnStateMachine at the start of every turn.
+     *
+     * @return Whether a new turn can start
+     */
+    boolean startNextTurn() {
+        if (this.onlyOnePlayerLeft() || (this.turnLimit != 0 && this.turnCount >= this.turnLimit)) {
+            return false;
+        }
+
+        this.setTurnCount(this.turnCount + 1);
+        return true;
+    }
+
+    /**
+     * Asks the DecisionPolicy to make a decision.
+     *
+     * @param decision Decision to make
+     * @return The choice made
+     */
+    private int askDecisionPolicy(final PendingDecision decision) {
+        final Player player = decision.player;
+
+        switch (decision.type) {
+            case CONTINUE -> {
+                this.decisionPolicy.waitForContinue(player);
+                return 0;
+            }
+            case PURCHASE_ANIMAL -> {
+                return this.decisionPolicy.shouldPurchaseAnimal(player, decision.animal) ? 1 : 0;
+            }
+            case TAKE_CHANCE_CARD -> {
+                return this.decisionPolicy.shouldTakeChanceCard(player) ? 1 : 0;
+            }
+            case UPGRADE_ANIMAL -> {
+                final Animal animal = this.decisionPolicy.chooseAnimalToUpgrade(player, decision.upgradeOptions);
+
+                if (animal == null) {
+                    return 0;
+                }
+
+                final int option = decision.upgradeOptions.indexOf(animal);
+
+                if (option == -1) {
+                    throw new IllegalStateException("DecisionPolicy chose to upgrade an Animal that the player doesn't own.");
+                }
+
+                return option + 1;
+            }
+            default -> throw new IllegalArgumentException("Unknown decision type " + decision.type + ".");
+        }
+    }
+
+    private boolean onlyOnePlayerLeft() {
+        return this.livePlayerCount <= 1;
     }
 
     /**
      * Internal method to propagate the player list.
      *
-     * @param ioHelper IOHelper object
      * @hidden
      */
-    private void createPlayers(final IOHelper ioHelper) {
+    private void createPlayers() {
         final int playerCount;
         this.players = new ArrayList<>();
 
@@ -125,7 +614,7 @@ public class Game {
          * We use this to add custom validation for player names to prevent multiple players choosing
          * the same name.
          *
-         * This is passed to the IOHelper `readString` method.
+         * This is passed to the DecisionPolicy `choosePlayerName` method.
          */
         final Function<String, Boolean> isValidPlayerName = (String playerName) -> {
             if (playerName.length() > 12) return false;
@@ -141,7 +630,7 @@ public class Game {
          * We use this to add custom validation for player chars to prevent multiple players choosing
          * the same character to represent themselves with.
          *
-         * This is passed to the IOHelper `readChar` method.
+         * This is passed to the DecisionPolicy `choosePlayerIdentifier` method.
          */
         final Function<Character, Boolean> isValidPlayerChar = (Character playerChar) -> {
             final AtomicBoolean matchesExistingPlayer = new AtomicBoolean(false);
@@ -152,16 +641,30 @@ public class Game {
             return !matchesExistingPlayer.get();
         };
 
-        // Get the number of players playing (must be between 2 and 8)
-        playerCount = ioHelper.readInteger("How many players are playing?", "Invalid input -- please enter a whole number between 2 and 8 (inclusive)", (Integer count) -> !(count < 2 || count > 8));
+        // Get the number of players playing
+        playerCount = this.decisionPolicy.choosePlayerCount();
+
+        if (playerCount < 2) {
+            throw new IllegalStateException("A game needs at least 2 players.");
+        }
+
+        if (playerCount > Game.MAX_PLAYERS) {
+            throw new IllegalStateException("A game can't have more than " + Game.MAX_PLAYERS + " players.");
+        }
 
         // Creates all the players!
         for (int i = 0; i < playerCount; i++) {
-            final String name = ioHelper.readString("Enter name for Player " + (i + 1), "Please enter a name that hasn't been chosen by another player, and no more than 12 characters long.", isValidPlayerName);
-            System.out.printf("Hello %s!", name);
-            System.out.println();
+            final String name = this.decisionPolicy.choosePlayerName(i + 1, isValidPlayerName);
 
-            final char pieceIdentifier = ioHelper.readChar("Choose a character to represent yourself.", "Please enter a character that is A-Z, 0-9, or one of !£%?*, and hasn't been chosen by another player.", isValidPlayerChar);
+            if (!isValidPlayerName.apply(name)) {
+                throw new IllegalStateException("DecisionPolicy chose an invalid name for Player " + (i + 1) + ".");
+            }
+
+            final char pieceIdentifier = this.decisionPolicy.choosePlayerIdentifier(i + 1, isValidPlayerChar);
+
+            if (!isValidPlayerChar.apply(pieceIdentifier)) {
+                throw new IllegalStateException("DecisionPolicy chose an invalid character for Player " + (i + 1) + ".");
+            }
 
             this.players.add(new Player(name, i, this, pieceIdentifier));
         }
@@ -1,9 +1,11 @@
 package dev.davwheat;
 
+import dev.davwheat.enums.AnimalLevel;
 import dev.davwheat.enums.BoardSpaceType;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,23 +15,131 @@ import java.util.List;
 public class GameBoard {
     /**
      * Total spaces on the board.
-     * <p>
-     * Fixed value used within this class only.
      */
-    private final int totalSpaces = 26;
+    public static final int SPACE_COUNT = 26;
 
     /**
-     * All spaces on the board.
+     * Paid to a player who moves past Start, in pence.
+     */
+    public static final long PASS_START_REWARD = Money.fromPounds(500);
+
+    /**
+     * Paid to a player who lands on Start, in pence.
+     */
+    public static final long LAND_ON_START_REWARD = Money.fromPounds(1000);
+
+    /**
+     * All spaces on the board, shared by every Game.
      * <p>
-     * Indexes 0 to 25 inclusive are supported.
+     * Indexes 0 to 25 inclusive are supported. All costs are in pence (see the Money class).
      */
-    private BoardSpace[] allBoardSpaces;
+    private static final BoardSpace[] SPACES = new BoardSpace[]{
+            new BoardSpace("Start", 0, BoardSpaceType.START, false),
+
+            new Animal("Slug", 14500, 10000, new long[]{500, 1000, 1500, 2500}, 1),
+            new Animal("Snail", 12500, 10000, new long[]{400, 800, 1200, 2000}, 2),
+
+            new Animal("Leopard", 33500, 10000, new long[]{1400, 2000, 2600, 3200}, 3),
+            new Animal("Cheetah", 35000, 10000, new long[]{1800, 2400, 3000, 3600}, 4),
+            new Animal("Cougar", 33500, 10000, new long[]{1400, 2000, 2600, 3200}, 5),
+
+            new Animal("Gorilla", 27500, 10000, new long[]{1400, 2200, 3000, 4500}, 6),
+            new Animal("Monkey", 24000, 10000, new long[]{1200, 2000, 2800, 4200}, 7),
+
+            new Animal("Crocodile", 38000, 10000, new long[]{1800, 3200, 4200, 5000}, 8),
+            new Animal("Alligator", 37000, 10000, new long[]{1800, 2400, 3000, 4800}, 9),
+
+            new Animal("Haddock", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 10),
+            new Animal("Cod", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 11),
+            new Animal("Salmon", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 12),
+
+            new BoardSpace("Miss next turn", 13, BoardSpaceType.MISS_NEXT_TURN, false),
+
+            new Animal("Dog", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 14),
+            new Animal("Cat", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 15),
+
+            new Animal("Pheasant", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 16),
+            new Animal("Peacock", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 17),
+            new Animal("Eagle", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 18),
+
+            new Animal("Ant", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 19),
+            new Animal("Beetle", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 20),
+
+            new Animal("Sheep", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 21),
+            new Animal("Cow", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 22),
+            new Animal("Pig", 25000, 10000, new long[]{500, 1000, 1500, 2500}, 23),
+
+            new Animal("Tiger", 52500, 20000, new long[]{4000, 8500, 12500, 22000}, 24),
+            new Animal("Lion", 60000, 20000, new long[]{5000, 10000, 15000, 27500}, 25),
+    };
 
     /**
      * Instance of Game which this board is related to.
      */
     private final Game gameInstance;
 
+    /**
+     * Draws the board, remembering what it last drew.
+     */
+    private final BoardRenderer boardRenderer;
+
+    /**
+     * Groups of related Animals (such as the big cats), as bit masks of board space indexes.
+     */
+    private static final long[] ANIMAL_GROUPS = new long[]{
+            GameBoard.spaces(1, 2),
+            GameBoard.spaces(3, 4, 5),
+            GameBoard.spaces(6, 7),
+            GameBoard.spaces(8, 9),
+            GameBoard.spaces(10, 11, 12),
+            GameBoard.spaces(14, 15),
+            GameBoard.spaces(16, 17, 18),
+            GameBoard.spaces(19, 20),
+            GameBoard.spaces(21, 22, 23),
+            GameBoard.spaces(24, 25),
+    };
+
+    /**
+     * The group mask for each board space, indexed by board space index.
+     * <p>
+     * 0 for spaces which aren't in a group.
+     */
+    private static final long[] GROUP_BY_SPACE = new long[GameBoard.SPACE_COUNT];
+
+    static {
+        for (final long group : GameBoard.ANIMAL_GROUPS) {
+            for (long mask = group; mask != 0; mask &= mask - 1) {
+                GameBoard.GROUP_BY_SPACE[Long.numberOfTrailingZeros(mask)] = group;
+            }
+        }
+    }
+
+    /**
+     * The `playerId` of the owner of each board space, indexed by board space index.
+     * <p>
+     * -1 if the space isn't owned.
+     */
+    private final short[] ownerIdBySpace = new short[GameBoard.SPACE_COUNT];
+
+    /**
+     * The level of each Animal (see `AnimalLevel.value`), indexed by board space index.
+     */
+    private final byte[] levelBySpace = new byte[GameBoard.SPACE_COUNT];
+
+    /**
+     * The board spaces owned by each player, as a bit mask of board space indexes.
+     * <p>
+     * Indexed by `Player.playerId`, and grown as needed.
+     */
+    private long[] ownedSpacesByPlayer = new long[0];
+
+    /**
+     * Cached list of the Animals owned by each player, indexed by `Player.playerId`.
+     * <p>
+     * Set back to null whenever that player's owned Animals change.
+     */
+    private final ArrayList<List<Animal>> ownedAnimalsByPlayer = new ArrayList<>();
+
     /**
      * Create a new instance of GameBoard.
      *
@@ -37,105 +147,265 @@ public class GameBoard {
      */
     public GameBoard(final Game gameInstance) {
         this.gameInstance = gameInstance;
+        this.boardRenderer = new BoardRenderer(gameInstance);
+
+        Arrays.fill(this.ownerIdBySpace, (short) -1);
+    }
+
+    /**
+     * Creates a bit mask from a list of board space indexes.
+     *
+     * @param indexes Board space indexes
+     * @return the bit mask
+     */
+    private static long spaces(final int... indexes) {
+        long mask = 0;
+
+        for (final int index : indexes) {
+            mask |= 1L << index;
+        }
 
-        this.createBoard();
+        return mask;
     }
 
     /**
      * Print the current game board to the console.
+     * <p>
+     * After the first time, only the parts of the board which have changed are redrawn
+     * (unless the Renderer is stripping ANSI codes).
      */
     public void printCurrentBoard() {
-        // TODO: Print current board method
-        System.out.println("*****  TO DO  *****");
-        System.out.println("*   PRINT BOARD   *");
-        System.out.println("*****  TO DO  *****");
+        this.boardRenderer.render(this.gameInstance.getRenderer());
+    }
+
+    /**
+     * Stops the board being pinned to the top of the console, once the game is over.
+     */
+    public void finishPrinting() {
+        this.boardRenderer.unpin(this.gameInstance.getRenderer());
     }
 
     public BoardSpace getBoardSpaceAtPosition(final int index) {
-        if (index < 0 || index >= this.totalSpaces) {
-            throw new IllegalArgumentException("Index provided is outside allowed range (0 to " + (this.totalSpaces - 1) + ").");
+        return GameBoard.getSpace(index);
+    }
+
+    /**
+     * Gets a board space without needing a game. Every game uses the same spaces.
+     *
+     * @param index Board space index
+     * @return the board space
+     */
+    public static BoardSpace getSpace(final int index) {
+        if (index < 0 || index >= GameBoard.SPACE_COUNT) {
+            throw new IllegalArgumentException("Index provided is outside allowed range (0 to " + (GameBoard.SPACE_COUNT - 1) + ").");
         }
 
-        final BoardSpace bs = this.allBoardSpaces[index];
+        return GameBoard.SPACES[index];
+    }
 
-        if (bs == null) {
-            throw new NullPointerException("BoardSpace at index " + index + " is null.");
-        }
+    /**
+     * Gets the owner of a board space.
+     *
+     * @param index Board space index
+     * @return The owner, or null if the space isn't owned
+     */
+    public Player getOwner(final int index) {
+        final int ownerId = this.ownerIdBySpace[index];
+        return ownerId < 0 ? null : this.gameInstance.getPlayers().get(ownerId);
+    }
 
-        return bs;
+    /**
+     * Gets the level of an Animal.
+     *
+     * @param index Board space index
+     * @return The level. Spaces which aren't Animals are always at level 0.
+     */
+    public AnimalLevel getLevel(final int index) {
+        return AnimalLevel.fromNumberValue(this.levelBySpace[index]);
     }
 
     /**
-     * Creates all the cards for the board.
+     * Sets the level of an Animal.
      * <p>
-     * Should only be called from the constructor.
+     * This is the only place where levels should be changed.
+     *
+     * @param animal Animal being upgraded
+     * @param level  New level
      */
-    private void createBoard() {
-        if (this.gameInstance == null) {
-            throw new NullPointerException("Game instance is null, and not a valid instance of the Game class.");
+    void setLevel(final Animal animal, final AnimalLevel level) {
+        final UndoLog undoLog = this.gameInstance.getUndoLog();
+
+        if (undoLog != null) {
+            undoLog.recordLevel(animal.index, this.levelBySpace[animal.index]);
         }
 
-        // We add `d` to the end of the number to force Java to interpret it as a double, not an int.
-        this.allBoardSpaces = new BoardSpace[]{
-                new BoardSpace("Start", 0, BoardSpaceType.START, false, this.gameInstance),
+        this.gameInstance.updateStateHash(ZobristHash.levelKey(animal.index, this.levelBySpace[animal.index]) ^ ZobristHash.levelKey(animal.index, level.value));
+        this.levelBySpace[animal.index] = (byte) level.value;
+    }
 
-                new Animal("Slug", 145d, 100d, new double[]{5d, 10d, 15d, 25d}, 1, this.gameInstance),
-                new Animal("Snail", 125d, 100d, new double[]{4d, 8d, 12d, 20d}, 2, this.gameInstance),
+    /**
+     * Sets the owner of an Animal, keeping the ownership index up to date.
+     * <p>
+     * This is the only place where ownership should be changed.
+     *
+     * @param animal Animal changing hands
+     * @param owner  New owner, or null to return the Animal to the bank
+     */
+    void setOwner(final Animal animal, final Player owner) {
+        final long bit = 1L << animal.index;
+        final Player previousOwner = this.getOwner(animal.index);
+        final UndoLog undoLog = this.gameInstance.getUndoLog();
 
-                new Animal("Leopard", 335d, 100d, new double[]{14d, 20d, 26d, 32d}, 3, this.gameInstance),
-                new Animal("Cheetah", 350d, 100d, new double[]{18d, 24d, 30d, 36d}, 4, this.gameInstance),
-                new Animal("Cougar", 335d, 100d, new double[]{14d, 20d, 26d, 32d}, 5, this.gameInstance),
+        if (undoLog != null) {
+            undoLog.recordOwner(animal.index, this.ownerIdBySpace[animal.index]);
+        }
 
-                new Animal("Gorilla", 275d, 100d, new double[]{14d, 22d, 30d, 45d}, 6, this.gameInstance),
-                new Animal("Monkey", 240d, 100d, new double[]{12d, 20d, 28d, 42d}, 7, this.gameInstance),
+        this.gameInstance.updateStateHash(ZobristHash.ownerKey(animal.index, this.ownerIdBySpace[animal.index]) ^ ZobristHash.ownerKey(animal.index, owner == null ? -1 : owner.playerId));
 
-                new Animal("Crocodile", 380d, 100d, new double[]{18d, 32d, 42d, 50d}, 8, this.gameInstance),
-                new Animal("Alligator", 370d, 100d, new double[]{18d, 24d, 30d, 48d}, 9, this.gameInstance),
+        if (previousOwner != null) {
+            this.ownedSpacesByPlayer[previousOwner.playerId] &= ~bit;
+            this.ownedAnimalsByPlayer.set(previousOwner.playerId, null);
+        }
 
-                new Animal("Haddock", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 10, this.gameInstance),
-                new Animal("Cod", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 11, this.gameInstance),
-                new Animal("Salmon", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 12, this.gameInstance),
+        if (owner != null) {
+            this.ensurePlayerCapacity(owner.playerId);
+            this.ownedSpacesByPlayer[owner.playerId] |= bit;
+            this.ownedAnimalsByPlayer.set(owner.playerId, null);
+        }
 
-                new BoardSpace("Miss next turn", 13, BoardSpaceType.MISS_NEXT_TURN, false, this.gameInstance),
+        this.ownerIdBySpace[animal.index] = (short) (owner == null ? -1 : owner.playerId);
+    }
 
-                new Animal("Dog", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 14, this.gameInstance),
-                new Animal("Cat", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 15, this.gameInstance),
+    /**
+     * Grows the per-player ownership index so that it has room for a player.
+     *
+     * @param playerId Player ID
+     */
+    private void ensurePlayerCapacity(final int playerId) {
+        if (playerId >= this.ownedSpacesByPlayer.length) {
+            this.ownedSpacesByPlayer = Arrays.copyOf(this.ownedSpacesByPlayer, playerId + 1);
+        }
 
-                new Animal("Pheasant", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 16, this.gameInstance),
-                new Animal("Peacock", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 17, this.gameInstance),
-                new Animal("Eagle", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 18, this.gameInstance),
+        while (this.ownedAnimalsByPlayer.size() <= playerId) {
+            this.ownedAnimalsByPlayer.add(null);
+        }
+    }
 
-                new Animal("Ant", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 19, this.gameInstance),
-                new Animal("Beetle", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 20, this.gameInstance),
+    /**
+     * Gets all the board spaces owned by the provided actor.
+     * <p>
+     * Bit `i` is set if the actor owns the space at index `i`.
+     *
+     * @param actor Player
+     * @return Bit mask of owned board space indexes
+     */
+    public long getOwnedSpaces(final Player actor) {
+        return actor.playerId < this.ownedSpacesByPlayer.length ? this.ownedSpacesByPlayer[actor.playerId] : 0;
+    }
 
-                new Animal("Sheep", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 21, this.gameInstance),
-                new Animal("Cow", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 22, this.gameInstance),
-                new Animal("Pig", 250d, 100d, new double[]{5d, 10d, 15d, 25d}, 23, this.gameInstance),
+    /**
+     * Counts the Animals owned by the provided actor.
+     *
+     * @param actor Player
+     * @return Number of Animals owned
+     */
+    public int countOwnedAnimals(final Player actor) {
+        return Long.bitCount(this.getOwnedSpaces(actor));
+    }
 
-                new Animal("Tiger", 525d, 200d, new double[]{40d, 85d, 125d, 220d}, 24, this.gameInstance),
-                new Animal("Lion", 600d, 200d, new double[]{50d, 100d, 150d, 275d}, 25, this.gameInstance),
-        };
+    /**
+     * Tests if the provided actor owns every Animal in the same group as an Animal.
+     *
+     * @param actor  Player
+     * @param animal Any Animal in the group
+     * @return Whether the player owns the whole group
+     */
+    public boolean ownsWholeGroup(final Player actor, final Animal animal) {
+        final long group = GameBoard.GROUP_BY_SPACE[animal.index];
+        return group != 0 && (this.getOwnedSpaces(actor) & group) == group;
     }
 
     /**
      * Fetches all the Animals owned by the provided actor.
+     * <p>
+     * The list is cached until the player's owned Animals change, so calling this
+     * repeatedly doesn't create new lists.
      *
      * @param actor Player
-     * @return List of Animals owned by the player
+     * @return Unmodifiable list of Animals owned by the player, in board order
      */
     public List<Animal> getOwnedAnimals(final Player actor) {
-        final ArrayList<Animal> animals = new ArrayList<>();
+        final long owned = this.getOwnedSpaces(actor);
+
+        if (owned == 0) {
+            return Collections.emptyList();
+        }
 
-        Arrays.stream(this.allBoardSpaces).forEachOrdered(bs -> {
-            if (bs instanceof Animal) {
-                final Player owner = ((Animal) bs).getOwner();
+        List<Animal> animals = this.ownedAnimalsByPlayer.get(actor.playerId);
 
-                if (owner != null && owner.equals(actor)) {
-                    animals.add((Animal) bs);
-                }
+        if (animals == null) {
+            final ArrayList<Animal> list = new ArrayList<>(Long.bitCount(owned));
+
+            for (long mask = owned; mask != 0; mask &= mask - 1) {
+                list.add((Animal) GameBoard.SPACES[Long.numberOfTrailingZeros(mask)]);
             }
-        });
+
+            animals = Collections.unmodifiableList(list);
+            this.ownedAnimalsByPlayer.set(actor.playerId, animals);
+        }
 
         return animals;
     }
+
+    /**
+     * Returns all the Animals owned by the provided actor to the bank, resetting their levels.
+     *
+     * @param actor Player
+     */
+    public void releaseOwnedAnimals(final Player actor) {
+        for (long mask = this.getOwnedSpaces(actor); mask != 0; mask &= mask - 1) {
+            final Animal animal = (Animal) GameBoard.SPACES[Long.numberOfTrailingZeros(mask)];
+
+            this.setOwner(animal, null);
+            this.setLevel(animal, AnimalLevel.LEVEL_ZERO);
+        }
+    }
+
+    /**
+     * Gets the `playerId` of the owner of a board space.
+     *
+     * @param index Board space index
+     * @return The owner's ID, or -1 if the space isn't owned
+     */
+    public int getOwnerId(final int index) {
+        return this.ownerIdBySpace[index];
+    }
+
+    /**
+     * Replaces who owns every board space, and every Animal's level.
+     * <p>
+     * Used by `GameState.applyTo()`.
+     *
+     * @param ownerIds The `playerId` of the owner of each space, or -1 if it isn't owned
+     * @param levels   The level of each space
+     */
+    void restoreState(final short[] ownerIds, final byte[] levels) {
+        Arrays.fill(this.ownedSpacesByPlayer, 0);
+
+        for (int i = 0; i < this.ownedAnimalsByPlayer.size(); i++) {
+            this.ownedAnimalsByPlayer.set(i, null);
+        }
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            final int ownerId = ownerIds[index];
+
+            this.ownerIdBySpace[index] = (short) ownerId;
+            this.levelBySpace[index] = levels[index];
+
+            if (ownerId >= 0) {
+                this.ensurePlayerCapacity(ownerId);
+                this.ownedSpacesByPlayer[ownerId] |= 1L << index;
+            }
+        }
+    }
 }
@@ -0,0 +1,442 @@
+package dev.davwheat;
+
+import java.util.Arrays;
+
+/**
+ * Everything about a Game which changes as it's played, kept in a few primitive arrays.
+ * <p>
+ * This is much cheaper to copy and compare than the Game itself, so simulations and
+ * bots can take a snapshot, try something out, and put the Game back afterwards.
+ * <p>
+ * A GameState doesn't include anything which never changes during a game (such as
+ * player names, the order of the cards, or the board itself), or the state of the
+ * dice and the turn in progress. It should be taken and applied between turns.
+ */
+public final class GameState {
+    /**
+     * Bit of `playerFlags` set when a player will miss their next turn.
+     */
+    private static final byte MISS_NEXT_TURN = 1;
+
+    /**
+     * Bit of `playerFlags` set when a player has lost.
+     */
+    private static final byte BANKRUPT = 2;
+
+    /**
+     * Board space index of each player, indexed by `playerId`.
+     */
+    private final byte[] positions;
+
+    /**
+     * Bank balance of each player in pence, indexed by `playerId`.
+     */
+    private final long[] balances;
+
+    /**
+     * `MISS_NEXT_TURN` and `BANKRUPT` bits for each player, indexed by `playerId`.
+     */
+    private final byte[] playerFlags;
+
+    /**
+     * The `playerId` of the owner of each board space, or -1 if it isn't owned.
+     */
+    private final short[] owners = new short[GameBoard.SPACE_COUNT];
+
+    /**
+     * The level of each board space (see `AnimalLevel.value`).
+     */
+    private final byte[] levels = new byte[GameBoard.SPACE_COUNT];
+
+    /**
+     * Index of the top card in the Deck.
+     */
+    private int deckCursor;
+
+    /**
+     * The `playerId` of the player taking their turn.
+     */
+    private int activeSeat;
+
+    /**
+     * Number of turns taken so far.
+     */
+    private int turnCount;
+
+    /**
+     * Create a new instance of GameState with nothing owned and every player on Start with no money.
+     *
+     * @param playerCount Number of players
+     */
+    public GameState(final int playerCount) {
+        if (playerCount < 2) {
+            throw new IllegalArgumentException("A game needs at least 2 players.");
+        }
+
+        if (playerCount > Game.MAX_PLAYERS) {
+            throw new IllegalArgumentException("A game can't have more than " + Game.MAX_PLAYERS + " players.");
+        }
+
+        this.positions = new byte[playerCount];
+        this.balances = new long[playerCount];
+        this.playerFlags = new byte[playerCount];
+
+        Arrays.fill(this.owners, (short) -1);
+    }
+
+    /**
+     * Creates a GameState from the current state of a Game.
+     *
+     * @param game The game
+     * @return the GameState
+     */
+    public static GameState createFromGame(final Game game) {
+        final GameState state = new GameState(game.getPlayers().size());
+        state.copyFrom(game);
+        return state;
+    }
+
+    /**
+     * Replaces this state with the current state of a Game.
+     *
+     * @param game The game, which must have the same number of players
+     */
+    public void copyFrom(final Game game) {
+        this.checkPlayerCount(game);
+
+        for (final Player player : game.getPlayers()) {
+            final int seat = player.playerId;
+
+            this.positions[seat] = (byte) player.getCurrentSpaceIndex();
+            this.balances[seat] = player.getBankBalance();
+            this.playerFlags[seat] = (byte) ((player.willMissNextTurn() ? GameState.MISS_NEXT_TURN : 0) | (player.hasLost() ? GameState.BANKRUPT : 0));
+        }
+
+        final GameBoard board = game.gameBoardInstance;
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            this.owners[index] = (short) board.getOwnerId(index);
+            this.levels[index] = (byte) board.getLevel(index).value;
+        }
+
+        this.deckCursor = game.cardDeck.getTopCardIndex();
+        this.activeSeat = game.getActivePlayer().playerId;
+        this.turnCount = game.getTurnCount();
+    }
+
+    /**
+     * Replaces the state of a Game with this state.
+     * <p>
+     * The Game must have the same players and cards as the one this state came from
+     * (for example, one created with the same DecisionPolicy and seed).
+     * This isn't recorded by the Game's UndoLog, if it has one.
+     *
+     * @param game The game
+     */
+    public void applyTo(final Game game) {
+        this.checkPlayerCount(game);
+
+        for (final Player player : game.getPlayers()) {
+            final int seat = player.playerId;
+            player.restoreState(this.positions[seat], this.balances[seat], this.willMissNextTurn(seat), this.hasLost(seat));
+        }
+
+        game.gameBoardInstance.restoreState(this.owners, this.levels);
+        game.cardDeck.setTopCardIndex(this.deckCursor);
+        game.restoreTurnOrder(this.activeSeat, this.turnCount);
+    }
+
+    /**
+     * Throws if a Game doesn't have the same number of players as this state.
+     *
+     * @param game The game
+     */
+    private void checkPlayerCount(final Game game) {
+        if (game.getPlayers().size() != this.positions.length) {
+            throw new IllegalArgumentException("The game has " + game.getPlayers().size() + " players, but this state has " + this.positions.length + ".");
+        }
+    }
+
+    /**
+     * Creates a copy of this state.
+     *
+     * @return the copy
+     */
+    public GameState copy() {
+        final GameState copy = new GameState(this.positions.length);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Replaces this state with another, without creating any objects.
+     *
+     * @param other State to copy, which must have the same number of players
+     */
+    public void copyFrom(final GameState other) {
+        if (other.positions.length != this.positions.length) {
+            throw new IllegalArgumentException("Both states must have the same number of players.");
+        }
+
+        System.arraycopy(other.positions, 0, this.positions, 0, this.positions.length);
+        System.arraycopy(other.balances, 0, this.balances, 0, this.balances.length);
+        System.arraycopy(other.playerFlags, 0, this.playerFlags, 0, this.playerFlags.length);
+        System.arraycopy(other.owners, 0, this.owners, 0, GameBoard.SPACE_COUNT);
+        System.arraycopy(other.levels, 0, this.levels, 0, GameBoard.SPACE_COUNT);
+
+        this.deckCursor = other.deckCursor;
+        this.activeSeat = other.activeSeat;
+        this.turnCount = other.turnCount;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return player count
+     */
+    public int getPlayerCount() {
+        return this.positions.length;
+    }
+
+    /**
+     * Gets a player's board space index.
+     *
+     * @param seat `playerId` of the player
+     * @return Board space index
+     */
+    public int getPosition(final int seat) {
+        return this.positions[seat];
+    }
+
+    /**
+     * Sets a player's board space index.
+     *
+     * @param seat  `playerId` of the player
+     * @param index Board space index
+     */
+    public void setPosition(final int seat, final int index) {
+        if (index < 0 || index >= GameBoard.SPACE_COUNT) {
+            throw new IllegalArgumentException("Index provided is outside allowed range (0 to " + (GameBoard.SPACE_COUNT - 1) + ").");
+        }
+
+        this.positions[seat] = (byte) index;
+    }
+
+    /**
+     * Gets a player's bank balance.
+     *
+     * @param seat `playerId` of the player
+     * @return bank balance in pence
+     */
+    public long getBalance(final int seat) {
+        return this.balances[seat];
+    }
+
+    /**
+     * Sets a player's bank balance.
+     *
+     * @param seat    `playerId` of the player
+     * @param balance bank balance in pence
+     */
+    public void setBalance(final int seat, final long balance) {
+        this.balances[seat] = balance;
+    }
+
+    /**
+     * Whether a player will miss their next turn.
+     *
+     * @param seat `playerId` of the player
+     * @return Whether the next turn will be missed
+     */
+    public boolean willMissNextTurn(final int seat) {
+        return (this.playerFlags[seat] & GameState.MISS_NEXT_TURN) != 0;
+    }
+
+    /**
+     * Sets whether a player will miss their next turn.
+     *
+     * @param seat     `playerId` of the player
+     * @param missTurn Whether the next turn will be missed
+     */
+    public void setMissNextTurn(final int seat, final boolean missTurn) {
+        this.setFlag(seat, GameState.MISS_NEXT_TURN, missTurn);
+    }
+
+    /**
+     * Whether a player has lost.
+     *
+     * @param seat `playerId` of the player
+     * @return Whether they've lost
+     */
+    public boolean hasLost(final int seat) {
+        return (this.playerFlags[seat] & GameState.BANKRUPT) != 0;
+    }
+
+    /**
+     * Sets whether a player has lost.
+     *
+     * @param seat `playerId` of the player
+     * @param lost Whether they've lost
+     */
+    public void setLost(final int seat, final boolean lost) {
+        this.setFlag(seat, GameState.BANKRUPT, lost);
+    }
+
+    /**
+     * Sets or clears one of a player's flags.
+     *
+     * @param seat  `playerId` of the player
+     * @param flag  The flag's bit
+     * @param value Whether to set it
+     */
+    private void setFlag(final int seat, final byte flag, final boolean value) {
+        this.playerFlags[seat] = (byte) (value ? this.playerFlags[seat] | flag : this.playerFlags[seat] & ~flag);
+    }
+
+    /**
+     * Gets the owner of a board space.
+     *
+     * @param index Board space index
+     * @return The owner's `playerId`, or -1 if it isn't owned
+     */
+    public int getOwner(final int index) {
+        return this.owners[index];
+    }
+
+    /**
+     * Sets the owner of a board space.
+     *
+     * @param index Board space index
+     * @param seat  The owner's `playerId`, or -1 to return it to the bank
+     */
+    public void setOwner(final int index, final int seat) {
+        if (seat < -1 || seat >= this.positions.length) {
+            throw new IllegalArgumentException("seat must be -1 or a valid playerId.");
+        }
+
+        this.owners[index] = (short) seat;
+    }
+
+    /**
+     * Gets the level of a board space.
+     *
+     * @param index Board space index
+     * @return the level (0 to 3)
+     */
+    public int getLevel(final int index) {
+        return this.levels[index];
+    }
+
+    /**
+     * Sets the level of a board space.
+     *
+     * @param index Board space index
+     * @param level the level (0 to 3)
+     */
+    public void setLevel(final int index, final int level) {
+        if (level < 0 || level > 3) {
+            throw new IllegalArgumentException("Levels only exist for values 0-3.");
+        }
+
+        this.levels[index] = (byte) level;
+    }
+
+    /**
+     * Gets the index of the top card in the Deck.
+     *
+     * @return deck cursor
+     */
+    public int getDeckCursor() {
+        return this.deckCursor;
+    }
+
+    /**
+     * Sets the index of the top card in the Deck.
+     *
+     * @param deckCursor deck cursor
+     */
+    public void setDeckCursor(final int deckCursor) {
+        this.deckCursor = deckCursor;
+    }
+
+    /**
+     * Gets the `playerId` of the player taking their turn.
+     *
+     * @return active seat
+     */
+    public int getActiveSeat() {
+        return this.activeSeat;
+    }
+
+    /**
+     * Sets the `playerId` of the player taking their turn.
+     *
+     * @param seat active seat
+     */
+    public void setActiveSeat(final int seat) {
+        this.activeSeat = seat;
+    }
+
+    /**
+     * Gets the number of turns taken so far.
+     *
+     * @return turn count
+     */
+    public int getTurnCount() {
+        return this.turnCount;
+    }
+
+    /**
+     * Sets the number of turns taken so far.
+     *
+     * @param turnCount turn count
+     */
+    public void setTurnCount(final int turnCount) {
+        this.turnCount = turnCount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState)) return false;
+
+        final GameState other = (GameState) o;
+
+        return this.deckCursor == other.deckCursor
+                && this.activeSeat == other.activeSeat
+                && this.turnCount == other.turnCount
+                && Arrays.equals(this.positions, other.positions)
+                && Arrays.equals(this.balances, other.balances)
+                && Arrays.equals(this.playerFlags, other.playerFlags)
+                && Arrays.equals(this.owners, other.owners)
+                && Arrays.equals(this.levels, other.levels);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(this.positions);
+        result = 31 * result + Arrays.hashCode(this.balances);
+        result = 31 * result + Arrays.hashCode(this.playerFlags);
+        result = 31 * result + Arrays.hashCode(this.owners);
+        result = 31 * result + Arrays.hashCode(this.levels);
+        result = 31 * result + this.deckCursor;
+        result = 31 * result + this.activeSeat;
+        result = 31 * result + this.turnCount;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("GameState{turn ").append(this.turnCount).append(", active ").append(this.activeSeat);
+
+        for (int seat = 0; seat < this.positions.length; seat++) {
+            sb.append(", P").append(seat + 1).append(" on ").append(this.positions[seat]).append(" with ");
+            Money.appendTo(sb, this.balances[seat]);
+
+            if (this.hasLost(seat)) sb.append(" (lost)");
+            if (this.willMissNextTurn(seat)) sb.append(" (missing turn)");
+        }
+
+        return sb.append(", deck ").append(this.deckCursor).append('}').toString();
+    }
+}
@@ -1,16 +1,104 @@
 package dev.davwheat;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.function.Function;
 
 /**
  * Class to make inputting data much easier.
+ * <p>
+ * Every IOHelper reading from the console shares one buffered reader, so that no IOHelper
+ * can read ahead and swallow lines meant for another. An IOHelper can instead replay a
+ * script of recorded answers, one per line, which lets whole console games run without a person.
  */
 public class IOHelper {
+    /**
+     * Characters which `readChar` accepts.
+     */
+    private static final String VALID_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!£%?*";
+
+    /**
+     * Used in place of System.out when prompts aren't printed.
+     */
+    private static final PrintStream NULL_OUTPUT = new PrintStream(OutputStream.nullOutputStream());
+
+    /**
+     * Reader for System.in shared by every IOHelper in the process.
+     * <p>
+     * Created the first time any IOHelper reads from the console.
+     */
+    private static BufferedReader consoleReader;
+
+    /**
+     * Custom Scanner set by tests, or null to read from the console or script.
+     */
     protected Scanner scanner;
 
+    /**
+     * Answers to replay instead of reading from the console, or null to read from the console.
+     */
+    private final List<String> script;
+
+    /**
+     * Index of the next answer in the script.
+     */
+    private int scriptPosition;
+
+    /**
+     * Whether prompts and failure messages are printed.
+     */
+    private final boolean printPrompts;
+
+    /**
+     * Where every line read is written, so that it can be replayed later. Null if not recording.
+     */
+    private PrintStream recording;
+
+    /**
+     * Create a new instance of IOHelper which reads from the console.
+     */
     public IOHelper() {
-        this.scanner = new Scanner(System.in);
+        this.script = null;
+        this.printPrompts = true;
+    }
+
+    /**
+     * Create a new instance of IOHelper which replays a script of answers instead of reading from the console.
+     *
+     * @param script       Answers to give, in order, one per line of input
+     * @param printPrompts Whether to print prompts and failure messages
+     */
+    public IOHelper(final List<String> script, final boolean printPrompts) {
+        if (script == null) {
+            throw new NullPointerException("script must be a valid instance of List, and not null.");
+        }
+
+        this.script = script;
+        this.printPrompts = printPrompts;
+    }
+
+    /**
+     * Creates an IOHelper which replays answers from a file, one per line.
+     * <p>
+     * Such a file can be made using `recordTo` during a normal game.
+     *
+     * @param scriptFile   File of answers
+     * @param printPrompts Whether to print prompts and failure messages
+     * @return the IOHelper
+     * @throws IOException The file couldn't be read
+     */
+    public static IOHelper createScriptedIOHelper(final Path scriptFile, final boolean printPrompts) throws IOException {
+        return new IOHelper(List.copyOf(Files.readAllLines(scriptFile, StandardCharsets.UTF_8)), printPrompts);
     }
 
     /**
@@ -27,6 +115,85 @@ public class IOHelper {
         this.scanner = scanner;
     }
 
+    /**
+     * Writes every line read from now on to a stream, so that the session can be replayed later.
+     *
+     * @param recording Where to write each line, or null to stop recording
+     */
+    public void recordTo(final PrintStream recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Gets where prompts and menus should be printed.
+     *
+     * @return System.out, or a stream that discards everything if prompts aren't printed
+     */
+    public PrintStream getOutput() {
+        return this.printPrompts ? System.out : IOHelper.NULL_OUTPUT;
+    }
+
+    /**
+     * Reads the next line of input, from the test Scanner, the script or the console.
+     *
+     * @return the line, without its line ending
+     */
+    private String readLine() {
+        final String line;
+
+        if (this.scanner != null) {
+            line = this.scanner.nextLine();
+        } else if (this.script != null) {
+            if (this.scriptPosition >= this.script.size()) {
+                throw new NoSuchElementException("The input script has no more answers.");
+            }
+
+            line = this.script.get(this.scriptPosition++);
+        } else {
+            line = IOHelper.readConsoleLine();
+        }
+
+        if (this.recording != null) {
+            this.recording.println(line);
+        }
+
+        return line;
+    }
+
+    /**
+     * Reads the next line from the console, using the reader shared by every IOHelper.
+     *
+     * @return the line, without its line ending
+     */
+    private static synchronized String readConsoleLine() {
+        if (IOHelper.consoleReader == null) {
+            IOHelper.consoleReader = new BufferedReader(new InputStreamReader(System.in));
+        }
+
+        try {
+            final String line = IOHelper.consoleReader.readLine();
+
+            if (line == null) {
+                throw new NoSuchElementException("No line found");
+            }
+
+            return line;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Prints a prompt or failure message, unless prompts are turned off.
+     *
+     * @param message Message to print
+     */
+    private void printMessage(final String message) {
+        if (this.printPrompts) {
+            System.out.println(message);
+        }
+    }
+
     /**
      * Reads a string until it passes the validation
      *
@@ -36,12 +203,12 @@ public class IOHelper {
      */
     public String readString(final String message, final String failMessage) {
         while (true) {
-            System.out.println(message);
-            final String input = this.scanner.nextLine();
+            this.printMessage(message);
+            final String input = this.readLine();
             if (this.validStringInput(input)) {
                 return input;
             }
-            System.out.println(failMessage);
+            this.printMessage(failMessage);
         }
     }
 
@@ -55,12 +222,12 @@ public class IOHelper {
      */
     public String readString(final String message, final String failMessage, final Function<String, Boolean> customValidator) {
         while (true) {
-            System.out.println(message);
-            final String input = this.scanner.nextLine();
+            this.printMessage(message);
+            final String input = this.readLine();
             if (this.validStringInput(input) && customValidator.apply(input)) {
                 return input;
             }
-            System.out.println(failMessage);
+            this.printMessage(failMessage);
         }
     }
 
@@ -73,12 +240,13 @@ public class IOHelper {
      */
     public int readInteger(final String message, final String failMessage) {
         while (true) {
-            System.out.println(message);
-            final String input = this.scanner.nextLine();
-            if (this.validIntInput(input)) {
-                return Integer.parseInt(input);
+            this.printMessage(message);
+            final String input = this.readLine();
+            final Integer number = IOHelper.parseInteger(input);
+            if (number != null) {
+                return number;
             }
-            System.out.println(failMessage);
+            this.printMessage(failMessage);
         }
     }
 
@@ -92,12 +260,13 @@ public class IOHelper {
      */
     public int readInteger(final String message, final String failMessage, final Function<Integer, Boolean> customValidator) {
         while (true) {
-            System.out.println(message);
-            final String input = this.scanner.nextLine();
-            if (this.validIntInput(input) && customValidator.apply(Integer.parseInt(input))) {
-                return Integer.parseInt(input);
+            this.printMessage(message);
+            final String input = this.readLine();
+            final Integer number = IOHelper.parseInteger(input);
+            if (number != null && customValidator.apply(number)) {
+                return number;
             }
-            System.out.println(failMessage);
+            this.printMessage(failMessage);
         }
     }
 
@@ -110,12 +279,12 @@ public class IOHelper {
      */
     public char readChar(final String message, final String failMessage) {
         while (true) {
-            System.out.println(message);
-            final String input = this.scanner.nextLine();
+            this.printMessage(message);
+            final String input = this.readLine();
             if (this.validCharInput(input)) {
                 return (input).charAt(0);
             }
-            System.out.println(failMessage);
+            this.printMessage(failMessage);
         }
     }
 
@@ -129,12 +298,12 @@ public class IOHelper {
      */
     public char readChar(final String message, final String failMessage, final Function<Character, Boolean> customValidator) {
         while (true) {
-            System.out.println(message);
-            final String input = this.scanner.nextLine();
+            this.printMessage(message);
+            final String input = this.readLine();
             if (this.validCharInput(input) && customValidator.apply(input.charAt(0))) {
                 return (input).charAt(0);
             }
-            System.out.println(failMessage);
+            this.printMessage(failMessage);
         }
     }
 
@@ -142,22 +311,27 @@ public class IOHelper {
         return input.strip().length() > 0;
     }
 
-    private boolean validIntInput(final String input) {
+    /**
+     * Parses an int, if the input is one.
+     *
+     * @param input Input line
+     * @return The int, or null if the input isn't a valid int
+     */
+    private static Integer parseInteger(final String input) {
         if (input.length() > 0) {
             try {
-                Integer.parseInt(input);
-                return true;
+                return Integer.parseInt(input);
             } catch (final NumberFormatException e) {
-                return false;
+                return null;
             }
         }
 
-        return false;
+        return null;
     }
 
     private boolean validCharInput(final String input) {
         if (input.length() == 1) {
-            return input.matches("[A-Za-z0-9!£%?*]");
+            return IOHelper.VALID_CHARS.indexOf(input.charAt(0)) != -1;
         }
 
         return false;
@@ -169,7 +343,7 @@ public class IOHelper {
      * Does not display any prompts, so ensure that you inform the user that they should press ENTER before you call this.
      */
     public void pressEnterToContinue() {
-        this.scanner.nextLine();
+        this.readLine();
     }
 
     /**
@@ -1,15 +1,341 @@
 package dev.davwheat;
 
+import dev.davwheat.analysis.LandingProbabilities;
+import dev.davwheat.analysis.ReturnOnInvestment;
+import dev.davwheat.policies.ConsoleDecisionPolicy;
+import dev.davwheat.policies.DecisionPolicy;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import dev.davwheat.policies.MonteCarloTreeSearchPolicy;
+import dev.davwheat.server.GameServer;
+import dev.davwheat.server.LoadTestClient;
+import dev.davwheat.simulation.MonteCarloRunner;
+import dev.davwheat.simulation.MonteCarloTreeSearch;
+import dev.davwheat.simulation.SimulationResults;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Entry point for the game.
  */
 public class Main {
+    /**
+     * Default time bots are given to make each decision, in milliseconds.
+     */
+    private static final long DEFAULT_THINK_MILLIS = 50;
+
+    /**
+     * Default number of playouts bots run for each decision in simulations.
+     */
+    private static final int DEFAULT_SIMULATION_PLAYOUTS = 1000;
+
     /**
      * Entry function for the game
+     * <p>
+     * With no arguments, a normal game is played using the console. This also accepts:
+     * <ul>
+     *     <li>`--no-color` to leave ANSI colour codes out of the game's output</li>
+     *     <li>`--seed N` to play the same dice rolls and cards as a previous game</li>
+     *     <li>`--record FILE` to save every answer given, so the game can be replayed</li>
+     *     <li>`--script FILE` to replay answers from a file instead of reading them from the console</li>
+     *     <li>`--sessions N` with `--script` to replay the script N times without any output, as fast as possible</li>
+     *     <li>`--bots N` to have the last N players played by a MonteCarloTreeSearch</li>
+     *     <li>`--think MS` to give bots this long to make each decision (50ms by default)</li>
+     * </ul>
+     * <p>
+     * Pass `--simulate GAMES` to play headless games instead. This also accepts
+     * `--seed N`, `--threads N`, `--players N`, `--turn-limit N`, `--scaling`, and `--bots N`
+     * with `--playouts N` to play bots against the greedy policy. Each of their decisions is searched
+     * with that many playouts (1000 by default), so the same seed always gives the same results.
+     * `--think MS` gives them a think time instead, which means results can't be repeated exactly.
+     * <p>
+     * Pass `--serve PORT` to host games over TCP, which also accepts `--seed N`,
+     * `--turn-limit N`, `--turn-timeout SECONDS`, and `--fill-bots SECONDS` with `--think MS` to fill tables
+     * which have waited that long with bots. Pass `--load-test PORT` to fill a server with bots, which also
+     * accepts `--host HOST`, `--tables N` and `--players N`.
+     * <p>
+     * Pass `--landing-odds` to print the chance of landing on each space, and the rent each Animal can expect.
+     * Pass `--roi` to print how quickly buying and upgrading each Animal pays for itself, which also
+     * accepts `--players N`.
+     *
+     * @param args CLI arguments
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length > 0) {
+            switch (args[0]) {
+                case "--simulate" -> {
+                    Main.simulate(args);
+                    return;
+                }
+                case "--serve" -> {
+                    Main.serve(args);
+                    return;
+                }
+                case "--load-test" -> {
+                    Main.loadTest(args);
+                    return;
+                }
+                case "--landing-odds" -> {
+                    LandingProbabilities.createForBaseDeck().printReport(System.out);
+                    return;
+                }
+                case "--roi" -> {
+                    Main.printReturns(args);
+                    return;
+                }
+            }
+        }
+
+        boolean stripAnsi = false;
+        long seed = ThreadLocalRandom.current().nextLong();
+        Path scriptFile = null;
+        Path recordFile = null;
+        int sessions = 0;
+        int bots = 0;
+        long thinkTimeMillis = Main.DEFAULT_THINK_MILLIS;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--no-color" -> stripAnsi = true;
+                case "--bots" -> bots = Integer.parseInt(args[++i]);
+                case "--think" -> thinkTimeMillis = Long.parseLong(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--script" -> scriptFile = Path.of(args[++i]);
+                case "--record" -> recordFile = Path.of(args[++i]);
+                case "--sessions" -> sessions = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        if (sessions > 0) {
+            if (scriptFile == null) {
+                throw new IllegalArgumentException("--sessions needs a --script to replay.");
+            }
+
+            Main.replay(scriptFile, seed, sessions);
+            return;
+        }
+
+        final IOHelper ioHelper = scriptFile == null ? new IOHelper() : IOHelper.createScriptedIOHelper(scriptFile, true);
+        PrintStream recording = null;
+
+        if (recordFile != null) {
+            recording = new PrintStream(Files.newOutputStream(recordFile), true, StandardCharsets.UTF_8);
+            ioHelper.recordTo(recording);
+            System.out.printf("Recording answers to %s (replay with --seed %d --script %1$s)\n", recordFile, seed);
+        }
+
+        DecisionPolicy policy = new ConsoleDecisionPolicy(ioHelper);
+        MonteCarloTreeSearch search = null;
+
+        if (bots > 0) {
+            search = new MonteCarloTreeSearch(thinkTimeMillis);
+            policy = new MonteCarloTreeSearchPolicy(policy, search, bots);
+        }
+
+        final Game game = new Game(policy, new Renderer(System.out, stripAnsi), 0, seed);
+        game.play();
+
+        if (recording != null) {
+            recording.close();
+        }
+
+        if (search != null) {
+            search.printStats(System.out);
+            search.close();
+        }
+    }
+
+    /**
+     * Replays a script of answers through the console game many times, without printing anything.
+     *
+     * @param scriptFile File of answers
+     * @param seed       Seed the script was recorded with
+     * @param sessions   Number of times to replay the script
+     * @throws IOException The script couldn't be read
+     */
+    private static void replay(final Path scriptFile, final long seed, final int sessions) throws IOException {
+        final List<String> script = List.copyOf(Files.readAllLines(scriptFile, StandardCharsets.UTF_8));
+        final long start = System.nanoTime();
+        int finished = 0;
+
+        for (int i = 0; i < sessions; i++) {
+            final Game game = new Game(new ConsoleDecisionPolicy(new IOHelper(script, false)), Renderer.createQuietRenderer(), 0, seed);
+
+            try {
+                game.play();
+                finished++;
+            } catch (final NoSuchElementException ignored) {
+                // The script ran out before the game was over
+            }
+        }
+
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Replayed %d sessions (%d played to the end) in %.2fs (%.0f sessions/sec)\n", sessions, finished, seconds, sessions / seconds);
+    }
+
+    /**
+     * Plays headless games across all CPU cores and prints the results.
      *
-     * @param args Unused CLI arguments
+     * @param args CLI arguments
      */
-    public static void main(String[] args) {
-        Game game = new Game();
+    private static void simulate(final String[] args) {
+        long games = 10000;
+        long seed = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int players = 4;
+        int turnLimit = 1000;
+        boolean scaling = false;
+        int bots = 0;
+        int playouts = Main.DEFAULT_SIMULATION_PLAYOUTS;
+        long thinkTimeMillis = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--simulate" -> games = Long.parseLong(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                case "--turn-limit" -> turnLimit = Integer.parseInt(args[++i]);
+                case "--scaling" -> scaling = true;
+                case "--bots" -> bots = Integer.parseInt(args[++i]);
+                case "--playouts" -> playouts = Integer.parseInt(args[++i]);
+                case "--think" -> thinkTimeMillis = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        final int playerCount = players;
+        final int botSeats = bots;
+        // Every game shares the search's threads, so they don't each start a pool
+        final MonteCarloTreeSearch search;
+
+        if (bots == 0) {
+            search = null;
+        } else if (thinkTimeMillis > 0) {
+            search = new MonteCarloTreeSearch(thinkTimeMillis);
+        } else {
+            search = MonteCarloTreeSearch.createWithPlayoutLimit(playouts);
+        }
+
+        final MonteCarloRunner runner = new MonteCarloRunner(() -> {
+            final DecisionPolicy greedy = new GreedyDecisionPolicy(playerCount, Money.fromPounds(100));
+            return search == null ? greedy : new MonteCarloTreeSearchPolicy(greedy, search, botSeats);
+        }, turnLimit);
+        final SimulationResults results;
+
+        if (scaling) {
+            results = runner.printScalingReport(System.out, games, seed, threads);
+        } else {
+            final long start = System.nanoTime();
+            results = runner.run(games, seed, threads);
+            final double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("Played %d games on %d threads in %.2fs (%.0f games/sec, %.0f games/min)\n", games, threads, seconds, games / seconds, games / seconds * 60);
+        }
+
+        System.out.println(results);
+
+        if (search != null) {
+            search.printStats(System.out);
+            search.close();
+        }
+    }
+
+    /**
+     * Hosts games over TCP until the process is stopped, printing how busy the server is every few seconds.
+     *
+     * @param args CLI arguments
+     * @throws IOException The port couldn't be listened on
+     */
+    private static void serve(final String[] args) throws IOException {
+        int port = 0;
+        int turnLimit = GameServer.DEFAULT_TURN_LIMIT;
+        long seed = ThreadLocalRandom.current().nextLong();
+        long turnTimeoutMillis = 0;
+        long botFillMillis = 0;
+        long thinkTimeMillis = Main.DEFAULT_THINK_MILLIS;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--serve" -> port = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--turn-limit" -> turnLimit = Integer.parseInt(args[++i]);
+                case "--turn-timeout" -> turnTimeoutMillis = (long) (Double.parseDouble(args[++i]) * 1000);
+                case "--fill-bots" -> botFillMillis = (long) (Double.parseDouble(args[++i]) * 1000);
+                case "--think" -> thinkTimeMillis = Long.parseLong(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        final GameServer server = new GameServer(port, turnLimit, seed, turnTimeoutMillis, botFillMillis, thinkTimeMillis);
+        System.out.printf("Listening on port %d (seed %d)\n", server.getPort(), seed);
+
+        final Thread stats = new Thread(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(5000);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+
+                server.printStats(System.out);
+            }
+        }, "animopoly-stats");
+        stats.setDaemon(true);
+        stats.start();
+
+        server.run();
+    }
+
+    /**
+     * Fills a server with bots and prints how quickly it kept up.
+     *
+     * @param args CLI arguments
+     * @throws InterruptedException Interrupted while waiting for the games
+     */
+    private static void loadTest(final String[] args) throws InterruptedException {
+        String host = "localhost";
+        int port = 0;
+        int tables = 1000;
+        int players = 4;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--load-test" -> port = Integer.parseInt(args[++i]);
+                case "--host" -> host = args[++i];
+                case "--tables" -> tables = Integer.parseInt(args[++i]);
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        if (!new LoadTestClient(host, port, tables, players).run(System.out, 600)) {
+            System.out.println("Not every game finished.");
+        }
+    }
+
+    /**
+     * Prints how quickly buying and upgrading each Animal pays for itself.
+     *
+     * @param args CLI arguments
+     */
+    private static void printReturns(final String[] args) {
+        int players = 4;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        ReturnOnInvestment.createForBaseDeck().printReport(System.out, players - 1);
     }
 }
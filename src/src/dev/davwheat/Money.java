@@ -0,0 +1,59 @@
+package dev.davwheat;
+
+/**
+ * Helpers for working with amounts of money.
+ * <p>
+ * All money in the game is stored as a whole number of pence in a `long`, so
+ * balance arithmetic is always exact. Amounts should only be turned into text
+ * (using `format`) at the point where they are shown to players.
+ */
+public class Money {
+    /**
+     * Number of pence in one pound.
+     */
+    public static final long PENCE_PER_POUND = 100;
+
+    /**
+     * Converts a whole number of pounds to pence.
+     *
+     * @param pounds Amount in pounds
+     * @return Amount in pence
+     */
+    public static long fromPounds(final long pounds) {
+        return pounds * Money.PENCE_PER_POUND;
+    }
+
+    /**
+     * Formats an amount of money for display, such as "£1234.50" or "-£4.05".
+     *
+     * @param pence Amount in pence
+     * @return Formatted amount
+     */
+    public static String format(final long pence) {
+        return Money.appendTo(new StringBuilder(12), pence).toString();
+    }
+
+    /**
+     * Appends an amount of money to a StringBuilder, formatted the same way as `format`.
+     *
+     * @param sb    StringBuilder to append to
+     * @param pence Amount in pence
+     * @return the StringBuilder
+     */
+    public static StringBuilder appendTo(final StringBuilder sb, final long pence) {
+        if (pence < 0) {
+            sb.append('-');
+        }
+
+        final long pounds = Math.abs(pence / Money.PENCE_PER_POUND);
+        final long remainder = Math.abs(pence % Money.PENCE_PER_POUND);
+
+        sb.append('£').append(pounds).append('.');
+
+        if (remainder < 10) {
+            sb.append('0');
+        }
+
+        return sb.append(remainder);
+    }
+}
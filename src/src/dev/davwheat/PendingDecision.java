@@ -0,0 +1,85 @@
+package dev.davwheat;
+
+import dev.davwheat.enums.DecisionType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A decision which a turn is waiting for before it can carry on.
+ * <p>
+ * Every decision is answered with a whole number choice. See `DecisionType` for what each choice means.
+ */
+public class PendingDecision {
+    /**
+     * What kind of decision this is.
+     */
+    public final DecisionType type;
+
+    /**
+     * The player who needs to make the decision.
+     */
+    public final Player player;
+
+    /**
+     * The Animal being offered for purchase, or null for other decisions.
+     */
+    public final Animal animal;
+
+    /**
+     * The Animals which can be chosen for an upgrade, or an empty list for other decisions.
+     */
+    public final List<Animal> upgradeOptions;
+
+    /**
+     * Create a new instance of PendingDecision.
+     *
+     * @param type           What kind of decision this is
+     * @param player         The player who needs to make the decision
+     * @param animal         The Animal being offered for purchase, or null
+     * @param upgradeOptions The Animals which can be chosen for an upgrade, or null
+     */
+    PendingDecision(final DecisionType type, final Player player, final Animal animal, final List<Animal> upgradeOptions) {
+        this.type = type;
+        this.player = player;
+        this.animal = animal;
+        this.upgradeOptions = upgradeOptions == null ? Collections.emptyList() : upgradeOptions;
+    }
+
+    /**
+     * Gets the number of valid choices. Choices range from 0 to this number minus 1.
+     *
+     * @return Number of valid choices
+     */
+    public int getChoiceCount() {
+        return switch (this.type) {
+            case CONTINUE -> 1;
+            case PURCHASE_ANIMAL, TAKE_CHANCE_CARD -> 2;
+            case UPGRADE_ANIMAL -> this.upgradeOptions.size() + 1;
+        };
+    }
+
+    /**
+     * Tests if a choice is a valid answer to this decision.
+     *
+     * @param choice Choice
+     * @return Whether the choice is valid
+     */
+    public boolean isValidChoice(final int choice) {
+        return choice >= 0 && choice < this.getChoiceCount();
+    }
+
+    /**
+     * Gets the choice made when the player doesn't answer: continue, say no, or end the turn.
+     *
+     * @return The default choice
+     */
+    public int getDefaultChoice() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PendingDecision{" + this.type + " for " + this.player.playerName + "}";
+    }
+}
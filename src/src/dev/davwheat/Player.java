@@ -1,16 +1,7 @@
 package dev.davwheat;
 
-import dev.davwheat.enums.BoardSpaceType;
-import dev.davwheat.enums.Color;
-import dev.davwheat.exceptions.AnimalAlreadyOwnedException;
-import dev.davwheat.exceptions.AnimalNotOwnedException;
-import dev.davwheat.exceptions.AnimalUpgradeNotAllowedException;
 import dev.davwheat.exceptions.InsufficientBalanceException;
 
-import javax.naming.NoPermissionException;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
  * A Player who is engaged in the current game.
  */
@@ -41,9 +32,9 @@ public class Player {
     private int currentSpaceIndex;
 
     /**
-     * The player's current bank balance.
+     * The player's current bank balance, in pence.
      */
-    private double currentBankBalance;
+    private long currentBankBalance;
 
     /**
      * Instance of Game that this Player is part of.
@@ -57,6 +48,11 @@ public class Player {
      */
     private boolean willMissNextTurn;
 
+    /**
+     * Whether this player has gone bankrupt and is out of the game.
+     */
+    private boolean isBankrupt;
+
     /**
      * Create a new instance of Player.
      *
@@ -67,7 +63,7 @@ public class Player {
      */
     public Player(final String name, final int playerId, final Game game, final char playerVisualIdentifier) {
         this.currentSpaceIndex = 0;
-        this.currentBankBalance = 2000;
+        this.currentBankBalance = Money.fromPounds(2000);
         this.gameInstance = game;
         this.playerId = playerId;
         this.playerName = name;
@@ -81,14 +77,56 @@ public class Player {
      * @return The new board space the player is at.
      */
     public BoardSpace movePlayer(final int spaces) {
-        this.currentSpaceIndex += spaces;
+        this.setSpaceIndex(Player.getSpaceIndexAfterMove(this.currentSpaceIndex, spaces));
+        return this.getBoardSpaceAtPlayerPosition();
+    }
+
+    /**
+     * Works out where a player ends up after moving a number of spaces.
+     * <p>
+     * Moves past the last space wrap around by 25 rather than 26, so moving
+     * forwards never lands back on Start (index 26 becomes 1).
+     *
+     * @param from   Board space index the player starts on
+     * @param spaces Number of spaces to move
+     * @return The new board space index
+     */
+    public static int getSpaceIndexAfterMove(final int from, final int spaces) {
+        final int index = from + spaces;
 
         // Ensure the index isn't above 25 or below 0 -- wrap around instead
-        if (this.currentSpaceIndex > 25 || this.currentSpaceIndex < 0) {
-            this.currentSpaceIndex = Math.abs(this.currentSpaceIndex % 25);
+        if (index > 25 || index < 0) {
+            return Math.abs(index % 25);
         }
 
-        return this.getBoardSpaceAtPlayerPosition();
+        return index;
+    }
+
+    /**
+     * Moves the player straight to a board space, recording the change if the Game has an undo log.
+     * <p>
+     * Every change to the player's position goes through here.
+     *
+     * @param index Board space index
+     */
+    void setSpaceIndex(final int index) {
+        final UndoLog undoLog = this.gameInstance.getUndoLog();
+
+        if (undoLog != null) {
+            undoLog.recordPosition(this);
+        }
+
+        this.gameInstance.updateStateHash(ZobristHash.positionKey(this.playerId, this.currentSpaceIndex) ^ ZobristHash.positionKey(this.playerId, index));
+        this.currentSpaceIndex = index;
+    }
+
+    /**
+     * Gets the index of the BoardSpace that the user is currently on.
+     *
+     * @return Board space index (0 to 25 inclusive)
+     */
+    public int getCurrentSpaceIndex() {
+        return this.currentSpaceIndex;
     }
 
     /**
@@ -103,9 +141,9 @@ public class Player {
     /**
      * Gets the Player's bank balance.
      *
-     * @return bank balance
+     * @return bank balance in pence
      */
-    public double getBankBalance() {
+    public long getBankBalance() {
         return this.currentBankBalance;
     }
 
@@ -114,19 +152,28 @@ public class Player {
      * <p>
      * You can also pass another Player here to adjust their balance by the opposite amount!
      * <p>
-     * For example... "adjustBankBalance(5, player2);" will add £5 to this player, removes £5 from player2.
+     * For example... "adjustBankBalance(500, player2);" will add £5 to this player, removes £5 from player2.
+     * <p>
+     * If either player can't afford their side of the change, neither balance is changed.
      *
-     * @param change                 Amount to change the balance by (+/-)
+     * @param change                 Amount in pence to change the balance by (+/-)
      * @param reciprocalActionPlayer An player to perform the opposite change on.
-     * @return New player balance.
+     * @return New player balance in pence.
      */
-    public double adjustBankBalance(final double change, final Player reciprocalActionPlayer) throws InsufficientBalanceException {
+    public long adjustBankBalance(final long change, final Player reciprocalActionPlayer) throws InsufficientBalanceException {
         if (reciprocalActionPlayer == null) {
             throw new NullPointerException("reciprocalActionPlayer must be a valid instance of Player, and not null.");
         }
 
+        if (change > 0 && reciprocalActionPlayer.currentBankBalance < change) {
+            throw new InsufficientBalanceException("Not enough money for this balance change.");
+        }
+
+        // Only throws before any balance has changed
+        this.adjustBankBalance(change);
         reciprocalActionPlayer.adjustBankBalance(-change);
-        return this.adjustBankBalance(change);
+
+        return this.currentBankBalance;
     }
 
 
@@ -135,237 +182,156 @@ public class Player {
      * <p>
      * You can also pass another Player here to adjust their balance by the opposite amount!
      * <p>
-     * For example... "adjustBankBalance(5, player2);" will add £5 to this player, removes £5 from player2.
+     * For example... "adjustBankBalance(500, player2);" will add £5 to this player, removes £5 from player2.
      *
-     * @param change Amount to change the balance by (+/-)
-     * @return New player balance.
+     * @param change Amount in pence to change the balance by (+/-)
+     * @return New player balance in pence.
      */
-    public double adjustBankBalance(final double change) throws InsufficientBalanceException {
+    public long adjustBankBalance(final long change) throws InsufficientBalanceException {
         if (change < 0 && this.currentBankBalance < -change) {
             throw new InsufficientBalanceException("Not enough money for this balance change.");
         }
 
-        this.currentBankBalance += change;
+        this.setBankBalance(this.currentBankBalance + change);
         return this.currentBankBalance;
     }
 
     /**
-     * Gets if a player has gone bankrupt (negative money).
+     * Sets the Player's bank balance, recording the change if the Game has an undo log.
+     * <p>
+     * Every change to the balance goes through here.
+     *
+     * @param balance New balance in pence
+     */
+    void setBankBalance(final long balance) {
+        final UndoLog undoLog = this.gameInstance.getUndoLog();
+
+        if (undoLog != null) {
+            undoLog.recordBalance(this);
+        }
+
+        this.gameInstance.updateStateHash(ZobristHash.balanceKey(this.playerId, this.currentBankBalance) ^ ZobristHash.balanceKey(this.playerId, balance));
+        this.currentBankBalance = balance;
+    }
+
+    /**
+     * Gets if a player has gone bankrupt (couldn't afford a payment).
      * <p>
      * £0 is not bankrupt, as they could earn money from someone landing on their animal.
      *
      * @return Player has lost
      */
     public boolean hasLost() {
-        return this.currentBankBalance < 0;
+        return this.isBankrupt;
     }
 
     /**
-     * Makes this player miss their next turn.
+     * Marks this player as bankrupt and out of the game.
+     * <p>
+     * Any Animals they own are returned to the bank so that other players can buy them.
      */
-    public void makeMissNextTurn() {
-        this.willMissNextTurn = true;
-    }
+    public void declareBankruptcy() {
+        if (this.isBankrupt) {
+            return;
+        }
 
-    public void startTurn() {
-        final IOHelper ioHelper = new IOHelper();
+        this.setBankrupt(true);
+        this.gameInstance.gameBoardInstance.releaseOwnedAnimals(this);
+        this.gameInstance.removeFromTurnOrder(this);
+    }
 
-        // If they're missing this turn, then just stop here.
-        if (this.willMissNextTurn) {
-            this.willMissNextTurn = false;
-            System.out.printf("\n\nPlayer %d (%s) is missing their turn.\n", this.playerId + 1, this.playerName);
+    /**
+     * Sets whether the player has lost, recording the change if the Game has an undo log.
+     *
+     * @param isBankrupt Whether they've lost
+     */
+    void setBankrupt(final boolean isBankrupt) {
+        final UndoLog undoLog = this.gameInstance.getUndoLog();
 
-            // This should never error... hopefully...
-            try {
-                this.gameInstance.endTurn(this);
-            } catch (final Exception ignored) {
-            }
+        if (undoLog != null) {
+            undoLog.recordBankrupt(this);
         }
 
-        final GameBoard gameBoard = this.gameInstance.gameBoardInstance;
-
-        System.out.printf("%s%s", Color.RESET, Color.WHITE_BOLD_BRIGHT);
-        System.out.printf("\n\nPlayer %d (%s) is now playing.\n", this.playerId + 1, this.playerName);
-        System.out.printf("%s", Color.RESET);
-        System.out.printf("%s has %s£%.2f%s available.\n", this.playerName, Color.GREEN_BOLD_BRIGHT, this.currentBankBalance, Color.RESET);
-
-        gameBoard.printCurrentBoard();
-
-        System.out.println("Press ENTER to roll the dice.");
-        ioHelper.pressEnterToContinue();
-
-        System.out.println("... ROLLING ...");
-        final Dice dice = new Dice().rollAllDice();
-
-        final int rollTotal = dice.getTotalRoll();
-        final int rollOne = dice.getOneRoll(1);
-        final int rollTwo = dice.getOneRoll(2);
-
-        System.out.printf("You rolled %d and %d for a total of %d.\n\n", rollOne, rollTwo, rollTotal);
-
-        final int beforePos = this.currentSpaceIndex;
-        final BoardSpace currentSpace = this.movePlayer(rollTotal);
-        final int afterPos = this.currentSpaceIndex;
-
-        final boolean justPassedGo = beforePos > afterPos;
-
-        if (justPassedGo) {
-            if (currentSpace.type == BoardSpaceType.START) {
-                System.out.println("You landed on Start! Collect £1000");
-                try {
-                    this.adjustBankBalance(1000);
-                } catch (InsufficientBalanceException e) {
-                    e.printStackTrace();
-                }
-            } else {
-                System.out.println("You just passed Start! Collect £500");
-                try {
-                    this.adjustBankBalance(500);
-                } catch (InsufficientBalanceException e) {
-                    e.printStackTrace();
-                }
-            }
+        if (this.isBankrupt != isBankrupt) {
+            this.gameInstance.updateStateHash(ZobristHash.lostKey(this.playerId));
         }
 
-        if (currentSpace.type == BoardSpaceType.ANIMAL) {
-            System.out.printf("You landed on \"%s\".\n", currentSpace.displayName);
-
-            final Animal animalSpace = (Animal) currentSpace;
-            animalSpace.printCard();
-            System.out.println();
-
-            final Player owner = animalSpace.getOwner();
-
-            if (owner == null) {
-                // Animal is not owned
-
-                // Should buy the Animal?
-                final boolean shouldBuy = String.valueOf(ioHelper.readChar(String.format("%s is not owned and costs £%.2f. Would you like to buy it? (Y/N)", animalSpace.displayName, animalSpace.purchaseCost), "Please choose either 'Y' (yes) or 'N' (no).", IOHelper.YesNoCharValidator)).equalsIgnoreCase("y");
-
-                if (shouldBuy) {
-                    try {
-                        animalSpace.purchase(this);
-                        System.out.printf("%sYou now own %s! New balance: £%.2f%s\n", Color.BLUE_BOLD, animalSpace.displayName, this.currentBankBalance, Color.RESET);
-                    } catch (final AnimalAlreadyOwnedException e) {
-                        e.printStackTrace();
-                    } catch (final InsufficientBalanceException e) {
-                        System.out.println("You can't afford to pay for this Animal.");
-                    }
-                }
-            } else if (animalSpace.isOwnedBy(this)) {
-                // This is their own property!
-                System.out.printf("%sYou own this animal, so stopping here is free.%s\n", Color.BLUE_BOLD, Color.RESET);
-            } else {
-                final double stopCost = animalSpace.getStopCost(this);
-
-                System.out.printf("%s is owned by %s, so you need to %spay them £%.2f%s.\n", animalSpace.displayName, owner.playerName, Color.RED_BOLD_BRIGHT, stopCost, Color.RESET);
-                System.out.println("Press ENTER to continue.");
-                ioHelper.pressEnterToContinue();
-
-                try {
-                    animalSpace.payForStop(this);
-                } catch (InsufficientBalanceException e) {
-                    System.out.println("You can't afford to pay for this stop. You're out!");
-                    this.currentBankBalance = -1;
-                    return;
-                }
-                System.out.printf("Your new balance is %s£%.2f%s.\n", Color.GREEN_BOLD_BRIGHT, this.currentBankBalance, Color.RESET);
-            }
-        } else if (currentSpace.type == BoardSpaceType.MISS_NEXT_TURN) {
-            System.out.println("You landed on \"Miss next turn\".");
-        }
+        this.isBankrupt = isBankrupt;
+    }
 
-        if (dice.isDouble()) {
-            final char chance = ioHelper.readChar("You rolled a double! Would you like to pick up a Chance card? (Y/N)", "Please choose either Y for yes or N for no.", IOHelper.YesNoCharValidator);
-
-            if (String.valueOf(chance).equalsIgnoreCase("y")) {
-                // Pick up chance card
-                final Card card = this.gameInstance.cardDeck.takeCard();
-                card.printCard();
-                System.out.println("\nPress ENTER to continue.");
-                ioHelper.pressEnterToContinue();
-
-                // Take the action
-                try {
-                    card.takeAction(this);
-                } catch (InsufficientBalanceException e) {
-                    System.out.println("You can't afford to pay what this card requires. You're out!");
-                    this.currentBankBalance = -1;
-                    return;
-                }
-
-                System.out.printf("Your new balance is %s£%.2f%s.\n", Color.GREEN_BOLD_BRIGHT, this.currentBankBalance, Color.RESET);
-            }
-        }
+    /**
+     * Gets the Game that this Player is part of.
+     *
+     * @return the Game
+     */
+    public Game getGameInstance() {
+        return this.gameInstance;
+    }
 
-        int option = 0;
+    /**
+     * Makes this player miss their next turn.
+     */
+    public void makeMissNextTurn() {
+        this.setWillMissNextTurn(true);
+    }
 
-        while (option != 2) {
-            System.out.printf("\n%sPlayer turn menu%s\n", Color.BLUE_BOLD_BRIGHT, Color.RESET);
-            System.out.println("\n1. Upgrade Animal");
-            System.out.println("2. End turn");
-            option = ioHelper.readInteger("Choose an option: ", "Please choose either 1 or 2.", i -> i >= 1 && i <= 2);
+    /**
+     * Sets whether the player will miss their next turn, recording the change if the Game has an undo log.
+     *
+     * @param willMissNextTurn Whether they'll miss their next turn
+     */
+    void setWillMissNextTurn(final boolean willMissNextTurn) {
+        final UndoLog undoLog = this.gameInstance.getUndoLog();
 
-            switch (option) {
-                case 1 -> this.upgradeAnimal(ioHelper);
-            }
+        if (undoLog != null) {
+            undoLog.recordMissTurn(this);
         }
 
-        // This should never error... hopefully...
-        try {
-            this.gameInstance.endTurn(this);
-        } catch (final Exception ignored) {
+        if (this.willMissNextTurn != willMissNextTurn) {
+            this.gameInstance.updateStateHash(ZobristHash.missTurnKey(this.playerId));
         }
+
+        this.willMissNextTurn = willMissNextTurn;
+    }
+
+    /**
+     * Whether this player will miss their next turn.
+     *
+     * @return Whether the next turn will be missed
+     */
+    public boolean willMissNextTurn() {
+        return this.willMissNextTurn;
+    }
+
+    /**
+     * Sets everything about this player which changes during a game.
+     * <p>
+     * Used by `GameState.applyTo()`, which then fixes up the board and turn order.
+     *
+     * @param spaceIndex       Board space index
+     * @param bankBalance      Bank balance in pence
+     * @param willMissNextTurn Whether they'll miss their next turn
+     * @param isBankrupt       Whether they've lost
+     */
+    void restoreState(final int spaceIndex, final long bankBalance, final boolean willMissNextTurn, final boolean isBankrupt) {
+        this.currentSpaceIndex = spaceIndex;
+        this.currentBankBalance = bankBalance;
+        this.willMissNextTurn = willMissNextTurn;
+        this.isBankrupt = isBankrupt;
     }
 
-    private void upgradeAnimal(final IOHelper ioHelper) {
-        while (true) {
-            System.out.printf("\n%sUpgrade an animal%s\n", Color.BLUE_BOLD_BRIGHT, Color.RESET);
-            final List<Animal> myAnimals = this.gameInstance.gameBoardInstance.getOwnedAnimals(this);
-
-            final AtomicInteger i = new AtomicInteger(1);
-            myAnimals.forEach(a -> {
-                final int num = i.getAndIncrement();
-                System.out.printf("%d. %s (Current: L%d)\n", num, a.displayName, a.getCurrentLevel().value);
-            });
-
-            final int backNum = i.getAndIncrement();
-            System.out.printf("%d. Back\n", backNum);
-
-            final int option = ioHelper.readInteger(
-                    "Choose an option: ",
-                    String.format("Please choose a value between 1 and %d.", i.get()),
-                    x -> x >= 1 && x <= i.get()
-            );
-
-            // Back
-            if (option == backNum) {
-                return;
-            }
-
-            final Animal animal = myAnimals.get(option - 1);
-
-            if (!animal.isUpgradable(this)) {
-                System.out.printf("\"%s\" is not upgradable.", animal.displayName);
-                continue;
-            }
-
-            System.out.printf("Upgrading \"%s\" will cost £%.2f\n", animal.displayName, animal.upgradeCost);
-            final boolean upgrade = String.valueOf(ioHelper.readChar("Would you like to upgrade? (Y/N)", "Please choose Y for yes, or N for no.", IOHelper.YesNoCharValidator))
-                    .equalsIgnoreCase("y");
-
-            if (upgrade) {
-                try {
-                    animal.upgrade(this);
-                    System.out.printf("\"%s\" has been upgraded to level %d!\n", animal.displayName, animal.getCurrentLevel().value);
-                    System.out.printf("Your new balance is %s£%.2f%s.\n", Color.GREEN_BOLD_BRIGHT, this.currentBankBalance, Color.RESET);
-                } catch (AnimalNotOwnedException | NoPermissionException | AnimalUpgradeNotAllowedException e) {
-                    e.printStackTrace();
-                } catch (InsufficientBalanceException e) {
-                    System.out.printf("%sYou don't have enough money to upgrade this.%s\n", Color.RED_BOLD_BRIGHT, Color.RESET);
-                    System.out.printf("Your balance is %s£%.2f%s.\n", Color.GREEN_BOLD_BRIGHT, this.currentBankBalance, Color.RESET);
-                }
-            }
+    /**
+     * Checks if this player should miss the turn that is starting, clearing the flag if so.
+     *
+     * @return Whether this turn is missed
+     */
+    boolean takeMissedTurn() {
+        final boolean missed = this.willMissNextTurn;
+
+        if (missed) {
+            this.setWillMissNextTurn(false);
         }
+
+        return missed;
     }
 }
@@ -0,0 +1,273 @@
+package dev.davwheat;
+
+import dev.davwheat.enums.Color;
+
+import java.io.PrintStream;
+
+/**
+ * Collects game output into a single reusable buffer, which is written out in one go when `flush()` is called.
+ * <p>
+ * Games flush once per turn, and before asking for any input, so a whole turn reaches the
+ * console as one write instead of dozens of small ones.
+ * <p>
+ * A Renderer can also strip ANSI colour codes (for logs and plain terminals), or be quiet,
+ * in which case all output is thrown away before any formatting work is done.
+ */
+public class Renderer {
+    /**
+     * Where the buffer is written when flushed.
+     * <p>
+     * Null when quiet.
+     */
+    private final PrintStream output;
+
+    /**
+     * Whether ANSI colour codes should be left out of the output.
+     */
+    private final boolean stripAnsi;
+
+    /**
+     * Output waiting to be flushed.
+     * <p>
+     * Reused between flushes, so its capacity only grows to fit the largest turn.
+     */
+    private final StringBuilder frame = new StringBuilder(1024);
+
+    /**
+     * Create a new instance of Renderer.
+     *
+     * @param output    Where output is written when flushed
+     * @param stripAnsi Whether ANSI colour codes should be left out of the output
+     */
+    public Renderer(final PrintStream output, final boolean stripAnsi) {
+        if (output == null) {
+            throw new NullPointerException("output must be a valid instance of PrintStream, and not null.");
+        }
+
+        this.output = output;
+        this.stripAnsi = stripAnsi;
+    }
+
+    /**
+     * Create a new instance of Renderer which keeps ANSI colour codes.
+     *
+     * @param output Where output is written when flushed
+     */
+    public Renderer(final PrintStream output) {
+        this(output, false);
+    }
+
+    /**
+     * Internal constructor for a quiet Renderer.
+     */
+    private Renderer() {
+        this.output = null;
+        this.stripAnsi = true;
+    }
+
+    /**
+     * Creates a Renderer which discards all output without formatting it.
+     *
+     * @return a quiet Renderer
+     */
+    public static Renderer createQuietRenderer() {
+        return new Renderer();
+    }
+
+    /**
+     * Whether this Renderer discards all output.
+     * <p>
+     * Callers can check this to skip building output that would be thrown away.
+     *
+     * @return Whether the Renderer is quiet
+     */
+    public boolean isQuiet() {
+        return this.output == null;
+    }
+
+    /**
+     * Whether this Renderer leaves ANSI colour codes out of the output.
+     *
+     * @return Whether ANSI codes are stripped
+     */
+    public boolean isStrippingAnsi() {
+        return this.stripAnsi;
+    }
+
+    /**
+     * Adds text to the frame.
+     *
+     * @param text Text to add
+     * @return this Renderer
+     */
+    public Renderer print(final String text) {
+        if (this.output != null) {
+            this.frame.append(text);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a single character to the frame.
+     *
+     * @param c Character to add
+     * @return this Renderer
+     */
+    public Renderer print(final char c) {
+        if (this.output != null) {
+            this.frame.append(c);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a number to the frame.
+     *
+     * @param number Number to add
+     * @return this Renderer
+     */
+    public Renderer print(final long number) {
+        if (this.output != null) {
+            this.frame.append(number);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds a colour code to the frame, unless ANSI codes are being stripped.
+     *
+     * @param color Colour to switch to
+     * @return this Renderer
+     */
+    public Renderer print(final Color color) {
+        if (this.output != null && !this.stripAnsi) {
+            this.frame.append(color.toString());
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds an amount of money to the frame, formatted like `Money.format`.
+     *
+     * @param pence Amount in pence
+     * @return this Renderer
+     */
+    public Renderer printMoney(final long pence) {
+        if (this.output != null) {
+            Money.appendTo(this.frame, pence);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds text surrounded by a colour, resetting the colour afterwards.
+     *
+     * @param color Colour of the text
+     * @param text  Text to add
+     * @return this Renderer
+     */
+    public Renderer printColored(final Color color, final String text) {
+        return this.print(color).print(text).print(Color.RESET);
+    }
+
+    /**
+     * Adds an amount of money surrounded by a colour, resetting the colour afterwards.
+     *
+     * @param color Colour of the amount
+     * @param pence Amount in pence
+     * @return this Renderer
+     */
+    public Renderer printMoney(final Color color, final long pence) {
+        return this.print(color).printMoney(pence).print(Color.RESET);
+    }
+
+    /**
+     * Adds text followed by a new line to the frame.
+     *
+     * @param text Text to add
+     * @return this Renderer
+     */
+    public Renderer println(final String text) {
+        return this.print(text).print('\n');
+    }
+
+    /**
+     * Adds a new line to the frame.
+     *
+     * @return this Renderer
+     */
+    public Renderer println() {
+        return this.print('\n');
+    }
+
+    /**
+     * Adds formatted text to the frame, using the same format as `String.format`.
+     * <p>
+     * Nothing is formatted if the Renderer is quiet.
+     *
+     * @param format Format string
+     * @param args   Arguments referenced by the format string
+     * @return this Renderer
+     */
+    public Renderer printf(final String format, final Object... args) {
+        if (this.output != null) {
+            this.frame.append(String.format(format, args));
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes everything in the frame to the output, then empties the frame.
+     */
+    public void flush() {
+        if (this.output == null || this.frame.length() == 0) {
+            return;
+        }
+
+        if (this.stripAnsi) {
+            Renderer.removeAnsiCodes(this.frame);
+        }
+
+        this.output.append(this.frame);
+        this.output.flush();
+        this.frame.setLength(0);
+    }
+
+    /**
+     * Removes all ANSI escape sequences (such as colour codes) from a StringBuilder, in place.
+     * <p>
+     * Catches any codes added as plain text rather than through `print(Color)`.
+     *
+     * @param sb StringBuilder to remove codes from
+     */
+    static void removeAnsiCodes(final StringBuilder sb) {
+        int write = 0;
+        int read = 0;
+        final int length = sb.length();
+
+        while (read < length) {
+            final char c = sb.charAt(read);
+
+            if (c == '\033' && read + 1 < length && sb.charAt(read + 1) == '[') {
+                // Skip parameters until the final byte of the sequence (a letter)
+                read += 2;
+                while (read < length && !Character.isLetter(sb.charAt(read))) {
+                    read++;
+                }
+                read++;
+                continue;
+            }
+
+            sb.setCharAt(write++, c);
+            read++;
+        }
+
+        sb.setLength(write);
+    }
+}
@@ -1,13 +1,64 @@
 package dev.davwheat;
 
-import java.lang.reflect.Array;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A collection of utilities for modifying Strings.
  */
 public class StringTools {
+    /**
+     * Maximum number of layouts kept by `layoutCentred`.
+     * <p>
+     * Plenty for every Animal name and Chance card in the game.
+     */
+    private static final int LAYOUT_CACHE_SIZE = 256;
+
+    /**
+     * Text already laid out by `layoutCentred`, least recently used first.
+     * <p>
+     * Only accessed while synchronized on the map itself, as games may run on many threads.
+     */
+    private static final LinkedHashMap<LayoutKey, List<String>> LAYOUT_CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<LayoutKey, List<String>> eldest) {
+            return this.size() > StringTools.LAYOUT_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Wraps text, then centres each line, remembering the result so that the same text
+     * is only ever laid out once.
+     * <p>
+     * Equivalent to `centreText(splitStringAtWhitespace(text, wrapWidth), width)`.
+     *
+     * @param text      input string
+     * @param wrapWidth maximum length per line before centring
+     * @param width     width to centre each line within
+     * @return unmodifiable list of wrapped, centred lines
+     */
+    public static List<String> layoutCentred(final String text, final int wrapWidth, final int width) {
+        final LayoutKey key = new LayoutKey(text, wrapWidth, width);
+
+        synchronized (StringTools.LAYOUT_CACHE) {
+            final List<String> cached = StringTools.LAYOUT_CACHE.get(key);
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final List<String> lines = Collections.unmodifiableList(StringTools.centreText(StringTools.splitStringAtWhitespace(text, wrapWidth), width));
+
+        synchronized (StringTools.LAYOUT_CACHE) {
+            StringTools.LAYOUT_CACHE.put(key, lines);
+        }
+
+        return lines;
+    }
     /**
      * Takes a list of strings as input, and a maximum length, then centres the text within that length.
      * <p>
@@ -18,11 +69,13 @@ public class StringTools {
      * @return centred, possibly multi-lined, string
      */
     public static ArrayList<String> centreText(final List<String> text, final int width) {
-        final ArrayList<String> newList = new ArrayList<>();
+        final ArrayList<String> newList = new ArrayList<>(text.size());
+        final StringBuilder sb = new StringBuilder(width);
 
-        text.forEach(s -> {
-            newList.add(StringTools.centreText(s, width));
-        });
+        for (final String s : text) {
+            sb.setLength(0);
+            newList.add(StringTools.appendCentred(sb, s, 0, s.length(), width).toString());
+        }
 
         return newList;
     }
@@ -39,11 +92,34 @@ public class StringTools {
      * @return centred string
      */
     public static String centreText(final String text, final int width) {
-        final int charsToFill = width - text.length();
-        final int charsLeft = (int) Math.ceil(charsToFill / 2d);
-        final int charsRight = (int) Math.floor(charsToFill / 2d);
+        if (text.length() >= width) {
+            return text;
+        }
 
-        return String.format("%s%s%s", " ".repeat(charsLeft), text, " ".repeat(charsRight));
+        return StringTools.appendCentred(new StringBuilder(width), text, 0, text.length(), width).toString();
+    }
+
+    /**
+     * Appends part of some text to a StringBuilder, centred within a width.
+     * <p>
+     * Works the same way as `centreText`, without creating any Strings.
+     *
+     * @param sb    StringBuilder to append to
+     * @param text  text containing the part to centre
+     * @param start index of the first character to centre
+     * @param end   index after the last character to centre
+     * @param width the maximum length of the line
+     * @return the StringBuilder
+     */
+    public static StringBuilder appendCentred(final StringBuilder sb, final CharSequence text, final int start, final int end, final int width) {
+        final int charsToFill = Math.max(0, width - (end - start));
+        final int charsRight = charsToFill / 2;
+
+        for (int i = charsToFill - charsRight; i > 0; i--) sb.append(' ');
+        sb.append(text, start, end);
+        for (int i = charsRight; i > 0; i--) sb.append(' ');
+
+        return sb;
     }
 
     /**
@@ -66,27 +142,83 @@ public class StringTools {
      * @param width Maximum length per line
      * @return Wrapped string
      */
-    public static List<String> splitStringAtWhitespace(String text, final int width) {
+    public static List<String> splitStringAtWhitespace(final String text, final int width) {
         final ArrayList<String> list = new ArrayList<>();
 
-        while (text.length() >= width) {
-            final String widthStr = text.substring(0, width);
+        // The text left to wrap is always text[start, end)
+        int start = 0;
+        int end = text.length();
+
+        while (end - start >= width) {
+            final int limit = start + width;
 
-            if (widthStr.endsWith(" ") || text.charAt(width) == ' ') {
+            if (text.charAt(limit - 1) == ' ' || limit == end || text.charAt(limit) == ' ') {
                 // It's the end of a word! Woohoo!
-                list.add(widthStr.trim());
-                text = text.substring(width).trim();
+                list.add(StringTools.trimmedSpan(text, start, limit));
+                start = limit;
             } else {
-                int splitIndex = widthStr.lastIndexOf(' ');
-                if (splitIndex == -1) splitIndex = width;
+                int splitIndex = text.lastIndexOf(' ', limit - 1);
+                if (splitIndex < start) splitIndex = limit;
 
-                list.add(widthStr.substring(0, splitIndex));
-                text = text.substring(splitIndex).trim();
+                list.add(text.substring(start, splitIndex));
+                start = splitIndex;
             }
+
+            // Trim what's left
+            while (start < end && text.charAt(start) <= ' ') start++;
+            while (end > start && text.charAt(end - 1) <= ' ') end--;
         }
 
-        list.add(text.trim());
+        // Nothing is left if the last line ended at the end of the text
+        if (start < end || list.isEmpty()) {
+            list.add(StringTools.trimmedSpan(text, start, end));
+        }
 
         return list;
     }
+
+    /**
+     * Gets part of some text, without any leading or trailing whitespace (like `String.trim()`).
+     *
+     * @param text  input string
+     * @param start index of the first character
+     * @param end   index after the last character
+     * @return the trimmed part of the text
+     */
+    private static String trimmedSpan(final String text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        return text.substring(start, end);
+    }
+
+    /**
+     * Key for the `layoutCentred` cache.
+     */
+    private static final class LayoutKey {
+        private final String text;
+        private final int wrapWidth;
+        private final int width;
+
+        private LayoutKey(final String text, final int wrapWidth, final int width) {
+            this.text = text;
+            this.wrapWidth = wrapWidth;
+            this.width = width;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof LayoutKey)) {
+                return false;
+            }
+
+            final LayoutKey other = (LayoutKey) o;
+            return this.wrapWidth == other.wrapWidth && this.width == other.width && this.text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.text.hashCode() * 31 + this.wrapWidth) * 31 + this.width;
+        }
+    }
 }
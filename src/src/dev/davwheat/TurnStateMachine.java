@@ -0,0 +1,389 @@
+package dev.davwheat;
+
+import dev.davwheat.analysis.BankruptcyRisk;
+import dev.davwheat.enums.BoardSpaceType;
+import dev.davwheat.enums.Color;
+import dev.davwheat.enums.DecisionType;
+import dev.davwheat.enums.TurnState;
+import dev.davwheat.exceptions.AnimalAlreadyOwnedException;
+import dev.davwheat.exceptions.AnimalNotOwnedException;
+import dev.davwheat.exceptions.AnimalUpgradeNotAllowedException;
+import dev.davwheat.exceptions.InsufficientBalanceException;
+
+import javax.naming.NoPermissionException;
+
+/**
+ * Runs the turns of a Game one step at a time.
+ * <p>
+ * `advance()` runs steps until the turn needs a decision, then returns straight away
+ * rather than waiting for it. Once `submitDecision()` is called with an answer, the turn
+ * carries on from where it stopped. This means games waiting for a decision don't
+ * need a thread each.
+ */
+class TurnStateMachine {
+    /**
+     * The Game whose turns are being run.
+     */
+    private final Game gameInstance;
+
+    /**
+     * The step that will run next.
+     */
+    private TurnState state = TurnState.START_TURN;
+
+    /**
+     * The decision being waited for, or null if the turn can carry on.
+     */
+    private PendingDecision pendingDecision;
+
+    /**
+     * The last decision answered.
+     */
+    private PendingDecision answeredDecision;
+
+    /**
+     * The answer to the last decision.
+     */
+    private int choice;
+
+    /**
+     * Whether the dice rolled this turn were a double.
+     */
+    private boolean rolledDouble;
+
+    /**
+     * Whether the player went past Start while moving this turn.
+     */
+    private boolean passedStart;
+
+    /**
+     * The Animal the player landed on this turn, or null if they didn't land on one.
+     */
+    private Animal landedAnimal;
+
+    /**
+     * The Chance card drawn this turn, or null if one hasn't been drawn.
+     */
+    private Card drawnCard;
+
+    /**
+     * Each player's chance of going bankrupt soon, shown at the start of their turn.
+     * Only created once something is printed, as quiet games don't need it.
+     */
+    private BankruptcyRisk bankruptcyRisk;
+
+    /**
+     * Create a new instance of TurnStateMachine.
+     *
+     * @param gameInstance The Game whose turns are being run
+     */
+    TurnStateMachine(final Game gameInstance) {
+        this.gameInstance = gameInstance;
+    }
+
+    /**
+     * Gets the step that will run next.
+     *
+     * @return the turn state
+     */
+    TurnState getState() {
+        return this.state;
+    }
+
+    /**
+     * Gets the decision being waited for.
+     *
+     * @return the decision, or null if there isn't one
+     */
+    PendingDecision getPendingDecision() {
+        return this.pendingDecision;
+    }
+
+    /**
+     * Forgets the turn in progress, so the next step starts a new turn.
+     * <p>
+     * Used when the Game's state is replaced between turns.
+     */
+    void reset() {
+        this.state = TurnState.START_TURN;
+        this.pendingDecision = null;
+        this.answeredDecision = null;
+    }
+
+    /**
+     * Runs steps until a decision is needed or the game is over.
+     *
+     * @return The decision being waited for, or null if the game is over
+     */
+    PendingDecision advance() {
+        while (this.pendingDecision == null && this.state != TurnState.GAME_OVER) {
+            this.step();
+        }
+
+        return this.pendingDecision;
+    }
+
+    /**
+     * Answers the decision being waited for. Call `advance()` afterwards to carry on with the turn.
+     *
+     * @param choice The answer (see `DecisionType`)
+     */
+    void submitDecision(final int choice) {
+        if (this.pendingDecision == null) {
+            throw new IllegalStateException("There is no decision waiting for an answer.");
+        }
+
+        if (!this.pendingDecision.isValidChoice(choice)) {
+            throw new IllegalArgumentException("Choice " + choice + " is not valid for " + this.pendingDecision.type + ".");
+        }
+
+        this.answeredDecision = this.pendingDecision;
+        this.choice = choice;
+        this.pendingDecision = null;
+    }
+
+    /**
+     * Waits for a decision, then moves on to another state once it's answered.
+     *
+     * @param decision  Decision to wait for
+     * @param nextState State which uses the answer
+     */
+    private void await(final PendingDecision decision, final TurnState nextState) {
+        this.gameInstance.getRenderer().flush();
+        this.pendingDecision = decision;
+        this.state = nextState;
+    }
+
+    /**
+     * Runs the current step.
+     */
+    private void step() {
+        final Player player = this.gameInstance.getActivePlayer();
+        final Renderer renderer = this.gameInstance.getRenderer();
+
+        switch (this.state) {
+            case START_TURN -> {
+                if (!this.gameInstance.startNextTurn()) {
+                    this.gameInstance.gameBoardInstance.finishPrinting();
+                    renderer.flush();
+                    this.state = TurnState.GAME_OVER;
+                    return;
+                }
+
+                this.landedAnimal = null;
+                this.drawnCard = null;
+
+                // If they're missing this turn, then just stop here.
+                if (player.takeMissedTurn()) {
+                    renderer.print("\n\nPlayer ").print(player.playerId + 1).print(" (").print(player.playerName).println(") is missing their turn.");
+                    this.state = TurnState.END_TURN;
+                    return;
+                }
+
+                renderer.print(Color.RESET).print(Color.WHITE_BOLD_BRIGHT);
+                renderer.print("\n\nPlayer ").print(player.playerId + 1).print(" (").print(player.playerName).println(") is now playing.");
+                renderer.print(Color.RESET);
+                renderer.print(player.playerName).print(" has ").printMoney(Color.GREEN_BOLD_BRIGHT, player.getBankBalance()).println(" available.");
+                this.printBankruptcyRisk(player, renderer);
+
+                this.gameInstance.gameBoardInstance.printCurrentBoard();
+
+                renderer.println("Press ENTER to roll the dice.");
+                this.await(new PendingDecision(DecisionType.CONTINUE, player, null, null), TurnState.ROLL);
+            }
+            case ROLL -> {
+                renderer.println("... ROLLING ...");
+                final Dice dice = this.gameInstance.getDice().rollAllDice();
+
+                renderer.print("You rolled ").print(dice.getOneRoll(1)).print(" and ").print(dice.getOneRoll(2)).print(" for a total of ").print(dice.getTotalRoll()).println(".").println();
+
+                this.rolledDouble = dice.isDouble();
+                this.state = TurnState.MOVE;
+            }
+            case MOVE -> {
+                final int beforePos = player.getCurrentSpaceIndex();
+                player.movePlayer(this.gameInstance.getDice().getTotalRoll());
+
+                this.passedStart = beforePos > player.getCurrentSpaceIndex();
+                this.state = TurnState.RESOLVE_SPACE;
+            }
+            case RESOLVE_SPACE -> this.resolveSpace(player, renderer);
+            case BUY_ANIMAL -> {
+                if (this.choice == 1) {
+                    try {
+                        this.landedAnimal.purchase(player);
+                        renderer.print(Color.BLUE_BOLD).print("You now own ").print(this.landedAnimal.displayName).print("! New balance: ").printMoney(player.getBankBalance()).print(Color.RESET).println();
+                    } catch (final AnimalAlreadyOwnedException e) {
+                        e.printStackTrace();
+                    } catch (final InsufficientBalanceException e) {
+                        renderer.println("You can't afford to pay for this Animal.");
+                    }
+                }
+
+                this.state = TurnState.OFFER_CHANCE;
+            }
+            case PAY_RENT -> {
+                try {
+                    this.landedAnimal.payForStop(player);
+                } catch (InsufficientBalanceException e) {
+                    renderer.println("You can't afford to pay for this stop. You're out!");
+                    player.declareBankruptcy();
+                    this.state = TurnState.END_TURN;
+                    return;
+                }
+
+                renderer.print("Your new balance is ").printMoney(Color.GREEN_BOLD_BRIGHT, player.getBankBalance()).println(".");
+                this.state = TurnState.OFFER_CHANCE;
+            }
+            case OFFER_CHANCE -> {
+                if (this.rolledDouble) {
+                    this.await(new PendingDecision(DecisionType.TAKE_CHANCE_CARD, player, null, null), TurnState.DRAW_CHANCE);
+                } else {
+                    this.state = TurnState.UPGRADE_MENU;
+                }
+            }
+            case DRAW_CHANCE -> {
+                if (this.choice != 1) {
+                    this.state = TurnState.UPGRADE_MENU;
+                    return;
+                }
+
+                // Pick up chance card
+                this.drawnCard = this.gameInstance.cardDeck.takeCard();
+                this.drawnCard.printCard(renderer);
+                renderer.println("\nPress ENTER to continue.");
+                this.await(new PendingDecision(DecisionType.CONTINUE, player, null, null), TurnState.APPLY_CHANCE);
+            }
+            case APPLY_CHANCE -> {
+                // Take the action
+                try {
+                    this.drawnCard.takeAction(player);
+                } catch (InsufficientBalanceException e) {
+                    renderer.println("You can't afford to pay what this card requires. You're out!");
+                    player.declareBankruptcy();
+                    this.state = TurnState.END_TURN;
+                    return;
+                }
+
+                renderer.print("Your new balance is ").printMoney(Color.GREEN_BOLD_BRIGHT, player.getBankBalance()).println(".");
+                this.state = TurnState.UPGRADE_MENU;
+            }
+            case UPGRADE_MENU -> this.await(new PendingDecision(DecisionType.UPGRADE_ANIMAL, player, null, this.gameInstance.gameBoardInstance.getOwnedAnimals(player)), TurnState.UPGRADE);
+            case UPGRADE -> {
+                if (this.choice == 0) {
+                    this.state = TurnState.END_TURN;
+                    return;
+                }
+
+                this.upgradeAnimal(player, renderer, this.answeredDecision.upgradeOptions.get(this.choice - 1));
+                this.state = TurnState.UPGRADE_MENU;
+            }
+            case END_TURN -> {
+                // This should never error... hopefully...
+                try {
+                    this.gameInstance.endTurn(player);
+                } catch (final NoPermissionException ignored) {
+                }
+
+                renderer.flush();
+                this.state = TurnState.START_TURN;
+            }
+            case GAME_OVER -> {
+            }
+        }
+    }
+
+    /**
+     * Prints the player's chance of going bankrupt within the next few turns.
+     *
+     * @param player   Active player
+     * @param renderer Where to print
+     */
+    private void printBankruptcyRisk(final Player player, final Renderer renderer) {
+        if (renderer.isQuiet()) {
+            return;
+        }
+
+        if (this.bankruptcyRisk == null) {
+            this.bankruptcyRisk = new BankruptcyRisk(this.gameInstance);
+        }
+
+        renderer.printf("Chance of going bankrupt in the next %d turns: %.1f%%\n", this.bankruptcyRisk.getTurns(), this.bankruptcyRisk.getRisk(player) * 100);
+    }
+
+    /**
+     * Pays out for passing Start, then deals with the space the player landed on.
+     *
+     * @param player   Active player
+     * @param renderer Where to print
+     */
+    private void resolveSpace(final Player player, final Renderer renderer) {
+        final BoardSpace currentSpace = player.getBoardSpaceAtPlayerPosition();
+
+        if (this.passedStart) {
+            final boolean landedOnStart = currentSpace.type == BoardSpaceType.START;
+            renderer.println(landedOnStart ? "You landed on Start! Collect £1000" : "You just passed Start! Collect £500");
+
+            try {
+                player.adjustBankBalance(landedOnStart ? GameBoard.LAND_ON_START_REWARD : GameBoard.PASS_START_REWARD);
+            } catch (InsufficientBalanceException e) {
+                e.printStackTrace();
+            }
+        }
+
+        this.state = TurnState.OFFER_CHANCE;
+
+        if (currentSpace.type == BoardSpaceType.ANIMAL) {
+            renderer.print("You landed on \"").print(currentSpace.displayName).println("\".");
+
+            final Animal animalSpace = (Animal) currentSpace;
+            this.landedAnimal = animalSpace;
+            animalSpace.printCard(renderer, this.gameInstance.gameBoardInstance);
+            renderer.println();
+
+            final Player owner = animalSpace.getOwner(this.gameInstance.gameBoardInstance);
+
+            if (owner == null) {
+                // Animal is not owned, so offer to buy it
+                this.await(new PendingDecision(DecisionType.PURCHASE_ANIMAL, player, animalSpace, null), TurnState.BUY_ANIMAL);
+            } else if (animalSpace.isOwnedBy(player)) {
+                // This is their own property!
+                renderer.printColored(Color.BLUE_BOLD, "You own this animal, so stopping here is free.").println();
+            } else {
+                final long stopCost = animalSpace.getStopCost(player);
+
+                renderer.print(animalSpace.displayName).print(" is owned by ").print(owner.playerName).print(", so you need to ");
+                renderer.print(Color.RED_BOLD_BRIGHT).print("pay them ").printMoney(stopCost).print(Color.RESET).println(".");
+                renderer.println("Press ENTER to continue.");
+                this.await(new PendingDecision(DecisionType.CONTINUE, player, null, null), TurnState.PAY_RENT);
+            }
+        } else if (currentSpace.type == BoardSpaceType.MISS_NEXT_TURN) {
+            renderer.println("You landed on \"Miss next turn\".");
+        }
+    }
+
+    /**
+     * Upgrades one of the player's Animals, printing the outcome.
+     *
+     * @param player   Active player
+     * @param renderer Where to print
+     * @param animal   Animal to upgrade
+     */
+    private void upgradeAnimal(final Player player, final Renderer renderer, final Animal animal) {
+        if (!animal.isUpgradable(player)) {
+            renderer.print('"').print(animal.displayName).println("\" is not upgradable.");
+            return;
+        }
+
+        try {
+            animal.upgrade(player);
+            renderer.print('"').print(animal.displayName).print("\" has been upgraded to level ").print(animal.getCurrentLevel(this.gameInstance.gameBoardInstance).value).println("!");
+            renderer.print("Your new balance is ").printMoney(Color.GREEN_BOLD_BRIGHT, player.getBankBalance()).println(".");
+        } catch (AnimalNotOwnedException | NoPermissionException | AnimalUpgradeNotAllowedException e) {
+            e.printStackTrace();
+        } catch (InsufficientBalanceException e) {
+            renderer.printColored(Color.RED_BOLD_BRIGHT, "You don't have enough money to upgrade this.").println();
+            renderer.print("Your balance is ").printMoney(Color.GREEN_BOLD_BRIGHT, player.getBankBalance()).println(".");
+        }
+    }
+}
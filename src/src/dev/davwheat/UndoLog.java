@@ -0,0 +1,331 @@
+package dev.davwheat;
+
+import dev.davwheat.enums.AnimalLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Records how to undo every change made to a Game, so that moves can be tried out and taken back.
+ * <p>
+ * Once a Game's undo log has been started with `Game.startUndoLog()`, every change to a
+ * player, the board, the Deck or the turn order adds an entry holding the old value.
+ * Take a `mark()`, make some moves (such as `Animal.purchase()` or `Player.movePlayer()`),
+ * then `undoTo()` the mark to put everything back exactly as it was, without copying
+ * the whole game.
+ * <p>
+ * Entries are kept in primitive arrays, so recording a change doesn't create any objects.
+ * The dice and any turn in progress aren't recorded, so moves should be made directly
+ * rather than by playing turns.
+ */
+public class UndoLog {
+    /**
+     * Entry holding a player's old board space index.
+     */
+    private static final byte PLAYER_POSITION = 0;
+
+    /**
+     * Entry holding a player's old bank balance.
+     */
+    private static final byte PLAYER_BALANCE = 1;
+
+    /**
+     * Entry holding whether a player was going to miss their next turn.
+     */
+    private static final byte PLAYER_MISS_TURN = 2;
+
+    /**
+     * Entry for a player going bankrupt.
+     */
+    private static final byte PLAYER_BANKRUPT = 3;
+
+    /**
+     * Entry for a player being taken out of the turn order.
+     */
+    private static final byte TURN_ORDER = 4;
+
+    /**
+     * Entry holding a board space's old owner.
+     */
+    private static final byte SPACE_OWNER = 5;
+
+    /**
+     * Entry holding a board space's old level.
+     */
+    private static final byte SPACE_LEVEL = 6;
+
+    /**
+     * Entry holding the Deck's old top card index.
+     */
+    private static final byte DECK_CURSOR = 7;
+
+    /**
+     * Entry holding the order of the cards before the Deck was shuffled.
+     */
+    private static final byte DECK_ORDER = 8;
+
+    /**
+     * Entry holding the old active player.
+     */
+    private static final byte ACTIVE_SEAT = 9;
+
+    /**
+     * Entry holding the old turn count.
+     */
+    private static final byte TURN_COUNT = 10;
+
+    /**
+     * The Game whose changes are recorded.
+     */
+    private final Game gameInstance;
+
+    /**
+     * Kind of each entry.
+     */
+    private byte[] kinds = new byte[256];
+
+    /**
+     * What each entry changed (a `playerId` or board space index), if anything.
+     */
+    private int[] targets = new int[256];
+
+    /**
+     * The old value for each entry.
+     */
+    private long[] values = new long[256];
+
+    /**
+     * Number of entries.
+     */
+    private int size;
+
+    /**
+     * Old card orders for `DECK_ORDER` entries. These are only needed if the Deck reshuffles itself.
+     */
+    private final ArrayList<Card[]> deckOrders = new ArrayList<>();
+
+    /**
+     * Whether changes are being undone, so they shouldn't be recorded.
+     */
+    private boolean isUndoing;
+
+    /**
+     * Create a new instance of UndoLog.
+     *
+     * @param gameInstance The Game whose changes are recorded
+     */
+    UndoLog(final Game gameInstance) {
+        this.gameInstance = gameInstance;
+    }
+
+    /**
+     * Gets a mark which can be undone back to.
+     *
+     * @return The number of entries so far
+     */
+    public int mark() {
+        return this.size;
+    }
+
+    /**
+     * Gets the number of entries recorded.
+     *
+     * @return size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Forgets every entry, keeping all the changes made so far.
+     */
+    public void clear() {
+        this.size = 0;
+        this.deckOrders.clear();
+    }
+
+    /**
+     * Undoes every change made since a mark, newest first.
+     *
+     * @param mark A mark from `mark()`
+     */
+    public void undoTo(final int mark) {
+        if (mark < 0 || mark > this.size) {
+            throw new IllegalArgumentException("mark must be between 0 and " + this.size + ".");
+        }
+
+        this.isUndoing = true;
+
+        try {
+            while (this.size > mark) {
+                this.size--;
+                this.undo(this.kinds[this.size], this.targets[this.size], this.values[this.size]);
+            }
+        } finally {
+            this.isUndoing = false;
+        }
+    }
+
+    /**
+     * Undoes every change recorded.
+     */
+    public void undoAll() {
+        this.undoTo(0);
+    }
+
+    /**
+     * Undoes one entry.
+     *
+     * @param kind   Kind of entry
+     * @param target `playerId` or board space index
+     * @param value  The old value
+     */
+    private void undo(final byte kind, final int target, final long value) {
+        final Game game = this.gameInstance;
+
+        switch (kind) {
+            case UndoLog.PLAYER_POSITION -> game.getPlayers().get(target).setSpaceIndex((int) value);
+            case UndoLog.PLAYER_BALANCE -> game.getPlayers().get(target).setBankBalance(value);
+            case UndoLog.PLAYER_MISS_TURN -> game.getPlayers().get(target).setWillMissNextTurn(value != 0);
+            case UndoLog.PLAYER_BANKRUPT -> game.getPlayers().get(target).setBankrupt(value != 0);
+            case UndoLog.TURN_ORDER -> game.returnToTurnOrder(game.getPlayers().get(target));
+            case UndoLog.SPACE_OWNER -> game.gameBoardInstance.setOwner((Animal) game.gameBoardInstance.getBoardSpaceAtPosition(target), value < 0 ? null : game.getPlayers().get((int) value));
+            case UndoLog.SPACE_LEVEL -> game.gameBoardInstance.setLevel((Animal) game.gameBoardInstance.getBoardSpaceAtPosition(target), AnimalLevel.fromNumberValue((int) value));
+            case UndoLog.DECK_CURSOR -> game.cardDeck.setTopCardIndex((int) value);
+            case UndoLog.DECK_ORDER -> game.cardDeck.setCardOrder(this.deckOrders.remove(this.deckOrders.size() - 1));
+            case UndoLog.ACTIVE_SEAT -> game.setActivePlayer(game.getPlayers().get(target));
+            case UndoLog.TURN_COUNT -> game.setTurnCount((int) value);
+            default -> throw new IllegalStateException("Unknown undo log entry " + kind + ".");
+        }
+    }
+
+    /**
+     * Adds an entry, unless changes are being undone.
+     *
+     * @param kind   Kind of entry
+     * @param target `playerId` or board space index
+     * @param value  The old value
+     */
+    private void push(final byte kind, final int target, final long value) {
+        if (this.isUndoing) {
+            return;
+        }
+
+        if (this.size == this.kinds.length) {
+            final int capacity = this.size * 2;
+
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.targets = Arrays.copyOf(this.targets, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        this.kinds[this.size] = kind;
+        this.targets[this.size] = target;
+        this.values[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * Records a player's board space index before it changes.
+     *
+     * @param player The player
+     */
+    void recordPosition(final Player player) {
+        this.push(UndoLog.PLAYER_POSITION, player.playerId, player.getCurrentSpaceIndex());
+    }
+
+    /**
+     * Records a player's bank balance before it changes.
+     *
+     * @param player The player
+     */
+    void recordBalance(final Player player) {
+        this.push(UndoLog.PLAYER_BALANCE, player.playerId, player.getBankBalance());
+    }
+
+    /**
+     * Records whether a player will miss their next turn before it changes.
+     *
+     * @param player The player
+     */
+    void recordMissTurn(final Player player) {
+        this.push(UndoLog.PLAYER_MISS_TURN, player.playerId, player.willMissNextTurn() ? 1 : 0);
+    }
+
+    /**
+     * Records whether a player has lost before it changes.
+     *
+     * @param player The player
+     */
+    void recordBankrupt(final Player player) {
+        this.push(UndoLog.PLAYER_BANKRUPT, player.playerId, player.hasLost() ? 1 : 0);
+    }
+
+    /**
+     * Records a player being taken out of the turn order.
+     *
+     * @param player The player
+     */
+    void recordRemovedFromTurnOrder(final Player player) {
+        this.push(UndoLog.TURN_ORDER, player.playerId, 0);
+    }
+
+    /**
+     * Records a board space's owner before it changes.
+     *
+     * @param index   Board space index
+     * @param ownerId `playerId` of the owner, or -1 if it isn't owned
+     */
+    void recordOwner(final int index, final int ownerId) {
+        this.push(UndoLog.SPACE_OWNER, index, ownerId);
+    }
+
+    /**
+     * Records a board space's level before it changes.
+     *
+     * @param index Board space index
+     * @param level The level
+     */
+    void recordLevel(final int index, final int level) {
+        this.push(UndoLog.SPACE_LEVEL, index, level);
+    }
+
+    /**
+     * Records the Deck's top card index before it changes.
+     *
+     * @param topCardIndex Index of the top card
+     */
+    void recordDeckCursor(final int topCardIndex) {
+        this.push(UndoLog.DECK_CURSOR, 0, topCardIndex);
+    }
+
+    /**
+     * Records the order of the Deck's cards before it's shuffled.
+     *
+     * @param cards A copy of the cards, in order
+     */
+    void recordDeckOrder(final Card[] cards) {
+        if (!this.isUndoing) {
+            this.deckOrders.add(cards);
+            this.push(UndoLog.DECK_ORDER, 0, 0);
+        }
+    }
+
+    /**
+     * Records the active player before they change.
+     *
+     * @param player The active player
+     */
+    void recordActivePlayer(final Player player) {
+        this.push(UndoLog.ACTIVE_SEAT, player.playerId, 0);
+    }
+
+    /**
+     * Records the turn count before it changes.
+     *
+     * @param turnCount The turn count
+     */
+    void recordTurnCount(final int turnCount) {
+        this.push(UndoLog.TURN_COUNT, 0, turnCount);
+    }
+}
@@ -0,0 +1,252 @@
+package dev.davwheat;
+
+/**
+ * Zobrist hashing for the state of a Game, so identical states can be spotted without comparing them.
+ * <p>
+ * Every feature of the state (such as "player 2 is on space 7", or "the Monkey is at level 3")
+ * has its own random 64-bit key, and the hash of a state is all of its features' keys XORed
+ * together. As XOR undoes itself, changing one feature only needs two XORs: one to take the
+ * old key out, and one to put the new key in. Games keep their hash up to date this way (see
+ * `Game.getStateHash()`), so it costs nothing extra to read.
+ * <p>
+ * The hash covers each player's position, balance (to the nearest `BALANCE_BUCKET`), and
+ * whether they'll miss their next turn or have lost, then each board space's owner and level,
+ * the Deck's top card index, and the active player. It doesn't cover the turn count, so the
+ * same position reached by different moves has the same hash.
+ * <p>
+ * Keys are worked out from the feature with a mixing function, rather than kept in tables,
+ * so any number of players and cards can be hashed. They're the same in every run.
+ */
+public final class ZobristHash {
+    /**
+     * Balances are hashed by which bucket of this size (in pence) they fall into,
+     * so players with nearly the same balance count as the same state.
+     */
+    public static final long BALANCE_BUCKET = Money.fromPounds(50);
+
+    /**
+     * Balances above this many buckets are all hashed as the last bucket.
+     */
+    private static final long MAX_BALANCE_BUCKET = 255;
+
+    /**
+     * Kind of feature for a player's position.
+     */
+    private static final long POSITION = 1;
+
+    /**
+     * Kind of feature for a player's balance bucket.
+     */
+    private static final long BALANCE = 2;
+
+    /**
+     * Kind of feature for a player missing their next turn.
+     */
+    private static final long MISS_TURN = 3;
+
+    /**
+     * Kind of feature for a player having lost.
+     */
+    private static final long LOST = 4;
+
+    /**
+     * Kind of feature for a board space's owner.
+     */
+    private static final long OWNER = 5;
+
+    /**
+     * Kind of feature for a board space's level.
+     */
+    private static final long LEVEL = 6;
+
+    /**
+     * Kind of feature for the Deck's top card index.
+     */
+    private static final long DECK_CURSOR = 7;
+
+    /**
+     * Kind of feature for the active player.
+     */
+    private static final long ACTIVE_SEAT = 8;
+
+    /**
+     * This class only has static methods.
+     */
+    private ZobristHash() {
+    }
+
+    /**
+     * Works out the hash of a Game from scratch.
+     *
+     * @param game The game
+     * @return the hash
+     */
+    public static long hashOf(final Game game) {
+        long hash = 0;
+
+        for (final Player player : game.getPlayers()) {
+            hash ^= ZobristHash.playerKey(player.playerId, player.getCurrentSpaceIndex(), player.getBankBalance(), player.willMissNextTurn(), player.hasLost());
+        }
+
+        final GameBoard board = game.gameBoardInstance;
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            hash ^= ZobristHash.ownerKey(index, board.getOwnerId(index)) ^ ZobristHash.levelKey(index, board.getLevel(index).value);
+        }
+
+        return hash ^ ZobristHash.deckCursorKey(game.cardDeck.getTopCardIndex()) ^ ZobristHash.activeSeatKey(game.getActivePlayer().playerId);
+    }
+
+    /**
+     * Works out the hash of a GameState from scratch.
+     * <p>
+     * This is the same as the hash of a Game in that state.
+     *
+     * @param state The state
+     * @return the hash
+     */
+    public static long hashOf(final GameState state) {
+        long hash = 0;
+
+        for (int seat = 0; seat < state.getPlayerCount(); seat++) {
+            hash ^= ZobristHash.playerKey(seat, state.getPosition(seat), state.getBalance(seat), state.willMissNextTurn(seat), state.hasLost(seat));
+        }
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            hash ^= ZobristHash.ownerKey(index, state.getOwner(index)) ^ ZobristHash.levelKey(index, state.getLevel(index));
+        }
+
+        return hash ^ ZobristHash.deckCursorKey(state.getDeckCursor()) ^ ZobristHash.activeSeatKey(state.getActiveSeat());
+    }
+
+    /**
+     * Gets the combined key for everything about one player.
+     *
+     * @param seat             `playerId` of the player
+     * @param index            Board space index
+     * @param balance          Bank balance in pence
+     * @param willMissNextTurn Whether they'll miss their next turn
+     * @param hasLost          Whether they've lost
+     * @return the key
+     */
+    private static long playerKey(final int seat, final int index, final long balance, final boolean willMissNextTurn, final boolean hasLost) {
+        long key = ZobristHash.positionKey(seat, index) ^ ZobristHash.balanceKey(seat, balance);
+
+        if (willMissNextTurn) key ^= ZobristHash.missTurnKey(seat);
+        if (hasLost) key ^= ZobristHash.lostKey(seat);
+
+        return key;
+    }
+
+    /**
+     * Gets the key for a player being on a board space.
+     *
+     * @param seat  `playerId` of the player
+     * @param index Board space index
+     * @return the key
+     */
+    static long positionKey(final int seat, final int index) {
+        return ZobristHash.key(ZobristHash.POSITION, seat, index);
+    }
+
+    /**
+     * Gets the key for a player's balance.
+     *
+     * @param seat    `playerId` of the player
+     * @param balance Bank balance in pence
+     * @return the key
+     */
+    static long balanceKey(final int seat, final long balance) {
+        return ZobristHash.key(ZobristHash.BALANCE, seat, ZobristHash.balanceBucket(balance));
+    }
+
+    /**
+     * Gets the bucket a balance is hashed by.
+     *
+     * @param balance Bank balance in pence
+     * @return the bucket
+     */
+    static long balanceBucket(final long balance) {
+        return Math.min(Math.max(0, balance / ZobristHash.BALANCE_BUCKET), ZobristHash.MAX_BALANCE_BUCKET);
+    }
+
+    /**
+     * Gets the key for a player missing their next turn.
+     *
+     * @param seat `playerId` of the player
+     * @return the key
+     */
+    static long missTurnKey(final int seat) {
+        return ZobristHash.key(ZobristHash.MISS_TURN, seat, 0);
+    }
+
+    /**
+     * Gets the key for a player having lost.
+     *
+     * @param seat `playerId` of the player
+     * @return the key
+     */
+    static long lostKey(final int seat) {
+        return ZobristHash.key(ZobristHash.LOST, seat, 0);
+    }
+
+    /**
+     * Gets the key for a board space's owner.
+     *
+     * @param index   Board space index
+     * @param ownerId `playerId` of the owner, or -1 if it isn't owned
+     * @return the key, which is 0 if it isn't owned
+     */
+    static long ownerKey(final int index, final int ownerId) {
+        return ownerId < 0 ? 0 : ZobristHash.key(ZobristHash.OWNER, index, ownerId);
+    }
+
+    /**
+     * Gets the key for a board space's level.
+     *
+     * @param index Board space index
+     * @param level The level
+     * @return the key, which is 0 at level 0
+     */
+    static long levelKey(final int index, final int level) {
+        return level == 0 ? 0 : ZobristHash.key(ZobristHash.LEVEL, index, level);
+    }
+
+    /**
+     * Gets the key for the Deck's top card index.
+     *
+     * @param topCardIndex Index of the top card
+     * @return the key
+     */
+    static long deckCursorKey(final int topCardIndex) {
+        return ZobristHash.key(ZobristHash.DECK_CURSOR, 0, topCardIndex);
+    }
+
+    /**
+     * Gets the key for the active player.
+     *
+     * @param seat `playerId` of the player
+     * @return the key
+     */
+    static long activeSeatKey(final int seat) {
+        return ZobristHash.key(ZobristHash.ACTIVE_SEAT, seat, 0);
+    }
+
+    /**
+     * Gets the random key for a feature, by mixing its kind and values together.
+     * <p>
+     * This is the SplitMix64 mixing function, which gives every input a different,
+     * well spread out output.
+     *
+     * @param kind   Kind of feature
+     * @param first  First value (a `playerId` or board space index)
+     * @param second Second value
+     * @return the key
+     */
+    private static long key(final long kind, final long first, final long second) {
+        long z = (kind << 56 ^ first << 32 ^ second) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,410 @@
+package dev.davwheat.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Card;
+import dev.davwheat.Deck;
+import dev.davwheat.Game;
+import dev.davwheat.GameBoard;
+import dev.davwheat.Player;
+import dev.davwheat.enums.AnimalLevel;
+import dev.davwheat.enums.BoardSpaceType;
+
+import java.util.Arrays;
+
+/**
+ * Each player's chance of going bankrupt within their next few turns, worked out exactly from the board.
+ * <p>
+ * A player goes bankrupt when they can't afford the rent on an Animal they land on, or what a
+ * Chance card asks them to pay. Their chance of that happening depends on where they are, their
+ * balance, whether they'll miss their next turn, and the rent on every Animal owned by someone
+ * else. This works it out by dynamic programming over those states, one turn at a time, with
+ * the two dice and a Chance card on every double, drawn at random from the Deck. Balances are
+ * counted in the largest unit every amount is a multiple of (£1 for the standard board), so
+ * this is exact for the model.
+ * <p>
+ * The model doesn't include anything the player chooses (buying and upgrading can't bankrupt
+ * anyone, as they're refused when the player can't afford them), or the rent other players
+ * pay them, so the risk it gives is slightly higher than the real one. It also assumes nobody
+ * buys or upgrades anything in the meantime.
+ * <p>
+ * Each player's table covers every position and balance, so looking up their risk after
+ * a move is just an index into it. The table is only worked out again when the rent they
+ * could be charged changes, which is after a purchase or upgrade by another player, and
+ * players who could be charged the same rent share one. A table only goes up to the balance
+ * which the most they could lose each turn can't use up in time, so it stays small until
+ * the rents go up. This isn't thread-safe, so each Game should have its own.
+ */
+public final class BankruptcyRisk {
+    /**
+     * Number of turns looked ahead by default.
+     */
+    public static final int DEFAULT_TURNS = 5;
+
+    /**
+     * Number of states for each balance: one for each board space, twice over for whether the next turn is missed.
+     */
+    private static final int STATE_COUNT = GameBoard.SPACE_COUNT * 2;
+
+    /**
+     * The game whose players are being looked at.
+     */
+    private final Game game;
+
+    /**
+     * Number of turns looked ahead.
+     */
+    private final int turns;
+
+    /**
+     * Amount in pence every cost, reward and Chance card is a multiple of, which balances are counted in.
+     */
+    private final long unit;
+
+    /**
+     * Biggest amount a Chance card can take from a player, in units.
+     */
+    private final int maxCardLoss;
+
+    /**
+     * Balance change of each Chance card, in units.
+     */
+    private final int[] cardChanges;
+
+    /**
+     * Whether each Chance card makes the player miss their next turn.
+     */
+    private final boolean[] cardMisses;
+
+    /**
+     * For each board space, and each way the dice can move a player from it without a double:
+     * where they land, then the reward for passing Start in units, then how many of the 36 rolls do it.
+     */
+    private final int[][] singleMoves = new int[GameBoard.SPACE_COUNT][];
+
+    /**
+     * For each board space, and each double: where the player lands, then the reward for passing Start in units.
+     */
+    private final int[][] doubleMoves = new int[GameBoard.SPACE_COUNT][];
+
+    /**
+     * Rent each player's table was worked out with, in units by board space index. Indexed by `playerId`.
+     */
+    private final int[][] rents;
+
+    /**
+     * Chance of going bankrupt in time for each player, indexed by `playerId`, then `state * balances + balance`, where `balances` comes from `findRents()`.
+     */
+    private final double[][] tables;
+
+    /**
+     * Rent the player being looked up could be charged now, in units by board space index.
+     */
+    private final int[] currentRents = new int[GameBoard.SPACE_COUNT];
+
+    /**
+     * Create a new instance of BankruptcyRisk.
+     *
+     * @param game  The game whose players to look at
+     * @param turns Number of turns to look ahead
+     */
+    public BankruptcyRisk(final Game game, final int turns) {
+        if (game == null) {
+            throw new NullPointerException("game must be a valid instance of Game, and not null.");
+        }
+
+        if (turns < 1) {
+            throw new IllegalArgumentException("turns must be at least 1.");
+        }
+
+        this.game = game;
+        this.turns = turns;
+
+        final Deck deck = game.cardDeck;
+        long unit = BankruptcyRisk.gcd(GameBoard.PASS_START_REWARD, GameBoard.LAND_ON_START_REWARD);
+        long maxCardLoss = 0;
+
+        for (final Animal animal : LandingProbabilities.getAnimals()) {
+            for (final AnimalLevel level : AnimalLevel.values()) {
+                unit = BankruptcyRisk.gcd(unit, animal.getStopCostAtLevel(level));
+            }
+        }
+
+        for (int i = 0; i < deck.getCardCount(); i++) {
+            unit = BankruptcyRisk.gcd(unit, deck.getCard(i).balanceChange);
+            maxCardLoss = Math.max(maxCardLoss, -deck.getCard(i).balanceChange);
+        }
+
+        this.unit = unit;
+        this.maxCardLoss = Math.toIntExact(maxCardLoss / unit);
+
+        this.cardChanges = new int[deck.getCardCount()];
+        this.cardMisses = new boolean[deck.getCardCount()];
+
+        for (int i = 0; i < deck.getCardCount(); i++) {
+            final Card card = deck.getCard(i);
+            this.cardChanges[i] = Math.toIntExact(card.balanceChange / unit);
+            this.cardMisses[i] = card.missNextTurn;
+        }
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            this.buildMoves(index);
+        }
+
+        final int playerCount = game.getPlayers().size();
+        this.rents = new int[playerCount][];
+        this.tables = new double[playerCount][];
+    }
+
+    /**
+     * Create a new instance of BankruptcyRisk which looks `DEFAULT_TURNS` turns ahead.
+     *
+     * @param game The game whose players to look at
+     */
+    public BankruptcyRisk(final Game game) {
+        this(game, BankruptcyRisk.DEFAULT_TURNS);
+    }
+
+    /**
+     * Gets the greatest common divisor of two amounts, ignoring their signs.
+     *
+     * @param a First amount
+     * @param b Second amount
+     * @return the divisor
+     */
+    private static long gcd(final long a, final long b) {
+        return b == 0 ? Math.abs(a) : BankruptcyRisk.gcd(b, a % b);
+    }
+
+    /**
+     * Works out every way the dice can move a player from a board space, and what they're paid for passing Start.
+     *
+     * @param from Board space index
+     */
+    private void buildMoves(final int from) {
+        final int[] singleRolls = new int[GameBoard.SPACE_COUNT];
+        final int[] doubles = new int[6 * 2];
+        int singleCount = 0;
+
+        for (int d1 = 1; d1 <= 6; d1++) {
+            for (int d2 = 1; d2 <= 6; d2++) {
+                final int to = Player.getSpaceIndexAfterMove(from, d1 + d2);
+
+                if (d1 == d2) {
+                    doubles[(d1 - 1) * 2] = to;
+                    doubles[(d1 - 1) * 2 + 1] = this.startReward(from, to);
+                } else if (singleRolls[to]++ == 0) {
+                    singleCount++;
+                }
+            }
+        }
+
+        final int[] singles = new int[singleCount * 3];
+        int i = 0;
+
+        for (int to = 0; to < GameBoard.SPACE_COUNT; to++) {
+            if (singleRolls[to] > 0) {
+                singles[i++] = to;
+                singles[i++] = this.startReward(from, to);
+                singles[i++] = singleRolls[to];
+            }
+        }
+
+        this.singleMoves[from] = singles;
+        this.doubleMoves[from] = doubles;
+    }
+
+    /**
+     * Gets what a player moving between two spaces is paid for passing Start, the same way as in a game.
+     *
+     * @param from Board space index moved from
+     * @param to   Board space index moved to
+     * @return the reward in units
+     */
+    private int startReward(final int from, final int to) {
+        if (from <= to) {
+            return 0;
+        }
+
+        final long reward = GameBoard.getSpace(to).type == BoardSpaceType.START ? GameBoard.LAND_ON_START_REWARD : GameBoard.PASS_START_REWARD;
+        return Math.toIntExact(reward / this.unit);
+    }
+
+    /**
+     * Gets the number of turns looked ahead.
+     *
+     * @return turns
+     */
+    public int getTurns() {
+        return this.turns;
+    }
+
+    /**
+     * Gets a player's chance of going bankrupt within the next few turns, starting with their next one.
+     *
+     * @param player The player
+     * @return probability
+     */
+    public double getRisk(final Player player) {
+        if (player == null) {
+            throw new NullPointerException("player must be a valid instance of Player, and not null.");
+        }
+
+        if (player.getGameInstance() != this.game) {
+            throw new IllegalArgumentException("player must be in the game this is looking at.");
+        }
+
+        if (player.hasLost()) {
+            return 1;
+        }
+
+        final long balance = player.getBankBalance() / this.unit;
+        final int balances = this.findRents(player.playerId);
+
+        if (balance >= balances) {
+            return 0;
+        }
+
+        final double[] table = this.getTable(player.playerId, balances);
+        final int state = player.getCurrentSpaceIndex() * 2 + (player.willMissNextTurn() ? 1 : 0);
+        return table[state * balances + (int) balance];
+    }
+
+    /**
+     * Works out the rent a player could be charged now, into `currentRents`.
+     *
+     * @param playerId `playerId` of the player
+     * @return number of balances in their table. Nobody with a balance of this many units or more can go bankrupt in time.
+     */
+    private int findRents(final int playerId) {
+        final GameBoard board = this.game.gameBoardInstance;
+        int maxRent = 0;
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            final int ownerId = board.getOwnerId(index);
+            this.currentRents[index] = ownerId < 0 || ownerId == playerId ? 0
+                    : Math.toIntExact(((Animal) GameBoard.getSpace(index)).getStopCostAtLevel(board.getLevel(index)) / this.unit);
+            maxRent = Math.max(maxRent, this.currentRents[index]);
+        }
+
+        // Each turn can cost at most the highest rent and the biggest Chance card loss
+        return Math.toIntExact((long) this.turns * (maxRent + this.maxCardLoss) + 1);
+    }
+
+    /**
+     * Gets a player's table, working it out again if the rent they could be charged has changed.
+     * Call `findRents()` first.
+     *
+     * @param playerId `playerId` of the player
+     * @param balances Number of balances in the table
+     * @return the table
+     */
+    private double[] getTable(final int playerId, final int balances) {
+        if (this.tables[playerId] != null && Arrays.equals(this.rents[playerId], this.currentRents)) {
+            return this.tables[playerId];
+        }
+
+        // Share the table of anyone else who could be charged the same rent
+        for (int other = 0; other < this.tables.length; other++) {
+            if (other != playerId && this.tables[other] != null && Arrays.equals(this.rents[other], this.currentRents)) {
+                this.rents[playerId] = this.rents[other];
+                this.tables[playerId] = this.tables[other];
+                return this.tables[playerId];
+            }
+        }
+
+        this.rents[playerId] = this.currentRents.clone();
+        this.tables[playerId] = this.buildTable(this.rents[playerId], balances);
+        return this.tables[playerId];
+    }
+
+    /**
+     * Works out the chance of going bankrupt in time from every state and balance.
+     * <p>
+     * Each pass adds one more turn, starting from a chance of 0 with no turns left. A turn
+     * is a roll, any reward for passing Start, the rent for the space landed on, and then a
+     * Chance card if it was a double. A missed turn still uses up a turn.
+     *
+     * @param rent     Rent for each board space in units
+     * @param balances Number of balances in the table
+     * @return the table
+     */
+    private double[] buildTable(final int[] rent, final int balances) {
+        final double cardChance = this.cardChanges.length == 0 ? 0 : 1.0 / this.cardChanges.length;
+
+        double[] previous = new double[STATE_COUNT * balances];
+        double[] next = new double[STATE_COUNT * balances];
+
+        // Chance from landing on each space (before paying rent), by space then balance, for a single and a double
+        final double[] afterSingle = new double[GameBoard.SPACE_COUNT * balances];
+        final double[] afterDouble = new double[GameBoard.SPACE_COUNT * balances];
+
+        for (int turn = 0; turn < this.turns; turn++) {
+            for (int to = 0; to < GameBoard.SPACE_COUNT; to++) {
+                final int offset = to * balances;
+                final int notMissing = to * 2 * balances;
+
+                for (int b = 0; b < balances; b++) {
+                    if (b < rent[to]) {
+                        afterSingle[offset + b] = 1;
+                        afterDouble[offset + b] = 1;
+                        continue;
+                    }
+
+                    final int left = b - rent[to];
+                    afterSingle[offset + b] = previous[notMissing + left];
+
+                    double chance = 0;
+
+                    for (int card = 0; card < this.cardChanges.length; card++) {
+                        final int after = left + this.cardChanges[card];
+
+                        if (after < 0) {
+                            chance += cardChance;
+                        } else if (after < balances) {
+                            chance += cardChance * previous[(to * 2 + (this.cardMisses[card] ? 1 : 0)) * balances + after];
+                        }
+                    }
+
+                    afterDouble[offset + b] = this.cardChanges.length == 0 ? afterSingle[offset + b] : chance;
+                }
+            }
+
+            for (int from = 0; from < GameBoard.SPACE_COUNT; from++) {
+                final int[] singles = this.singleMoves[from];
+                final int[] doubles = this.doubleMoves[from];
+                final int notMissing = from * 2 * balances;
+
+                for (int b = 0; b < balances; b++) {
+                    double chance = 0;
+
+                    for (int i = 0; i < singles.length; i += 3) {
+                        final int after = b + singles[i + 1];
+
+                        if (after < balances) {
+                            chance += afterSingle[singles[i] * balances + after] * singles[i + 2];
+                        }
+                    }
+
+                    for (int i = 0; i < doubles.length; i += 2) {
+                        final int after = b + doubles[i + 1];
+
+                        if (after < balances) {
+                            chance += afterDouble[doubles[i] * balances + after];
+                        }
+                    }
+
+                    next[notMissing + b] = chance / 36;
+                }
+
+                // Missing a turn just uses it up
+                System.arraycopy(previous, notMissing, next, notMissing + balances, balances);
+            }
+
+            final double[] swap = previous;
+            previous = next;
+            next = swap;
+        }
+
+        return previous;
+    }
+}
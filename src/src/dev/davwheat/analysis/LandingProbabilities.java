@@ -0,0 +1,335 @@
+package dev.davwheat.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.BoardSpace;
+import dev.davwheat.Deck;
+import dev.davwheat.GameBoard;
+import dev.davwheat.Money;
+import dev.davwheat.Player;
+import dev.davwheat.enums.AnimalLevel;
+import dev.davwheat.enums.BoardSpaceType;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The exact long-run chance of a player landing on each board space, worked out as a Markov chain.
+ * <p>
+ * Each state of the chain is a board space, and whether the player will miss their next turn.
+ * Every turn, a player who isn't missing it rolls two dice (all 36 rolls are equally likely)
+ * and moves with `Player.getSpaceIndexAfterMove()`, so the board's wrap around is exactly the
+ * same as in a game. On a double they may take a Chance card, which makes them miss their next
+ * turn if it's one of the Deck's "miss your next turn" cards. As the Deck is worked through in
+ * order, in the long run that's the same as drawing one of those cards at random.
+ * <p>
+ * Landing on the "Miss next turn" space only prints a message in a game, so it's treated like
+ * any other space here.
+ * <p>
+ * The chain's long-run distribution is found by solving its balance equations directly, which
+ * takes well under a millisecond. Results are cached for each board and Deck configuration.
+ */
+public final class LandingProbabilities {
+    /**
+     * Number of states: one for each board space, twice over for whether the next turn is missed.
+     */
+    private static final int STATE_COUNT = GameBoard.SPACE_COUNT * 2;
+
+    /**
+     * Results already worked out, by configuration.
+     */
+    private static final Map<String, LandingProbabilities> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Chance of a turn ending with the player landing on each board space.
+     */
+    private final double[] landing = new double[GameBoard.SPACE_COUNT];
+
+    /**
+     * Chance of a turn being missed.
+     */
+    private final double missedTurn;
+
+    /**
+     * Solves the chain for a configuration.
+     *
+     * @param missTurnChance   Chance of a Chance card making the player miss their next turn
+     * @param takesChanceCards Whether players take a Chance card whenever they roll a double
+     */
+    private LandingProbabilities(final double missTurnChance, final boolean takesChanceCards) {
+        final double cardMissChance = takesChanceCards ? missTurnChance : 0;
+
+        // transitions[from][to] is the chance of going from one state to another in a turn
+        final double[][] transitions = new double[STATE_COUNT][STATE_COUNT];
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            // A missed turn just clears the flag
+            transitions[LandingProbabilities.state(index, true)][LandingProbabilities.state(index, false)] = 1;
+
+            for (int d1 = 1; d1 <= 6; d1++) {
+                for (int d2 = 1; d2 <= 6; d2++) {
+                    final int to = Player.getSpaceIndexAfterMove(index, d1 + d2);
+                    final double missChance = d1 == d2 ? cardMissChance : 0;
+
+                    transitions[LandingProbabilities.state(index, false)][LandingProbabilities.state(to, false)] += (1 - missChance) / 36;
+                    transitions[LandingProbabilities.state(index, false)][LandingProbabilities.state(to, true)] += missChance / 36;
+                }
+            }
+        }
+
+        final double[] distribution = LandingProbabilities.solveStationary(transitions);
+        double missed = 0;
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            missed += distribution[LandingProbabilities.state(index, true)];
+        }
+
+        // Every turn which isn't missed ends with a landing, so the landings come from the states without the flag
+        for (int to = 0; to < GameBoard.SPACE_COUNT; to++) {
+            double chance = 0;
+
+            for (int from = 0; from < STATE_COUNT; from++) {
+                if (from % 2 == 0) {
+                    chance += distribution[from] * (transitions[from][LandingProbabilities.state(to, false)] + transitions[from][LandingProbabilities.state(to, true)]);
+                }
+            }
+
+            this.landing[to] = chance;
+        }
+
+        this.missedTurn = missed;
+    }
+
+    /**
+     * Gets the landing probabilities for players using a Deck.
+     *
+     * @param deck             The Chance cards
+     * @param takesChanceCards Whether players take a Chance card whenever they roll a double
+     * @return the landing probabilities
+     */
+    public static LandingProbabilities create(final Deck deck, final boolean takesChanceCards) {
+        if (deck == null) {
+            throw new NullPointerException("deck must be a valid instance of Deck, and not null.");
+        }
+
+        int missTurnCards = 0;
+
+        for (int i = 0; i < deck.getCardCount(); i++) {
+            if (deck.getCard(i).missNextTurn) {
+                missTurnCards++;
+            }
+        }
+
+        return LandingProbabilities.create(missTurnCards, deck.getCardCount(), takesChanceCards);
+    }
+
+    /**
+     * Gets the landing probabilities for players using the standard Deck who always take Chance cards.
+     *
+     * @return the landing probabilities
+     */
+    public static LandingProbabilities createForBaseDeck() {
+        return LandingProbabilities.create(Deck.createBaseDeck(new SplittableRandom(0)), true);
+    }
+
+    /**
+     * Gets the landing probabilities for a Deck with some "miss your next turn" cards.
+     *
+     * @param missTurnCards    Number of cards which make the player miss their next turn
+     * @param cardCount        Number of cards in the Deck
+     * @param takesChanceCards Whether players take a Chance card whenever they roll a double
+     * @return the landing probabilities
+     */
+    public static LandingProbabilities create(final int missTurnCards, final int cardCount, final boolean takesChanceCards) {
+        if (missTurnCards < 0 || missTurnCards > cardCount) {
+            throw new IllegalArgumentException("missTurnCards must be between 0 and cardCount.");
+        }
+
+        final double missTurnChance = cardCount == 0 ? 0 : (double) missTurnCards / cardCount;
+        final String key = LandingProbabilities.describeBoard() + "|" + (takesChanceCards ? missTurnChance : 0);
+
+        return CACHE.computeIfAbsent(key, k -> new LandingProbabilities(missTurnChance, takesChanceCards));
+    }
+
+    /**
+     * Describes the board, so results for one board are never used for another.
+     *
+     * @return the description
+     */
+    private static String describeBoard() {
+        final StringBuilder sb = new StringBuilder(GameBoard.SPACE_COUNT * 2);
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            sb.append(GameBoard.getSpace(index).type.ordinal()).append(',');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Gets the index of a state.
+     *
+     * @param index            Board space index
+     * @param willMissNextTurn Whether the next turn is missed
+     * @return the state
+     */
+    private static int state(final int index, final boolean willMissNextTurn) {
+        return index * 2 + (willMissNextTurn ? 1 : 0);
+    }
+
+    /**
+     * Finds the long-run distribution of a Markov chain, by solving `pi = pi * transitions`
+     * with the chances adding up to 1, using Gaussian elimination.
+     *
+     * @param transitions Chance of going from each state to each other state
+     * @return Long-run chance of being in each state
+     */
+    static double[] solveStationary(final double[][] transitions) {
+        final int n = transitions.length;
+
+        // Row i is the balance equation for state i: sum over j of pi[j] * (transitions[j][i] - [i == j]) = 0
+        final double[][] a = new double[n][n + 1];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                a[i][j] = transitions[j][i] - (i == j ? 1 : 0);
+            }
+        }
+
+        // The equations depend on each other, so swap the last one for "everything adds up to 1"
+        for (int j = 0; j <= n; j++) {
+            a[n - 1][j] = 1;
+        }
+
+        for (int column = 0; column < n; column++) {
+            int pivot = column;
+
+            for (int row = column + 1; row < n; row++) {
+                if (Math.abs(a[row][column]) > Math.abs(a[pivot][column])) {
+                    pivot = row;
+                }
+            }
+
+            if (Math.abs(a[pivot][column]) < 1e-12) {
+                throw new IllegalStateException("The chain doesn't have a single long-run distribution.");
+            }
+
+            final double[] swap = a[pivot];
+            a[pivot] = a[column];
+            a[column] = swap;
+
+            for (int row = 0; row < n; row++) {
+                if (row != column && a[row][column] != 0) {
+                    final double factor = a[row][column] / a[column][column];
+
+                    for (int j = column; j <= n; j++) {
+                        a[row][j] -= factor * a[column][j];
+                    }
+                }
+            }
+        }
+
+        final double[] distribution = new double[n];
+
+        for (int i = 0; i < n; i++) {
+            distribution[i] = a[i][n] / a[i][i];
+        }
+
+        return distribution;
+    }
+
+    /**
+     * Gets the chance of a turn ending with the player landing on a board space.
+     *
+     * @param index Board space index
+     * @return probability
+     */
+    public double getLandingProbability(final int index) {
+        if (index < 0 || index >= GameBoard.SPACE_COUNT) {
+            throw new IllegalArgumentException("Index provided is outside allowed range (0 to " + (GameBoard.SPACE_COUNT - 1) + ").");
+        }
+
+        return this.landing[index];
+    }
+
+    /**
+     * Gets the chance of a turn being missed.
+     *
+     * @return probability
+     */
+    public double getMissedTurnProbability() {
+        return this.missedTurn;
+    }
+
+    /**
+     * Gets how much an Animal's owner can expect to be paid each time one other player takes a turn.
+     * <p>
+     * This uses the Animal's stop cost at the level, so it doesn't include any bonus for owning
+     * the whole group. Multiply by the number of other players for a whole round.
+     *
+     * @param animal The Animal
+     * @param level  The Animal's level
+     * @return expected rent in pence
+     */
+    public double getExpectedRentPerTurn(final Animal animal, final AnimalLevel level) {
+        return this.landing[animal.index] * animal.getStopCostAtLevel(level);
+    }
+
+    /**
+     * Gets every Animal on the board, from the one expected to earn the most rent at a level to the least.
+     *
+     * @param level The level
+     * @return the Animals
+     */
+    public List<Animal> rankAnimalsByRent(final AnimalLevel level) {
+        final List<Animal> animals = LandingProbabilities.getAnimals();
+        animals.sort((a, b) -> Double.compare(this.getExpectedRentPerTurn(b, level), this.getExpectedRentPerTurn(a, level)));
+        return animals;
+    }
+
+    /**
+     * Gets every Animal on the board, in board order.
+     *
+     * @return the Animals
+     */
+    static List<Animal> getAnimals() {
+        final List<Animal> animals = new ArrayList<>();
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            final BoardSpace space = GameBoard.getSpace(index);
+
+            if (space.type == BoardSpaceType.ANIMAL) {
+                animals.add((Animal) space);
+            }
+        }
+
+        return animals;
+    }
+
+    /**
+     * Prints the chance of landing on each space, and the rent each Animal can expect per opponent turn at each level.
+     *
+     * @param out Where to print
+     */
+    public void printReport(final PrintStream out) {
+        out.printf("%-24s %8s %10s %10s %10s %10s\n", "Space", "Landing", "Rent L0", "Rent L1", "Rent L2", "Rent L3");
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            final BoardSpace space = GameBoard.getSpace(index);
+            out.printf("%-24s %7.3f%%", space.displayName, this.landing[index] * 100);
+
+            if (space.type == BoardSpaceType.ANIMAL) {
+                for (final AnimalLevel level : AnimalLevel.values()) {
+                    out.printf(" %10s", Money.format(Math.round(this.getExpectedRentPerTurn((Animal) space, level))));
+                }
+            }
+
+            out.println();
+        }
+
+        out.printf("Turns missed: %.3f%%\n", this.missedTurn * 100);
+    }
+}
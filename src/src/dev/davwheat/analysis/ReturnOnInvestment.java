@@ -0,0 +1,208 @@
+package dev.davwheat.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.GameBoard;
+import dev.davwheat.Money;
+import dev.davwheat.enums.AnimalLevel;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How quickly each Animal pays for itself, at each level, worked out from the landing probabilities.
+ * <p>
+ * For every Animal and level, this has the total spent to get it there (the purchase cost, plus
+ * one upgrade cost for each level), and the rent its owner can expect each time an opponent
+ * takes a turn. A round is one turn for each opponent, so rent per round scales with how many
+ * opponents there are, and everything which depends on that is worked out on the spot from the
+ * table with a multiplication.
+ * <p>
+ * Each "step" is buying the Animal (level 0), or upgrading it to a level from the one before.
+ * A step's payback is how many rounds the extra rent it brings in takes to cover its cost.
+ * <p>
+ * Tables are worked out once for each set of landing probabilities, so bots and the UI can
+ * value an Animal without simulating anything.
+ */
+public final class ReturnOnInvestment {
+    /**
+     * Number of levels an Animal can be at.
+     */
+    private static final int LEVEL_COUNT = AnimalLevel.values().length;
+
+    /**
+     * Tables already worked out, by the landing probabilities they came from.
+     */
+    private static final Map<LandingProbabilities, ReturnOnInvestment> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Expected rent per opponent turn in pence, by board space index then level. 0 for spaces which aren't Animals.
+     */
+    private final double[][] rentPerTurn = new double[GameBoard.SPACE_COUNT][LEVEL_COUNT];
+
+    /**
+     * Total spent to own each Animal at each level in pence, by board space index then level.
+     */
+    private final long[][] invested = new long[GameBoard.SPACE_COUNT][LEVEL_COUNT];
+
+    /**
+     * Works out the table.
+     *
+     * @param odds Landing probabilities for the board
+     */
+    private ReturnOnInvestment(final LandingProbabilities odds) {
+        for (final Animal animal : LandingProbabilities.getAnimals()) {
+            for (final AnimalLevel level : AnimalLevel.values()) {
+                this.rentPerTurn[animal.index][level.value] = odds.getExpectedRentPerTurn(animal, level);
+                this.invested[animal.index][level.value] = animal.purchaseCost + animal.upgradeCost * level.value;
+            }
+        }
+    }
+
+    /**
+     * Gets the table for some landing probabilities.
+     *
+     * @param odds Landing probabilities for the board
+     * @return the table
+     */
+    public static ReturnOnInvestment create(final LandingProbabilities odds) {
+        if (odds == null) {
+            throw new NullPointerException("odds must be a valid instance of LandingProbabilities, and not null.");
+        }
+
+        return CACHE.computeIfAbsent(odds, ReturnOnInvestment::new);
+    }
+
+    /**
+     * Gets the table for players using the standard Deck who always take Chance cards.
+     *
+     * @return the table
+     */
+    public static ReturnOnInvestment createForBaseDeck() {
+        return ReturnOnInvestment.create(LandingProbabilities.createForBaseDeck());
+    }
+
+    /**
+     * Throws if there isn't at least one opponent.
+     *
+     * @param opponents Number of opponents
+     */
+    private static void checkOpponents(final int opponents) {
+        if (opponents < 1) {
+            throw new IllegalArgumentException("There must be at least one opponent.");
+        }
+    }
+
+    /**
+     * Gets the total spent to own an Animal at a level.
+     *
+     * @param animal The Animal
+     * @param level  The level
+     * @return amount in pence
+     */
+    public long getInvestment(final Animal animal, final AnimalLevel level) {
+        return this.invested[animal.index][level.value];
+    }
+
+    /**
+     * Gets the cost of the step to a level: the purchase cost for level 0, or otherwise the upgrade cost.
+     *
+     * @param animal The Animal
+     * @param level  The level the step reaches
+     * @return amount in pence
+     */
+    public long getStepCost(final Animal animal, final AnimalLevel level) {
+        return level.value == 0 ? animal.purchaseCost : animal.upgradeCost;
+    }
+
+    /**
+     * Gets the rent an Animal's owner can expect each round.
+     *
+     * @param animal    The Animal
+     * @param level     The Animal's level
+     * @param opponents Number of opponents
+     * @return expected rent in pence
+     */
+    public double getExpectedIncomePerRound(final Animal animal, final AnimalLevel level, final int opponents) {
+        ReturnOnInvestment.checkOpponents(opponents);
+        return this.rentPerTurn[animal.index][level.value] * opponents;
+    }
+
+    /**
+     * Gets the extra rent each round the step to a level brings in.
+     *
+     * @param animal    The Animal
+     * @param level     The level the step reaches
+     * @param opponents Number of opponents
+     * @return expected rent in pence
+     */
+    public double getStepIncomePerRound(final Animal animal, final AnimalLevel level, final int opponents) {
+        ReturnOnInvestment.checkOpponents(opponents);
+
+        final double[] rent = this.rentPerTurn[animal.index];
+        return (level.value == 0 ? rent[0] : rent[level.value] - rent[level.value - 1]) * opponents;
+    }
+
+    /**
+     * Gets how many rounds an Animal at a level takes to earn back everything spent on it.
+     *
+     * @param animal    The Animal
+     * @param level     The level
+     * @param opponents Number of opponents
+     * @return rounds, or infinity if it never earns anything
+     */
+    public double getPaybackRounds(final Animal animal, final AnimalLevel level, final int opponents) {
+        return this.getInvestment(animal, level) / this.getExpectedIncomePerRound(animal, level, opponents);
+    }
+
+    /**
+     * Gets how many rounds the step to a level takes to earn back its own cost.
+     *
+     * @param animal    The Animal
+     * @param level     The level the step reaches
+     * @param opponents Number of opponents
+     * @return rounds, or infinity if the step doesn't earn anything extra
+     */
+    public double getStepPaybackRounds(final Animal animal, final AnimalLevel level, final int opponents) {
+        return this.getStepCost(animal, level) / this.getStepIncomePerRound(animal, level, opponents);
+    }
+
+    /**
+     * Gets the rent each round for every pound spent on an Animal at a level.
+     *
+     * @param animal    The Animal
+     * @param level     The level
+     * @param opponents Number of opponents
+     * @return expected rent in pence per pound
+     */
+    public double getIncomePerPoundInvested(final Animal animal, final AnimalLevel level, final int opponents) {
+        return this.getExpectedIncomePerRound(animal, level, opponents) * Money.PENCE_PER_POUND / this.getInvestment(animal, level);
+    }
+
+    /**
+     * Prints every step of every Animal, with what it costs and how quickly it pays for itself.
+     *
+     * @param out       Where to print
+     * @param opponents Number of opponents
+     */
+    public void printReport(final PrintStream out, final int opponents) {
+        ReturnOnInvestment.checkOpponents(opponents);
+
+        out.printf("Returns with %d opponent%s, per round of their turns\n", opponents, opponents == 1 ? "" : "s");
+        out.printf("%-24s %-5s %10s %10s %10s %9s %9s %9s\n", "Animal", "Step", "Step cost", "Invested", "Rent", "Payback", "Step pb", "p per £");
+
+        for (final Animal animal : LandingProbabilities.getAnimals()) {
+            for (final AnimalLevel level : AnimalLevel.values()) {
+                out.printf("%-24s %-5s %10s %10s %10s %9.1f %9.1f %9.2f\n",
+                        level.value == 0 ? animal.displayName : "",
+                        level.value == 0 ? "Buy" : "L" + level.value,
+                        Money.format(this.getStepCost(animal, level)),
+                        Money.format(this.getInvestment(animal, level)),
+                        Money.format(Math.round(this.getExpectedIncomePerRound(animal, level, opponents))),
+                        this.getPaybackRounds(animal, level, opponents),
+                        this.getStepPaybackRounds(animal, level, opponents),
+                        this.getIncomePerPoundInvested(animal, level, opponents));
+            }
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package dev.davwheat.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.GameBoard;
+import dev.davwheat.Player;
+import dev.davwheat.enums.AnimalLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the set of upgrades which adds the most expected rent without spending more than a budget.
+ * <p>
+ * Each Animal can be upgraded a few times, each time for its upgrade cost, and each upgrade
+ * raises the rent other players can be expected to pay (its landing probability times the
+ * jump in stop cost). Picking how many times to upgrade each Animal is a knapsack problem,
+ * solved here by dynamic programming over the budget, counted in the largest unit every
+ * upgrade cost is a multiple of. The table of best answers for each budget is only as wide as
+ * the budget (or the cost of every upgrade, if that's less).
+ * <p>
+ * The table is never bigger than `MAX_TABLE_SIZE` entries, however many Animals there are.
+ * If it would be (such as on a custom board whose upgrade costs have no large unit in common),
+ * the budget is counted in a larger unit instead, with every cost rounded up to it. The plan
+ * then never goes over budget, but can leave up to one unit per Animal unspent, so whatever
+ * is left is spent on the upgrades worth the most for their cost.
+ */
+public final class UpgradeAdvisor {
+    /**
+     * Most entries kept in the table of how many times each item was upgraded (one byte each).
+     */
+    private static final int MAX_TABLE_SIZE = 1 << 22;
+
+    /**
+     * Landing probabilities used to value upgrades.
+     */
+    private final LandingProbabilities odds;
+
+    /**
+     * Create a new instance of UpgradeAdvisor.
+     *
+     * @param odds Landing probabilities used to value upgrades
+     */
+    public UpgradeAdvisor(final LandingProbabilities odds) {
+        if (odds == null) {
+            throw new NullPointerException("odds must be a valid instance of LandingProbabilities, and not null.");
+        }
+
+        this.odds = odds;
+    }
+
+    /**
+     * Finds the best upgrades for a player's Animals, keeping some money back.
+     *
+     * @param player  The player
+     * @param reserve Money in pence the upgrades mustn't spend
+     * @return the best upgrades
+     */
+    public Plan advise(final Player player, final long reserve) {
+        if (player == null) {
+            throw new NullPointerException("player must be a valid instance of Player, and not null.");
+        }
+
+        if (reserve < 0) {
+            throw new IllegalArgumentException("reserve can't be negative.");
+        }
+
+        final GameBoard board = player.getGameInstance().gameBoardInstance;
+        final List<Animal> animals = board.getOwnedAnimals(player);
+        final long[] costs = new long[animals.size()];
+        final double[][] gains = new double[animals.size()][];
+
+        for (int i = 0; i < animals.size(); i++) {
+            final Animal animal = animals.get(i);
+            final int level = animal.getCurrentLevel(board).value;
+            final double rent = this.odds.getExpectedRentPerTurn(animal, AnimalLevel.fromNumberValue(level));
+
+            costs[i] = animal.upgradeCost;
+            gains[i] = new double[AnimalLevel.values().length - 1 - level];
+
+            for (int step = 0; step < gains[i].length; step++) {
+                gains[i][step] = this.odds.getExpectedRentPerTurn(animal, AnimalLevel.fromNumberValue(level + step + 1)) - rent;
+            }
+        }
+
+        final int[] steps = UpgradeAdvisor.choose(costs, gains, Math.max(0, player.getBankBalance() - reserve));
+        final List<Animal> upgrades = new ArrayList<>();
+        long cost = 0;
+        double extraRent = 0;
+
+        for (int i = 0; i < steps.length; i++) {
+            for (int step = 0; step < steps[i]; step++) {
+                upgrades.add(animals.get(i));
+            }
+
+            if (steps[i] > 0) {
+                cost += costs[i] * steps[i];
+                extraRent += gains[i][steps[i] - 1];
+            }
+        }
+
+        return new Plan(upgrades, cost, extraRent);
+    }
+
+    /**
+     * Picks how many times to upgrade each item so the total gain is as high as possible within a budget.
+     *
+     * @param costs  Cost in pence of each upgrade of each item
+     * @param gains  For each item, the total gain from upgrading it once, twice, and so on
+     * @param budget Most money in pence to spend
+     * @return How many times to upgrade each item
+     */
+    public static int[] choose(final long[] costs, final double[][] gains, final long budget) {
+        if (costs.length != gains.length) {
+            throw new IllegalArgumentException("There must be a cost for each item's gains.");
+        }
+
+        final int items = costs.length;
+        long gcd = 0;
+        long everything = 0;
+
+        for (int i = 0; i < items; i++) {
+            if (costs[i] <= 0) {
+                throw new IllegalArgumentException("Upgrade costs must be more than 0.");
+            }
+
+            gcd = UpgradeAdvisor.gcd(gcd, costs[i]);
+            everything += costs[i] * gains[i].length;
+        }
+
+        final int[] steps = new int[items];
+
+        if (items == 0 || budget <= 0) {
+            return steps;
+        }
+
+        // Spending more than every upgrade costs doesn't help, so that bounds the table too
+        final long spendable = Math.min(budget, everything);
+        final long maxWidth = Math.max(2, MAX_TABLE_SIZE / items);
+        // Count in a larger unit if the table would be too big, rounding costs up so the plan stays in budget
+        final long unit = Math.max(gcd, (spendable + maxWidth - 2) / (maxWidth - 1));
+        final int width = (int) (spendable / unit + 1);
+        final int[] unitCosts = new int[items];
+
+        for (int i = 0; i < items; i++) {
+            unitCosts[i] = (int) Math.min(width, (costs[i] + unit - 1) / unit);
+        }
+
+        // best[b] is the most gain from the items so far with b units to spend; chosen[i][b] is how many steps item i took
+        double[] best = new double[width];
+        double[] next = new double[width];
+        final byte[][] chosen = new byte[items][width];
+
+        for (int i = 0; i < items; i++) {
+            final int cost = unitCosts[i];
+
+            for (int b = 0; b < width; b++) {
+                double value = best[b];
+                int taken = 0;
+
+                for (int step = 1; step <= gains[i].length && step * cost <= b; step++) {
+                    final double candidate = best[b - step * cost] + gains[i][step - 1];
+
+                    if (candidate > value) {
+                        value = candidate;
+                        taken = step;
+                    }
+                }
+
+                next[b] = value;
+                chosen[i][b] = (byte) taken;
+            }
+
+            final double[] swap = best;
+            best = next;
+            next = swap;
+        }
+
+        long spent = 0;
+
+        for (int i = items - 1, b = width - 1; i >= 0; i--) {
+            steps[i] = chosen[i][b];
+            b -= steps[i] * unitCosts[i];
+            spent += steps[i] * costs[i];
+        }
+
+        if (unit != gcd) {
+            UpgradeAdvisor.spendRest(costs, gains, budget - spent, steps);
+        }
+
+        return steps;
+    }
+
+    /**
+     * Adds upgrades with the money left over, picking whichever is worth the most for its cost each time.
+     *
+     * @param costs Cost in pence of each upgrade of each item
+     * @param gains For each item, the total gain from upgrading it once, twice, and so on
+     * @param left  Money in pence left to spend
+     * @param steps How many times to upgrade each item, which is added to
+     */
+    private static void spendRest(final long[] costs, final double[][] gains, long left, final int[] steps) {
+        while (true) {
+            int bestItem = -1;
+            double bestRatio = 0;
+
+            for (int i = 0; i < costs.length; i++) {
+                if (steps[i] == gains[i].length || costs[i] > left) {
+                    continue;
+                }
+
+                final double gain = gains[i][steps[i]] - (steps[i] == 0 ? 0 : gains[i][steps[i] - 1]);
+
+                if (gain / costs[i] > bestRatio) {
+                    bestItem = i;
+                    bestRatio = gain / costs[i];
+                }
+            }
+
+            if (bestItem == -1) {
+                return;
+            }
+
+            steps[bestItem]++;
+            left -= costs[bestItem];
+        }
+    }
+
+    /**
+     * Gets the greatest common divisor of two amounts.
+     *
+     * @param a First amount
+     * @param b Second amount
+     * @return the divisor
+     */
+    private static long gcd(final long a, final long b) {
+        return b == 0 ? a : UpgradeAdvisor.gcd(b, a % b);
+    }
+
+    /**
+     * A set of upgrades, and what they cost and earn.
+     */
+    public static final class Plan {
+        /**
+         * Animals to upgrade, once for each time they appear.
+         */
+        private final List<Animal> upgrades;
+
+        /**
+         * Total cost in pence.
+         */
+        private final long cost;
+
+        /**
+         * Expected extra rent per opponent turn, in pence.
+         */
+        private final double extraRentPerTurn;
+
+        /**
+         * Create a new instance of Plan.
+         *
+         * @param upgrades         Animals to upgrade, once for each time they appear
+         * @param cost             Total cost in pence
+         * @param extraRentPerTurn Expected extra rent per opponent turn, in pence
+         */
+        private Plan(final List<Animal> upgrades, final long cost, final double extraRentPerTurn) {
+            this.upgrades = Collections.unmodifiableList(upgrades);
+            this.cost = cost;
+            this.extraRentPerTurn = extraRentPerTurn;
+        }
+
+        /**
+         * Gets the Animals to upgrade, once for each time they appear.
+         *
+         * @return the Animals
+         */
+        public List<Animal> getUpgrades() {
+            return this.upgrades;
+        }
+
+        /**
+         * Gets the total cost.
+         *
+         * @return cost in pence
+         */
+        public long getCost() {
+            return this.cost;
+        }
+
+        /**
+         * Gets how much more rent the owner can expect each time one other player takes a turn.
+         *
+         * @return expected rent in pence
+         */
+        public double getExtraRentPerTurn() {
+            return this.extraRentPerTurn;
+        }
+    }
+}
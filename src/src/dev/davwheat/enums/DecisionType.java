@@ -0,0 +1,23 @@
+package dev.davwheat.enums;
+
+/**
+ * The kinds of decision a turn can wait for.
+ */
+public enum DecisionType {
+    /**
+     * Waiting for the player to continue (press ENTER). The only choice is 0.
+     */
+    CONTINUE,
+    /**
+     * Whether to buy the unowned Animal the player landed on. 1 for yes, 0 for no.
+     */
+    PURCHASE_ANIMAL,
+    /**
+     * Whether to pick up a Chance card after rolling a double. 1 for yes, 0 for no.
+     */
+    TAKE_CHANCE_CARD,
+    /**
+     * Which owned Animal to upgrade. 0 ends the turn, otherwise the number of the Animal in the list of options (starting at 1).
+     */
+    UPGRADE_ANIMAL
+}
@@ -0,0 +1,62 @@
+package dev.davwheat.enums;
+
+/**
+ * The steps that a turn moves through.
+ * <p>
+ * A turn can pause in any state while it waits for a decision, then carry on from
+ * that state once the decision is made.
+ */
+public enum TurnState {
+    /**
+     * Start of a turn. Skips straight to `END_TURN` if the player is missing this turn.
+     */
+    START_TURN,
+    /**
+     * Rolling the dice.
+     */
+    ROLL,
+    /**
+     * Moving the player by their roll, collecting money for passing Start.
+     */
+    MOVE,
+    /**
+     * Dealing with the space the player landed on.
+     */
+    RESOLVE_SPACE,
+    /**
+     * Buying the Animal the player landed on, if they chose to.
+     */
+    BUY_ANIMAL,
+    /**
+     * Paying the owner of the Animal the player landed on.
+     */
+    PAY_RENT,
+    /**
+     * Offering a Chance card, if the player rolled a double.
+     */
+    OFFER_CHANCE,
+    /**
+     * Picking up a Chance card, if the player chose to.
+     */
+    DRAW_CHANCE,
+    /**
+     * Doing what the Chance card says.
+     */
+    APPLY_CHANCE,
+    /**
+     * Letting the player choose an Animal to upgrade, or end their turn.
+     */
+    UPGRADE_MENU,
+    /**
+     * Upgrading the Animal the player chose.
+     */
+    UPGRADE,
+    /**
+     * Handing the turn on to the next player.
+     */
+    END_TURN,
+    /**
+     * The game is over, because only one player is left or the turn limit was reached.
+     */
+    GAME_OVER
+}
@@ -0,0 +1,182 @@
+package dev.davwheat.policies;
+
+import dev.davwheat.Animal;
+import dev.davwheat.IOHelper;
+import dev.davwheat.Money;
+import dev.davwheat.Player;
+import dev.davwheat.analysis.LandingProbabilities;
+import dev.davwheat.analysis.UpgradeAdvisor;
+import dev.davwheat.enums.Color;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DecisionPolicy which asks a human for every choice using the console.
+ */
+public class ConsoleDecisionPolicy implements DecisionPolicy {
+    /**
+     * IOHelper used to read all input.
+     */
+    private final IOHelper ioHelper;
+
+    /**
+     * Works out the best upgrades when a player asks, created the first time they do.
+     */
+    private UpgradeAdvisor upgradeAdvisor;
+
+    /**
+     * Create a new instance of ConsoleDecisionPolicy.
+     *
+     * @param ioHelper IOHelper used to read all input
+     */
+    public ConsoleDecisionPolicy(final IOHelper ioHelper) {
+        this.ioHelper = ioHelper;
+    }
+
+    @Override
+    public int choosePlayerCount() {
+        // Must be between 2 and 8
+        return this.ioHelper.readInteger("How many players are playing?", "Invalid input -- please enter a whole number between 2 and 8 (inclusive)", (Integer count) -> !(count < 2 || count > 8));
+    }
+
+    @Override
+    public String choosePlayerName(final int playerNumber, final Function<String, Boolean> validator) {
+        final String name = this.ioHelper.readString("Enter name for Player " + playerNumber, "Please enter a name that hasn't been chosen by another player, and no more than 12 characters long.", validator);
+        this.ioHelper.getOutput().printf("Hello %s!", name);
+        this.ioHelper.getOutput().println();
+
+        return name;
+    }
+
+    @Override
+    public char choosePlayerIdentifier(final int playerNumber, final Function<Character, Boolean> validator) {
+        return this.ioHelper.readChar("Choose a character to represent yourself.", "Please enter a character that is A-Z, 0-9, or one of !£%?*, and hasn't been chosen by another player.", validator);
+    }
+
+    @Override
+    public boolean shouldPurchaseAnimal(final Player actor, final Animal animal) {
+        return String.valueOf(this.ioHelper.readChar(String.format("%s is not owned and costs %s. Would you like to buy it? (Y/N)", animal.displayName, Money.format(animal.purchaseCost)), "Please choose either 'Y' (yes) or 'N' (no).", IOHelper.YesNoCharValidator)).equalsIgnoreCase("y");
+    }
+
+    @Override
+    public boolean shouldTakeChanceCard(final Player actor) {
+        final char chance = this.ioHelper.readChar("You rolled a double! Would you like to pick up a Chance card? (Y/N)", "Please choose either Y for yes or N for no.", IOHelper.YesNoCharValidator);
+
+        return String.valueOf(chance).equalsIgnoreCase("y");
+    }
+
+    @Override
+    public Animal chooseAnimalToUpgrade(final Player actor, final List<Animal> ownedAnimals) {
+        while (true) {
+            this.ioHelper.getOutput().printf("\n%sPlayer turn menu%s\n", Color.BLUE_BOLD_BRIGHT, Color.RESET);
+            this.ioHelper.getOutput().println("\n1. Upgrade Animal");
+            this.ioHelper.getOutput().println("2. End turn");
+            this.ioHelper.getOutput().println("3. Suggest upgrades");
+            final int option = this.ioHelper.readInteger("Choose an option: ", "Please choose 1, 2 or 3.", i -> i >= 1 && i <= 3);
+
+            if (option == 2) {
+                return null;
+            }
+
+            if (option == 3) {
+                this.suggestUpgrades(actor);
+                continue;
+            }
+
+            final Animal animal = this.chooseFromUpgradeMenu(actor, ownedAnimals);
+
+            if (animal != null) {
+                return animal;
+            }
+        }
+    }
+
+    @Override
+    public void waitForContinue(final Player actor) {
+        this.ioHelper.pressEnterToContinue();
+    }
+
+    /**
+     * Asks the player how much money to keep, then prints the upgrades which add the most expected rent without spending it.
+     *
+     * @param actor Player taking their turn
+     */
+    private void suggestUpgrades(final Player actor) {
+        final long reserve = Money.fromPounds(this.ioHelper.readInteger("How many pounds would you like to keep?", "Please enter a whole number of pounds, 0 or more.", x -> x >= 0));
+
+        if (this.upgradeAdvisor == null) {
+            this.upgradeAdvisor = new UpgradeAdvisor(LandingProbabilities.createForBaseDeck());
+        }
+
+        final UpgradeAdvisor.Plan plan = this.upgradeAdvisor.advise(actor, reserve);
+        final List<Animal> upgrades = plan.getUpgrades();
+
+        if (upgrades.isEmpty()) {
+            this.ioHelper.getOutput().printf("There aren't any upgrades you can afford while keeping %s.\n", Money.format(reserve));
+            return;
+        }
+
+        this.ioHelper.getOutput().printf("\n%sSuggested upgrades, keeping %s%s\n", Color.BLUE_BOLD_BRIGHT, Money.format(reserve), Color.RESET);
+
+        for (int i = 0; i < upgrades.size(); i++) {
+            final Animal animal = upgrades.get(i);
+
+            // Each Animal's upgrades are next to each other, so only print the last one
+            if (i + 1 == upgrades.size() || upgrades.get(i + 1) != animal) {
+                final int level = animal.getCurrentLevel(actor.getGameInstance().gameBoardInstance).value + upgrades.lastIndexOf(animal) - upgrades.indexOf(animal) + 1;
+                this.ioHelper.getOutput().printf("- %s to L%d\n", animal.displayName, level);
+            }
+        }
+
+        this.ioHelper.getOutput().printf("This costs %s, and adds %s of expected rent each time another player takes a turn.\n",
+                Money.format(plan.getCost()), Money.format(Math.round(plan.getExtraRentPerTurn())));
+    }
+
+    /**
+     * Shows the upgrade menu until the player picks an Animal to upgrade or goes back.
+     *
+     * @param actor        Player taking their turn
+     * @param ownedAnimals All Animals owned by the player
+     * @return The Animal to upgrade, or null if the player went back
+     */
+    private Animal chooseFromUpgradeMenu(final Player actor, final List<Animal> ownedAnimals) {
+        while (true) {
+            this.ioHelper.getOutput().printf("\n%sUpgrade an animal%s\n", Color.BLUE_BOLD_BRIGHT, Color.RESET);
+
+            for (int i = 0; i < ownedAnimals.size(); i++) {
+                final Animal a = ownedAnimals.get(i);
+                this.ioHelper.getOutput().printf("%d. %s (Current: L%d)\n", i + 1, a.displayName, a.getCurrentLevel(actor.getGameInstance().gameBoardInstance).value);
+            }
+
+            final int backNum = ownedAnimals.size() + 1;
+            this.ioHelper.getOutput().printf("%d. Back\n", backNum);
+
+            final int option = this.ioHelper.readInteger(
+                    "Choose an option: ",
+                    String.format("Please choose a value between 1 and %d.", backNum),
+                    x -> x >= 1 && x <= backNum
+            );
+
+            // Back
+            if (option == backNum) {
+                return null;
+            }
+
+            final Animal animal = ownedAnimals.get(option - 1);
+
+            if (!animal.isUpgradable(actor)) {
+                this.ioHelper.getOutput().printf("\"%s\" is not upgradable.", animal.displayName);
+                continue;
+            }
+
+            this.ioHelper.getOutput().printf("Upgrading \"%s\" will cost %s\n", animal.displayName, Money.format(animal.upgradeCost));
+            final boolean upgrade = String.valueOf(this.ioHelper.readChar("Would you like to upgrade? (Y/N)", "Please choose Y for yes, or N for no.", IOHelper.YesNoCharValidator))
+                    .equalsIgnoreCase("y");
+
+            if (upgrade) {
+                return animal;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.davwheat.policies;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Player;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Supplies every choice that a Game needs to make while it is running.
+ * <p>
+ * The console game asks a human for these (see `ConsoleDecisionPolicy`), but
+ * any other implementation can be plugged in to run a Game without a console.
+ */
+public interface DecisionPolicy {
+    /**
+     * Chooses how many players are taking part in the game.
+     *
+     * @return Number of players (at least 2)
+     */
+    int choosePlayerCount();
+
+    /**
+     * Chooses the name for a player.
+     *
+     * @param playerNumber Player number, starting at 1
+     * @param validator    Validator that the name must pass
+     * @return The player's name
+     */
+    String choosePlayerName(int playerNumber, Function<String, Boolean> validator);
+
+    /**
+     * Chooses the character used to show a player on the game board.
+     *
+     * @param playerNumber Player number, starting at 1
+     * @param validator    Validator that the character must pass
+     * @return The player's visual identifier
+     */
+    char choosePlayerIdentifier(int playerNumber, Function<Character, Boolean> validator);
+
+    /**
+     * Decides whether the player buys the unowned Animal they landed on.
+     *
+     * @param actor  Player who landed on the Animal
+     * @param animal The unowned Animal
+     * @return Whether to buy the Animal
+     */
+    boolean shouldPurchaseAnimal(Player actor, Animal animal);
+
+    /**
+     * Decides whether the player picks up a Chance card after rolling a double.
+     *
+     * @param actor Player who rolled the double
+     * @return Whether to take a Chance card
+     */
+    boolean shouldTakeChanceCard(Player actor);
+
+    /**
+     * Picks the next Animal to upgrade from the player's turn menu.
+     * <p>
+     * Called repeatedly until it returns null, which ends the player's turn.
+     *
+     * @param actor        Player taking their turn
+     * @param ownedAnimals All Animals owned by the player
+     * @return The Animal to upgrade, or null to end the turn
+     */
+    Animal chooseAnimalToUpgrade(Player actor, List<Animal> ownedAnimals);
+
+    /**
+     * Waits until the player is ready for the game to continue.
+     *
+     * @param actor Player taking their turn
+     */
+    void waitForContinue(Player actor);
+}
@@ -0,0 +1,87 @@
+package dev.davwheat.policies;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Player;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DecisionPolicy which never needs any input, so Games can run without a console.
+ * <p>
+ * Buys and upgrades anything it can afford while keeping a cash reserve, and
+ * always picks up Chance cards (the base deck pays out more than it takes on average).
+ */
+public class GreedyDecisionPolicy implements DecisionPolicy {
+    /**
+     * Characters handed out as player identifiers, in order.
+     * <p>
+     * Games don't let two players have identifiers which only differ in case, so there are no lower case letters.
+     */
+    private static final String IDENTIFIERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789!£%?*";
+
+    /**
+     * Number of players in each game.
+     */
+    private final int playerCount;
+
+    /**
+     * Money in pence that the policy will never spend on purchases or upgrades.
+     */
+    private final long reserve;
+
+    /**
+     * Create a new instance of GreedyDecisionPolicy.
+     *
+     * @param playerCount Number of players in each game
+     * @param reserve     Money in pence that will never be spent on purchases or upgrades
+     */
+    public GreedyDecisionPolicy(final int playerCount, final long reserve) {
+        if (playerCount < 2 || playerCount > IDENTIFIERS.length()) {
+            throw new IllegalArgumentException("Player count must be between 2 and " + IDENTIFIERS.length() + ".");
+        }
+
+        this.playerCount = playerCount;
+        this.reserve = reserve;
+    }
+
+    @Override
+    public int choosePlayerCount() {
+        return this.playerCount;
+    }
+
+    @Override
+    public String choosePlayerName(final int playerNumber, final Function<String, Boolean> validator) {
+        return "Player " + playerNumber;
+    }
+
+    @Override
+    public char choosePlayerIdentifier(final int playerNumber, final Function<Character, Boolean> validator) {
+        return IDENTIFIERS.charAt(playerNumber - 1);
+    }
+
+    @Override
+    public boolean shouldPurchaseAnimal(final Player actor, final Animal animal) {
+        return actor.getBankBalance() - animal.purchaseCost >= this.reserve;
+    }
+
+    @Override
+    public boolean shouldTakeChanceCard(final Player actor) {
+        return true;
+    }
+
+    @Override
+    public Animal chooseAnimalToUpgrade(final Player actor, final List<Animal> ownedAnimals) {
+        for (final Animal animal : ownedAnimals) {
+            if (animal.isUpgradable(actor) && actor.getBankBalance() - animal.upgradeCost >= this.reserve) {
+                return animal;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void waitForContinue(final Player actor) {
+    }
+}
@@ -0,0 +1,166 @@
+package dev.davwheat.policies;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.Player;
+import dev.davwheat.simulation.MonteCarloTreeSearch;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DecisionPolicy which lets a MonteCarloTreeSearch play some of the seats, and another policy play the rest.
+ * <p>
+ * The bots sit in the last seats, so `new MonteCarloTreeSearchPolicy(new ConsoleDecisionPolicy(ioHelper), search, 1)`
+ * plays humans against one bot. Bots decide whether to buy Animals, take Chance cards
+ * and which Animals to upgrade by searching, and never wait to continue.
+ */
+public class MonteCarloTreeSearchPolicy implements DecisionPolicy {
+    /**
+     * Characters tried, in order, as a bot's visual identifier.
+     */
+    private static final String BOT_IDENTIFIERS = "ZYXWVUTSRQPONMLKJIHGFEDCBA9876543210";
+
+    /**
+     * Policy for every seat which isn't a bot, and for how many players there are.
+     */
+    private final DecisionPolicy otherSeats;
+
+    /**
+     * Search used to make the bots' decisions.
+     */
+    private final MonteCarloTreeSearch search;
+
+    /**
+     * Number of seats, at the end, which are bots.
+     */
+    private final int botSeats;
+
+    /**
+     * Number of players, once it has been chosen.
+     */
+    private int playerCount;
+
+    /**
+     * Create a new instance of MonteCarloTreeSearchPolicy.
+     *
+     * @param otherSeats Policy for every seat which isn't a bot, and for how many players there are
+     * @param search     Search used to make the bots' decisions
+     * @param botSeats   Number of seats, at the end, which are bots
+     */
+    public MonteCarloTreeSearchPolicy(final DecisionPolicy otherSeats, final MonteCarloTreeSearch search, final int botSeats) {
+        if (otherSeats == null) {
+            throw new NullPointerException("otherSeats must be a valid instance of DecisionPolicy, and not null.");
+        }
+
+        if (search == null) {
+            throw new NullPointerException("search must be a valid instance of MonteCarloTreeSearch, and not null.");
+        }
+
+        if (botSeats < 1) {
+            throw new IllegalArgumentException("There must be at least one bot.");
+        }
+
+        this.otherSeats = otherSeats;
+        this.search = search;
+        this.botSeats = botSeats;
+    }
+
+    /**
+     * Tests if a seat is played by a bot.
+     *
+     * @param playerNumber Player number, starting at 1
+     * @return Whether it's a bot
+     */
+    private boolean isBot(final int playerNumber) {
+        return playerNumber > this.playerCount - this.botSeats;
+    }
+
+    /**
+     * Searches the decision the actor's game is waiting for.
+     *
+     * @param actor Player making the decision
+     * @return the choice
+     */
+    private int search(final Player actor) {
+        final Game game = actor.getGameInstance();
+        return this.search.choose(game, game.getPendingDecision());
+    }
+
+    @Override
+    public int choosePlayerCount() {
+        final int count = this.otherSeats.choosePlayerCount();
+
+        if (count < this.botSeats) {
+            throw new IllegalArgumentException("There are more bots than seats.");
+        }
+
+        this.playerCount = count;
+        return count;
+    }
+
+    @Override
+    public String choosePlayerName(final int playerNumber, final Function<String, Boolean> validator) {
+        if (!this.isBot(playerNumber)) {
+            return this.otherSeats.choosePlayerName(playerNumber, validator);
+        }
+
+        String name = "Bot " + playerNumber;
+
+        for (int i = 2; !validator.apply(name); i++) {
+            name = "Bot " + playerNumber + "-" + i;
+        }
+
+        return name;
+    }
+
+    @Override
+    public char choosePlayerIdentifier(final int playerNumber, final Function<Character, Boolean> validator) {
+        if (!this.isBot(playerNumber)) {
+            return this.otherSeats.choosePlayerIdentifier(playerNumber, validator);
+        }
+
+        for (final char identifier : BOT_IDENTIFIERS.toCharArray()) {
+            if (validator.apply(identifier)) {
+                return identifier;
+            }
+        }
+
+        throw new IllegalStateException("Every identifier has been taken.");
+    }
+
+    @Override
+    public boolean shouldPurchaseAnimal(final Player actor, final Animal animal) {
+        if (!this.isBot(actor.playerId + 1)) {
+            return this.otherSeats.shouldPurchaseAnimal(actor, animal);
+        }
+
+        return this.search(actor) == 1;
+    }
+
+    @Override
+    public boolean shouldTakeChanceCard(final Player actor) {
+        if (!this.isBot(actor.playerId + 1)) {
+            return this.otherSeats.shouldTakeChanceCard(actor);
+        }
+
+        return this.search(actor) == 1;
+    }
+
+    @Override
+    public Animal chooseAnimalToUpgrade(final Player actor, final List<Animal> ownedAnimals) {
+        if (!this.isBot(actor.playerId + 1)) {
+            return this.otherSeats.chooseAnimalToUpgrade(actor, ownedAnimals);
+        }
+
+        final int choice = this.search(actor);
+        return choice == 0 ? null : ownedAnimals.get(choice - 1);
+    }
+
+    @Override
+    public void waitForContinue(final Player actor) {
+        if (!this.isBot(actor.playerId + 1)) {
+            this.otherSeats.waitForContinue(actor);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package dev.davwheat.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One player's connection to the GameServer.
+ * <p>
+ * Reads the player's lines on its own thread and hands them to their Table.
+ * Lines sent to the player are buffered until `flush()` is called.
+ */
+class ClientConnection implements Runnable {
+    /**
+     * The server which accepted this connection.
+     */
+    private final GameServer server;
+
+    /**
+     * The player's socket.
+     */
+    private final Socket socket;
+
+    /**
+     * Buffered writer for lines sent to the player.
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * The table the player is sitting at, or null if they haven't joined one yet.
+     */
+    private Table table;
+
+    /**
+     * The player's seat at their table (the same as their `playerId`).
+     */
+    private int seat;
+
+    /**
+     * Whether the player only wants prompts, rather than all of the game's output.
+     */
+    private boolean isQuiet;
+
+    /**
+     * Whether the connection has been closed.
+     */
+    private volatile boolean isClosed;
+
+    /**
+     * Create a new instance of ClientConnection.
+     *
+     * @param server The server which accepted this connection
+     * @param socket The player's socket
+     * @throws IOException The socket couldn't be used
+     */
+    ClientConnection(final GameServer server, final Socket socket) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether the player only wants prompts, rather than all of the game's output.
+     *
+     * @return Whether the player is quiet
+     */
+    boolean isQuiet() {
+        return this.isQuiet;
+    }
+
+    /**
+     * Reads lines from the player until they disconnect.
+     */
+    @Override
+    public void run() {
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8))) {
+            this.send("HELLO Animopoly. Send: JOIN <players 2-8> <name> [QUIET]");
+            this.flush();
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (this.table == null) {
+                    this.handleJoin(line);
+                } else {
+                    this.table.handleAnswer(this.seat, line);
+                }
+            }
+        } catch (final IOException ignored) {
+            // The player disconnected
+        } finally {
+            this.close();
+
+            if (this.table != null) {
+                this.table.disconnect(this.seat);
+            }
+
+            this.server.connectionClosed();
+        }
+    }
+
+    /**
+     * Handles a line sent before the player has joined a table.
+     *
+     * @param line The line
+     */
+    private void handleJoin(final String line) {
+        final String[] parts = line.trim().split("\\s+");
+
+        if (parts.length < 3 || !parts[0].equalsIgnoreCase("JOIN")) {
+            this.send("ERROR Join a table first: JOIN <players 2-8> <name> [QUIET]");
+            this.flush();
+            return;
+        }
+
+        final int players;
+
+        try {
+            players = Integer.parseInt(parts[1]);
+        } catch (final NumberFormatException e) {
+            this.send("ERROR The number of players must be a whole number.");
+            this.flush();
+            return;
+        }
+
+        if (players < 2 || players > 8) {
+            this.send("ERROR Tables have between 2 and 8 players.");
+            this.flush();
+            return;
+        }
+
+        this.isQuiet = parts.length > 3 && parts[3].equalsIgnoreCase("QUIET");
+        this.server.joinTable(this, players, parts[2]);
+    }
+
+    /**
+     * Called by the Table when the player sits down.
+     *
+     * @param table The table
+     * @param seat  The player's seat
+     */
+    void seatAt(final Table table, final int seat) {
+        this.table = table;
+        this.seat = seat;
+    }
+
+    /**
+     * Queues a line to send to the player.
+     *
+     * @param line The line, without a line ending
+     */
+    synchronized void send(final String line) {
+        if (this.isClosed) {
+            return;
+        }
+
+        try {
+            this.writer.write(line);
+            this.writer.write('\n');
+        } catch (final IOException e) {
+            this.close();
+        }
+    }
+
+    /**
+     * Sends all queued lines to the player.
+     */
+    synchronized void flush() {
+        if (this.isClosed) {
+            return;
+        }
+
+        try {
+            this.writer.flush();
+        } catch (final IOException e) {
+            this.close();
+        }
+    }
+
+    /**
+     * Whether the connection has been closed.
+     *
+     * @return Whether closed
+     */
+    boolean isClosed() {
+        return this.isClosed;
+    }
+
+    /**
+     * Closes the connection. Does nothing if it's already closed.
+     */
+    void close() {
+        this.isClosed = true;
+
+        try {
+            this.socket.close();
+        } catch (final IOException ignored) {
+        }
+    }
+}
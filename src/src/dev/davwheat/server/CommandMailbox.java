@@ -0,0 +1,158 @@
+package dev.davwheat.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A queue of commands for one game, which are run one at a time in the order they were posted.
+ * <p>
+ * Any thread can post a command. The first post to an idle mailbox schedules it on the
+ * shared Executor, which then runs every queued command in batches. As only one thread
+ * ever drains a mailbox at once, commands can change the game without locking it, and
+ * many games can share a few threads.
+ * <p>
+ * Once the executor has been shut down, the mailbox closes: anything queued is thrown away,
+ * and later posts are ignored, so threads still posting (such as connections closing) don't fail.
+ */
+public class CommandMailbox {
+    /**
+     * Default number of commands run before giving the thread back to other mailboxes.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * Commands waiting to run.
+     */
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether the mailbox is scheduled on, or being drained by, the executor.
+     */
+    private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+    /**
+     * Whether the executor has refused to run the mailbox, so nothing more will ever run.
+     */
+    private volatile boolean isClosed;
+
+    /**
+     * Executor shared by many mailboxes.
+     */
+    private final Executor executor;
+
+    /**
+     * Number of commands run before giving the thread back to other mailboxes.
+     */
+    private final int batchSize;
+
+    /**
+     * Drains the mailbox. Kept so posting doesn't create a new lambda each time.
+     */
+    private final Runnable drainTask = this::drain;
+
+    /**
+     * Create a new instance of CommandMailbox.
+     *
+     * @param executor  Executor shared by many mailboxes
+     * @param batchSize Number of commands run before giving the thread back to other mailboxes
+     */
+    public CommandMailbox(final Executor executor, final int batchSize) {
+        if (executor == null) {
+            throw new NullPointerException("executor must be a valid instance of Executor, and not null.");
+        }
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1.");
+        }
+
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Create a new instance of CommandMailbox which runs up to `DEFAULT_BATCH_SIZE` commands at a time.
+     *
+     * @param executor Executor shared by many mailboxes
+     */
+    public CommandMailbox(final Executor executor) {
+        this(executor, CommandMailbox.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Queues a command to run after every command posted before it.
+     * <p>
+     * The command is ignored if the mailbox has closed.
+     *
+     * @param command The command
+     */
+    public void post(final Runnable command) {
+        if (command == null) {
+            throw new NullPointerException("command must be a valid instance of Runnable, and not null.");
+        }
+
+        if (this.isClosed) {
+            return;
+        }
+
+        this.commands.offer(command);
+        this.schedule();
+    }
+
+    /**
+     * Whether the mailbox has closed because its executor was shut down.
+     *
+     * @return Whether it's closed
+     */
+    public boolean isClosed() {
+        return this.isClosed;
+    }
+
+    /**
+     * Schedules the mailbox to be drained, unless it's already scheduled.
+     * <p>
+     * If the executor refuses, the mailbox closes and throws away its commands.
+     */
+    private void schedule() {
+        if (this.isScheduled.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this.drainTask);
+            } catch (final RejectedExecutionException e) {
+                this.isClosed = true;
+                this.commands.clear();
+                this.isScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Runs up to a batch of commands, then reschedules the mailbox if any are left.
+     */
+    private void drain() {
+        try {
+            for (int i = 0; i < this.batchSize; i++) {
+                final Runnable command = this.commands.poll();
+
+                if (command == null) {
+                    break;
+                }
+
+                try {
+                    command.run();
+                } catch (final RuntimeException e) {
+                    // One bad command shouldn't stop the rest of the game
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            this.isScheduled.set(false);
+
+            // A command may have been posted after the last poll, but before it could schedule the mailbox
+            if (!this.commands.isEmpty()) {
+                this.schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package dev.davwheat.server;
+
+import dev.davwheat.simulation.MonteCarloRunner;
+import dev.davwheat.simulation.MonteCarloTreeSearch;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hosts many games of Animopoly at once over TCP.
+ * <p>
+ * Players connect, send `JOIN <players> <name>`, and are seated at the next table
+ * waiting for that many players. Once the table is full, the game starts and each
+ * player is sent `PROMPT` lines to answer with the number of their choice.
+ * <p>
+ * Each connection is read by its own thread. These are given small stacks so that
+ * thousands of them fit in memory. Answers are posted to their table's
+ * CommandMailbox, and every table's commands are run by a small shared pool of
+ * threads, so a thread waiting for its player doesn't hold anything up.
+ * <p>
+ * If bots are enabled, tables which are still waiting for players after a while have
+ * their empty seats filled by a MonteCarloTreeSearch. Bots think on the search's own
+ * threads, so the table's commands carry on running while they do.
+ */
+public class GameServer implements Runnable, AutoCloseable {
+    /**
+     * Size of the stack given to each of the server's threads, in bytes.
+     */
+    static final long CONNECTION_STACK_SIZE = 256 * 1024;
+
+    /**
+     * Default number of turns before a game is stopped.
+     */
+    public static final int DEFAULT_TURN_LIMIT = 500;
+
+    /**
+     * Length of one tick of the turn timer, in milliseconds. Turns may run over by up to this long.
+     */
+    private static final long TIMER_TICK_MILLIS = 100;
+
+    /**
+     * Number of buckets in the turn timer. With 100ms ticks, timeouts up to 51.2s are found in one turn of the wheel.
+     */
+    private static final int TIMER_BUCKETS = 512;
+
+    /**
+     * Socket accepting new players.
+     */
+    private final ServerSocket serverSocket;
+
+    /**
+     * Runs each connection's thread.
+     */
+    private final ExecutorService connectionExecutor;
+
+    /**
+     * Runs every table's commands.
+     */
+    private final ExecutorService commandExecutor;
+
+    /**
+     * Number of turns before a game is stopped.
+     */
+    final int turnLimit;
+
+    /**
+     * Seed every table's game is seeded from.
+     */
+    private final long seed;
+
+    /**
+     * Longest a player can take over a turn before it's ended for them, in milliseconds.
+     */
+    final long turnTimeoutMillis;
+
+    /**
+     * Times every table's turns and waits to fill tables with bots, or null if neither is needed.
+     */
+    final HashedWheelTimer turnTimer;
+
+    /**
+     * How long a table waits for players before its empty seats are filled with bots, in milliseconds, or 0 for never.
+     */
+    private final long botFillMillis;
+
+    /**
+     * Makes every bot's decisions, or null if there are no bots.
+     */
+    final MonteCarloTreeSearch botSearch;
+
+    /**
+     * Tables still waiting for players, by number of seats.
+     */
+    private final Map<Integer, Table> waitingTables = new HashMap<>();
+
+    /**
+     * ID given to the next table.
+     */
+    private final AtomicLong nextTableId = new AtomicLong();
+
+    /**
+     * Number of connections currently open.
+     */
+    private final LongAdder openConnections = new LongAdder();
+
+    /**
+     * Number of tables whose games are being played.
+     */
+    private final LongAdder activeTables = new LongAdder();
+
+    /**
+     * Number of tables whose games have finished.
+     */
+    private final LongAdder finishedTables = new LongAdder();
+
+    /**
+     * Time between a player answering and the next prompt being sent.
+     */
+    final LatencyRecorder turnLatency = new LatencyRecorder();
+
+    /**
+     * Create a new instance of GameServer.
+     *
+     * @param port      Port to listen on, or 0 to pick any free port
+     * @param turnLimit Number of turns before a game is stopped
+     * @param seed      Seed every table's game is seeded from
+     * @throws IOException The port couldn't be listened on
+     */
+    public GameServer(final int port, final int turnLimit, final long seed) throws IOException {
+        this(port, turnLimit, seed, 0);
+    }
+
+    /**
+     * Create a new instance of GameServer, which ends turns that take too long.
+     *
+     * @param port              Port to listen on, or 0 to pick any free port
+     * @param turnLimit         Number of turns before a game is stopped
+     * @param seed              Seed every table's game is seeded from
+     * @param turnTimeoutMillis Longest a player can take over a turn, in milliseconds, or 0 for no limit
+     * @throws IOException The port couldn't be listened on
+     */
+    public GameServer(final int port, final int turnLimit, final long seed, final long turnTimeoutMillis) throws IOException {
+        this(port, turnLimit, seed, turnTimeoutMillis, 0, 0);
+    }
+
+    /**
+     * Create a new instance of GameServer, which ends turns that take too long and fills empty seats with bots.
+     *
+     * @param port              Port to listen on, or 0 to pick any free port
+     * @param turnLimit         Number of turns before a game is stopped
+     * @param seed              Seed every table's game is seeded from
+     * @param turnTimeoutMillis Longest a player can take over a turn, in milliseconds, or 0 for no limit
+     * @param botFillMillis     How long a table waits for players before bots fill its empty seats, in milliseconds, or 0 for never
+     * @param botThinkMillis    How long bots think about each decision, in milliseconds
+     * @throws IOException The port couldn't be listened on
+     */
+    public GameServer(final int port, final int turnLimit, final long seed, final long turnTimeoutMillis, final long botFillMillis, final long botThinkMillis) throws IOException {
+        if (turnTimeoutMillis < 0) {
+            throw new IllegalArgumentException("turnTimeoutMillis must not be negative.");
+        }
+
+        if (botFillMillis < 0) {
+            throw new IllegalArgumentException("botFillMillis must not be negative.");
+        }
+
+        this.serverSocket = new ServerSocket(port, 4096);
+        this.turnLimit = turnLimit;
+        this.seed = seed;
+        this.turnTimeoutMillis = turnTimeoutMillis;
+        this.botFillMillis = botFillMillis;
+        this.botSearch = botFillMillis == 0 ? null : new MonteCarloTreeSearch(botThinkMillis);
+        this.turnTimer = turnTimeoutMillis == 0 && botFillMillis == 0 ? null : new HashedWheelTimer(GameServer.TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS, GameServer.TIMER_BUCKETS);
+        this.connectionExecutor = Executors.newCachedThreadPool(GameServer.createSmallStackThreadFactory("animopoly-connection"));
+        this.commandExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), GameServer.createSmallStackThreadFactory("animopoly-table"));
+    }
+
+    /**
+     * Creates a ThreadFactory for daemon threads with small stacks.
+     *
+     * @param name Name given to each thread
+     * @return the thread factory
+     */
+    static ThreadFactory createSmallStackThreadFactory(final String name) {
+        return runnable -> {
+            final Thread thread = new Thread(null, runnable, name, GameServer.CONNECTION_STACK_SIZE);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts players until the server is closed.
+     */
+    @Override
+    public void run() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                final Socket socket = this.serverSocket.accept();
+                socket.setTcpNoDelay(true);
+
+                this.openConnections.increment();
+                this.connectionExecutor.execute(new ClientConnection(this, socket));
+            } catch (final IOException e) {
+                if (!this.serverSocket.isClosed()) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting players and disconnects everyone.
+     */
+    @Override
+    public void close() {
+        try {
+            this.serverSocket.close();
+        } catch (final IOException ignored) {
+        }
+
+        this.connectionExecutor.shutdownNow();
+        this.commandExecutor.shutdownNow();
+
+        if (this.turnTimer != null) {
+            this.turnTimer.close();
+        }
+
+        if (this.botSearch != null) {
+            this.botSearch.close();
+        }
+    }
+
+    /**
+     * Seats a player at the next table waiting for that many players.
+     *
+     * @param connection The player's connection
+     * @param players    Number of players they want to play with
+     * @param name       The name they asked for
+     */
+    void joinTable(final ClientConnection connection, final int players, final String name) {
+        final Table table;
+
+        synchronized (this.waitingTables) {
+            Table waiting = this.waitingTables.get(players);
+
+            if (waiting == null) {
+                waiting = new Table(this, this.nextTableId.getAndIncrement(), players, new CommandMailbox(this.commandExecutor));
+                this.waitingTables.put(players, waiting);
+
+                if (this.botSearch != null) {
+                    final Table newTable = waiting;
+                    this.turnTimer.schedule(() -> this.fillWithBots(newTable, players), this.botFillMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            table = waiting;
+
+            if (!table.join(connection, name)) {
+                return;
+            }
+
+            this.waitingTables.remove(players);
+            this.activeTables.increment();
+        }
+
+        table.start();
+    }
+
+    /**
+     * Fills a table's empty seats with bots and starts its game, if it's still waiting for players.
+     *
+     * @param table   The table
+     * @param players Number of seats at the table
+     */
+    private void fillWithBots(final Table table, final int players) {
+        synchronized (this.waitingTables) {
+            if (this.waitingTables.get(players) != table) {
+                // It filled up with players first
+                return;
+            }
+
+            this.waitingTables.remove(players);
+            table.fillWithBots();
+            this.activeTables.increment();
+        }
+
+        table.start();
+    }
+
+    /**
+     * Gets the seed for a table's game.
+     *
+     * @param tableId ID of the table
+     * @return the seed
+     */
+    long seedForTable(final long tableId) {
+        return MonteCarloRunner.seedForGame(this.seed, tableId);
+    }
+
+    /**
+     * Called by a Table when its game is over.
+     *
+     * @param table The table
+     */
+    void tableFinished(final Table table) {
+        this.activeTables.decrement();
+        this.finishedTables.increment();
+    }
+
+    /**
+     * Called by a ClientConnection once it has closed.
+     */
+    void connectionClosed() {
+        this.openConnections.decrement();
+    }
+
+    /**
+     * Gets the number of tables whose games have finished.
+     *
+     * @return count
+     */
+    public long getFinishedTableCount() {
+        return this.finishedTables.sum();
+    }
+
+    /**
+     * Prints how busy the server is.
+     *
+     * @param out Where to print
+     */
+    public void printStats(final PrintStream out) {
+        out.printf("%d connections, %d tables playing, %d finished. Turn latency: %s\n",
+                this.openConnections.sum(), this.activeTables.sum(), this.finishedTables.sum(), this.turnLatency);
+
+        if (this.botSearch != null) {
+            this.botSearch.printStats(out);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package dev.davwheat.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks after a delay, for any number of timers, using a single thread.
+ * <p>
+ * Timers are kept in a ring of buckets (the "wheel"), with one bucket for each tick.
+ * Every tick, the thread moves on to the next bucket and runs the timers in it which
+ * are due. Timers further away than one turn of the wheel wait in their bucket for
+ * however many more turns they need.
+ * <p>
+ * Scheduling and cancelling a timer only add it to a queue, and the thread then
+ * links or unlinks it from its bucket, so both take the same time however many
+ * timers there are. Tasks may run up to one tick late, and are run on the timer's
+ * thread, so they should be quick (such as posting to a CommandMailbox).
+ */
+public class HashedWheelTimer implements AutoCloseable {
+    /**
+     * Each bucket of the wheel. The bucket for a tick is `tick & mask`.
+     */
+    private final Timeout[] buckets;
+
+    /**
+     * Mask to find the bucket for a tick.
+     */
+    private final int mask;
+
+    /**
+     * Length of one tick, in nanoseconds.
+     */
+    private final long tickNanos;
+
+    /**
+     * Timers waiting to be put into their bucket.
+     */
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Timers waiting to be taken out of their bucket.
+     */
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The thread which moves the wheel on.
+     */
+    private final Thread workerThread;
+
+    /**
+     * When the timer was started, from `System.nanoTime()`.
+     */
+    private final long startNanos;
+
+    /**
+     * The tick the wheel is on. Only used by the worker thread.
+     */
+    private long tick;
+
+    /**
+     * Whether the timer has been closed.
+     */
+    private volatile boolean isClosed;
+
+    /**
+     * Create a new instance of HashedWheelTimer, and start its thread.
+     *
+     * @param tickDuration Length of one tick
+     * @param unit         Unit of `tickDuration`
+     * @param bucketCount  Number of buckets. Rounded up to a power of 2.
+     */
+    public HashedWheelTimer(final long tickDuration, final TimeUnit unit, final int bucketCount) {
+        if (tickDuration < 1) {
+            throw new IllegalArgumentException("tickDuration must be at least 1.");
+        }
+
+        if (bucketCount < 1 || bucketCount > 1 << 20) {
+            throw new IllegalArgumentException("bucketCount must be between 1 and 2^20.");
+        }
+
+        final int size = Integer.highestOneBit(bucketCount - 1) << 1;
+
+        this.buckets = new Timeout[Math.max(1, size)];
+        this.mask = this.buckets.length - 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.startNanos = System.nanoTime();
+
+        this.workerThread = new Thread(this::run, "animopoly-timer");
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    /**
+     * Runs a task after a delay.
+     *
+     * @param task  The task
+     * @param delay How long to wait
+     * @param unit  Unit of `delay`
+     * @return The timer, which can be cancelled
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        if (task == null) {
+            throw new NullPointerException("task must be a valid instance of Runnable, and not null.");
+        }
+
+        if (this.isClosed) {
+            throw new IllegalStateException("The timer has been closed.");
+        }
+
+        final long deadline = System.nanoTime() - this.startNanos + unit.toNanos(Math.max(0, delay));
+        final Timeout timeout = new Timeout(this, task, deadline);
+
+        this.scheduled.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer's thread. Timers which haven't run yet never will.
+     */
+    @Override
+    public void close() {
+        this.isClosed = true;
+        this.workerThread.interrupt();
+    }
+
+    /**
+     * Moves the wheel on every tick until the timer is closed.
+     */
+    private void run() {
+        while (!this.isClosed) {
+            final long sleepNanos = (this.tick + 1) * this.tickNanos - (System.nanoTime() - this.startNanos);
+
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+            }
+
+            this.removeCancelled();
+            this.addScheduled();
+            this.expire(this.buckets[(int) (this.tick & this.mask)]);
+            this.tick++;
+        }
+    }
+
+    /**
+     * Puts newly scheduled timers into their buckets.
+     */
+    private void addScheduled() {
+        Timeout timeout;
+
+        while ((timeout = this.scheduled.poll()) != null) {
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+
+            // Don't put timers which are already due behind the bucket being expired
+            final long dueTick = Math.max(this.tick, timeout.deadline / this.tickNanos);
+
+            timeout.remainingRounds = (dueTick - this.tick) / this.buckets.length;
+            this.link(timeout, (int) (dueTick & this.mask));
+        }
+    }
+
+    /**
+     * Takes cancelled timers out of their buckets.
+     */
+    private void removeCancelled() {
+        Timeout timeout;
+
+        while ((timeout = this.cancelled.poll()) != null) {
+            if (timeout.bucket >= 0) {
+                this.unlink(timeout);
+            }
+        }
+    }
+
+    /**
+     * Runs the timers in a bucket which are due, and counts down a turn of the wheel for the rest.
+     *
+     * @param head First timer in the bucket
+     */
+    private void expire(Timeout head) {
+        while (head != null) {
+            final Timeout next = head.next;
+
+            if (head.remainingRounds <= 0) {
+                this.unlink(head);
+
+                if (head.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                    try {
+                        head.task.run();
+                    } catch (final RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                }
+            } else {
+                head.remainingRounds--;
+            }
+
+            head = next;
+        }
+    }
+
+    /**
+     * Adds a timer to the front of a bucket.
+     *
+     * @param timeout The timer
+     * @param bucket  Index of the bucket
+     */
+    private void link(final Timeout timeout, final int bucket) {
+        final Timeout head = this.buckets[bucket];
+
+        timeout.bucket = bucket;
+        timeout.next = head;
+
+        if (head != null) {
+            head.previous = timeout;
+        }
+
+        this.buckets[bucket] = timeout;
+    }
+
+    /**
+     * Removes a timer from its bucket.
+     *
+     * @param timeout The timer
+     */
+    private void unlink(final Timeout timeout) {
+        if (timeout.previous == null) {
+            this.buckets[timeout.bucket] = timeout.next;
+        } else {
+            timeout.previous.next = timeout.next;
+        }
+
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    /**
+     * A task waiting in a HashedWheelTimer.
+     */
+    public static final class Timeout {
+        /**
+         * Waiting to run.
+         */
+        private static final int PENDING = 0;
+
+        /**
+         * Cancelled before it ran.
+         */
+        private static final int CANCELLED = 1;
+
+        /**
+         * Has run, or is running.
+         */
+        private static final int EXPIRED = 2;
+
+        /**
+         * The timer this belongs to.
+         */
+        private final HashedWheelTimer timer;
+
+        /**
+         * Task to run.
+         */
+        private final Runnable task;
+
+        /**
+         * When to run the task, in nanoseconds after the timer started.
+         */
+        private final long deadline;
+
+        /**
+         * Whether this is pending, cancelled or expired.
+         */
+        private final AtomicInteger state = new AtomicInteger(Timeout.PENDING);
+
+        /**
+         * Turns of the wheel left before the task runs. Only used by the worker thread.
+         */
+        private long remainingRounds;
+
+        /**
+         * Index of the bucket this is in, or -1 if it isn't in one. Only used by the worker thread.
+         */
+        private int bucket = -1;
+
+        /**
+         * Previous timer in the bucket. Only used by the worker thread.
+         */
+        private Timeout previous;
+
+        /**
+         * Next timer in the bucket. Only used by the worker thread.
+         */
+        private Timeout next;
+
+        /**
+         * Create a new instance of Timeout.
+         *
+         * @param timer    The timer this belongs to
+         * @param task     Task to run
+         * @param deadline When to run the task, in nanoseconds after the timer started
+         */
+        private Timeout(final HashedWheelTimer timer, final Runnable task, final long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Stops the task from running, if it hasn't already.
+         *
+         * @return Whether the task was stopped
+         */
+        public boolean cancel() {
+            if (!this.state.compareAndSet(Timeout.PENDING, Timeout.CANCELLED)) {
+                return false;
+            }
+
+            this.timer.cancelled.offer(this);
+            return true;
+        }
+
+        /**
+         * Whether the task has run, or is running.
+         *
+         * @return Whether expired
+         */
+        public boolean isExpired() {
+            return this.state.get() == Timeout.EXPIRED;
+        }
+
+        /**
+         * Whether the task was cancelled before it ran.
+         *
+         * @return Whether cancelled
+         */
+        public boolean isCancelled() {
+            return this.state.get() == Timeout.CANCELLED;
+        }
+    }
+}
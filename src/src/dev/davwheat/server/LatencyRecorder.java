@@ -0,0 +1,96 @@
+package dev.davwheat.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records latencies from many threads at once, without locking.
+ * <p>
+ * Latencies are counted in buckets which double in size (1µs, 2µs, 4µs...), so
+ * percentiles are reported as the top of the bucket they fall in.
+ */
+class LatencyRecorder {
+    /**
+     * Number of buckets. The last bucket holds everything above about 9 minutes.
+     */
+    private static final int BUCKET_COUNT = 40;
+
+    /**
+     * Number of latencies in each bucket. Bucket `i` holds latencies below 2^i microseconds.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(LatencyRecorder.BUCKET_COUNT);
+
+    /**
+     * Number of latencies recorded.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of all latencies recorded, in nanoseconds.
+     */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * Largest latency recorded, in nanoseconds.
+     */
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos Latency in nanoseconds
+     */
+    void record(final long nanos) {
+        final long micros = Math.max(0, nanos / 1000);
+        final int bucket = Math.min(LatencyRecorder.BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+
+        this.buckets.incrementAndGet(bucket);
+        this.count.increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Gets the number of latencies recorded.
+     *
+     * @return count
+     */
+    long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets a percentile of all latencies recorded.
+     *
+     * @param percentile Percentile, from 0 to 100
+     * @return Upper bound of the percentile, in microseconds
+     */
+    long getPercentileMicros(final double percentile) {
+        final long total = this.getCount();
+        final long target = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+
+        for (int i = 0; i < LatencyRecorder.BUCKET_COUNT; i++) {
+            seen += this.buckets.get(i);
+
+            if (seen >= target && seen > 0) {
+                return 1L << i;
+            }
+        }
+
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        final long total = this.getCount();
+
+        if (total == 0) {
+            return "no samples";
+        }
+
+        return String.format("mean %dµs, p50 <%dµs, p99 <%dµs, max %dµs (%d samples)",
+                this.totalNanos.sum() / total / 1000, this.getPercentileMicros(50), this.getPercentileMicros(99), this.maxNanos.get() / 1000, total);
+    }
+}
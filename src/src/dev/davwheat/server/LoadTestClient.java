@@ -0,0 +1,183 @@
+package dev.davwheat.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays many tables' worth of bots against a GameServer at once, and reports how quickly it kept up.
+ * <p>
+ * Each bot answers every prompt straight away with a random choice, so the latency
+ * measured is how long the server took to move a table's game on to its next prompt,
+ * whichever player that prompt was for.
+ */
+public class LoadTestClient {
+    /**
+     * Host the server is running on.
+     */
+    private final String host;
+
+    /**
+     * Port the server is listening on.
+     */
+    private final int port;
+
+    /**
+     * Number of tables to fill.
+     */
+    private final int tables;
+
+    /**
+     * Number of players at each table.
+     */
+    private final int players;
+
+    /**
+     * Time between a bot answering and the next prompt at their table arriving.
+     */
+    private final LatencyRecorder promptLatency = new LatencyRecorder();
+
+    /**
+     * When the last answer was sent at each table, by table ID.
+     */
+    private final ConcurrentHashMap<Long, AtomicLong> answeredAt = new ConcurrentHashMap<>();
+
+    /**
+     * Number of answers sent.
+     */
+    private final LongAdder decisions = new LongAdder();
+
+    /**
+     * Number of bots whose game finished.
+     */
+    private final LongAdder finishedBots = new LongAdder();
+
+    /**
+     * Create a new instance of LoadTestClient.
+     *
+     * @param host    Host the server is running on
+     * @param port    Port the server is listening on
+     * @param tables  Number of tables to fill
+     * @param players Number of players at each table
+     */
+    public LoadTestClient(final String host, final int port, final int tables, final int players) {
+        if (tables < 1) {
+            throw new IllegalArgumentException("At least one table must be played.");
+        }
+
+        if (players < 2 || players > 8) {
+            throw new IllegalArgumentException("Tables have between 2 and 8 players.");
+        }
+
+        this.host = host;
+        this.port = port;
+        this.tables = tables;
+        this.players = players;
+    }
+
+    /**
+     * Plays every table to the end.
+     *
+     * @param out     Where to print the report
+     * @param timeout Longest to wait for every game to finish, in seconds
+     * @return Whether every game finished in time
+     * @throws InterruptedException Interrupted while waiting for the games
+     */
+    public boolean run(final PrintStream out, final long timeout) throws InterruptedException {
+        final int bots = this.tables * this.players;
+        final CountDownLatch finished = new CountDownLatch(bots);
+        final ExecutorService executor = Executors.newFixedThreadPool(bots, GameServer.createSmallStackThreadFactory("animopoly-bot"));
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < bots; i++) {
+            final int bot = i;
+
+            executor.execute(() -> {
+                try {
+                    this.playBot(bot);
+                } catch (final IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        final boolean completed = finished.await(timeout, TimeUnit.SECONDS);
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdownNow();
+
+        out.printf("%d of %d bots finished %d tables in %.2fs (%.0f decisions/sec, %.1f games/sec)\n",
+                this.finishedBots.sum(), bots, this.tables, seconds, this.decisions.sum() / seconds, this.finishedBots.sum() / (double) this.players / seconds);
+        out.println("Prompt latency: " + this.promptLatency);
+
+        return completed && this.finishedBots.sum() == bots;
+    }
+
+    /**
+     * Connects one bot and plays until its game is over.
+     *
+     * @param bot Number of the bot
+     * @throws IOException The connection failed
+     */
+    private void playBot(final int bot) throws IOException {
+        final SplittableRandom random = new SplittableRandom(bot);
+
+        try (final Socket socket = new Socket(this.host, this.port)) {
+            socket.setTcpNoDelay(true);
+
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            writer.write("JOIN " + this.players + " bot" + bot + " QUIET\n");
+            writer.flush();
+
+            AtomicLong answeredAt = null;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("PROMPT ")) {
+                    final long lastAnswer = answeredAt.get();
+
+                    if (lastAnswer != 0) {
+                        this.promptLatency.record(System.nanoTime() - lastAnswer);
+                    }
+
+                    // PROMPT <type> <number of choices> <description>
+                    final int start = line.indexOf(' ', 7) + 1;
+                    final int choices = Integer.parseInt(line.substring(start, line.indexOf(' ', start)));
+
+                    // Set before sending, as the next prompt may go to another bot
+                    answeredAt.set(System.nanoTime());
+                    writer.write(Integer.toString(random.nextInt(choices)));
+                    writer.write('\n');
+                    writer.flush();
+
+                    this.decisions.increment();
+                } else if (line.startsWith("START ")) {
+                    // START <table ID> <seat> <identifier> <name>
+                    final long tableId = Long.parseLong(line.substring(6, line.indexOf(' ', 6)));
+                    answeredAt = this.answeredAt.computeIfAbsent(tableId, id -> new AtomicLong());
+                } else if (line.startsWith("GAME_OVER ")) {
+                    this.finishedBots.increment();
+                    return;
+                } else if (line.startsWith("ERROR ")) {
+                    System.err.println("bot" + bot + ": " + line);
+                }
+            }
+        }
+    }
+}
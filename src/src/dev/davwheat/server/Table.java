@@ -0,0 +1,460 @@
+package dev.davwheat.server;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.Money;
+import dev.davwheat.PendingDecision;
+import dev.davwheat.Player;
+import dev.davwheat.Renderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single game hosted by the GameServer, with a ClientConnection in each seat.
+ * <p>
+ * The game only runs when a player answers a prompt, so a table waiting for a
+ * player doesn't use a thread. Each seat's answers arrive on that seat's own
+ * thread, so they're posted to the table's CommandMailbox, which applies them
+ * to the game one at a time.
+ * <p>
+ * Seats without a connection are played by the server's bot. The bot's answers are
+ * posted to the mailbox too, once it has finished thinking.
+ */
+class Table {
+    /**
+     * The server hosting the table.
+     */
+    private final GameServer server;
+
+    /**
+     * ID of the table, unique within the server.
+     */
+    final long tableId;
+
+    /**
+     * Runs every command which reads or changes the game, one at a time.
+     */
+    private final CommandMailbox mailbox;
+
+    /**
+     * The connection in each seat, in the order they joined, or null for a bot.
+     */
+    private final ClientConnection[] seats;
+
+    /**
+     * The name asked for by each seat, or null for a bot.
+     */
+    private final String[] names;
+
+    /**
+     * Number of seats which have been filled.
+     */
+    private int seatsFilled;
+
+    /**
+     * The game being played, or null if the table is still filling up.
+     */
+    private Game game;
+
+    /**
+     * When the last answer was received, from `System.nanoTime()`.
+     */
+    private long answerReceivedAt;
+
+    /**
+     * Whether the game has finished.
+     */
+    private boolean isFinished;
+
+    /**
+     * Timer for the current turn, or null if it isn't being timed.
+     */
+    private HashedWheelTimer.Timeout turnTimeout;
+
+    /**
+     * The turn `turnTimeout` is timing.
+     */
+    private int timedTurn = -1;
+
+    /**
+     * A turn which ran out of time, whose decisions are being answered with the default choice.
+     */
+    private int expiredTurn = -1;
+
+    /**
+     * Create a new instance of Table.
+     *
+     * @param server  The server hosting the table
+     * @param tableId ID of the table
+     * @param players Number of seats
+     * @param mailbox Runs the table's commands
+     */
+    Table(final GameServer server, final long tableId, final int players, final CommandMailbox mailbox) {
+        this.server = server;
+        this.tableId = tableId;
+        this.mailbox = mailbox;
+        this.seats = new ClientConnection[players];
+        this.names = new String[players];
+    }
+
+    /**
+     * Sits a player at the table. Once every seat is filled, call `start()`.
+     * <p>
+     * This is only called by the GameServer while it's holding its lobby lock, before the game has started.
+     *
+     * @param connection The player's connection
+     * @param name       The name the player asked for
+     * @return Whether the table is now full
+     */
+    boolean join(final ClientConnection connection, final String name) {
+        final int seat = this.seatsFilled++;
+
+        this.seats[seat] = connection;
+        this.names[seat] = name;
+        connection.seatAt(this, seat);
+
+        if (this.seatsFilled < this.seats.length) {
+            connection.send("WAITING " + this.seatsFilled + "/" + this.seats.length);
+            connection.flush();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Sits bots in every empty seat. Call `start()` afterwards.
+     * <p>
+     * This is only called by the GameServer while it's holding its lobby lock, before the game has started.
+     */
+    void fillWithBots() {
+        // The bots' names are picked by TableSetupPolicy, once it knows which names the players took
+        this.seatsFilled = this.seats.length;
+    }
+
+    /**
+     * Starts the game, then runs it until the first prompt.
+     */
+    void start() {
+        this.mailbox.post(this::startGame);
+    }
+
+    /**
+     * Handles a line sent by the player in a seat.
+     *
+     * @param seat The seat
+     * @param line The line
+     */
+    void handleAnswer(final int seat, final String line) {
+        this.mailbox.post(() -> this.applyAnswer(seat, line));
+    }
+
+    /**
+     * Handles a player disconnecting. Their decisions are answered with the default choice from now on.
+     *
+     * @param seat The seat
+     */
+    void disconnect(final int seat) {
+        this.mailbox.post(() -> this.applyDisconnect(seat));
+    }
+
+    /**
+     * Creates the game, then runs it until the first prompt.
+     */
+    private void startGame() {
+        boolean everyoneQuiet = true;
+
+        for (final ClientConnection seat : this.seats) {
+            everyoneQuiet &= seat == null || seat.isQuiet();
+        }
+
+        final Renderer renderer = everyoneQuiet
+                ? Renderer.createQuietRenderer()
+                : new Renderer(new PrintStream(new TableOutputStream(), false, StandardCharsets.UTF_8), true);
+
+        this.game = new Game(new TableSetupPolicy(this.names), renderer, this.server.turnLimit, this.server.seedForTable(this.tableId));
+
+        for (int seat = 0; seat < this.seats.length; seat++) {
+            if (this.seats[seat] == null) {
+                continue;
+            }
+
+            final Player player = this.game.getPlayers().get(seat);
+            this.seats[seat].send("START " + this.tableId + " " + seat + " " + player.playerVisualIdentifier + " " + player.playerName);
+            this.seats[seat].flush();
+        }
+
+        this.answerReceivedAt = System.nanoTime();
+        this.advance();
+    }
+
+    /**
+     * Applies a line sent by the player in a seat to the game.
+     *
+     * @param seat The seat
+     * @param line The line
+     */
+    private void applyAnswer(final int seat, final String line) {
+        final ClientConnection connection = this.seats[seat];
+
+        if (this.game == null || this.isFinished) {
+            connection.send("ERROR The game isn't running.");
+            connection.flush();
+            return;
+        }
+
+        final PendingDecision decision = this.game.getPendingDecision();
+
+        if (decision == null || decision.player.playerId != seat) {
+            connection.send("ERROR It isn't your turn to choose.");
+            connection.flush();
+            return;
+        }
+
+        final String trimmed = line.trim();
+        int choice;
+
+        try {
+            // Pressing ENTER continues
+            choice = trimmed.isEmpty() ? decision.getDefaultChoice() : Integer.parseInt(trimmed);
+        } catch (final NumberFormatException e) {
+            choice = -1;
+        }
+
+        if (!decision.isValidChoice(choice)) {
+            connection.send("ERROR Choose a number from 0 to " + (decision.getChoiceCount() - 1) + ".");
+            this.sendPrompt(connection, decision);
+            return;
+        }
+
+        this.answerReceivedAt = System.nanoTime();
+        this.game.submitDecision(choice);
+        this.advance();
+    }
+
+    /**
+     * Applies the bot's answer to a decision, if the game is still waiting for it.
+     *
+     * @param decision The decision the bot was asked
+     * @param choice   The bot's choice
+     */
+    private void applyBotAnswer(final PendingDecision decision, final int choice) {
+        if (this.isFinished || this.game.getPendingDecision() != decision) {
+            return;
+        }
+
+        this.answerReceivedAt = System.nanoTime();
+        this.game.submitDecision(choice);
+        this.advance();
+    }
+
+    /**
+     * Asks the bot to make a decision, without waiting for it to finish thinking.
+     *
+     * @param decision The decision
+     */
+    private void askBot(final PendingDecision decision) {
+        this.server.botSearch.chooseAsync(this.game, decision).whenComplete((choice, error) -> {
+            // Carry on without the bot's help if it failed
+            final int answer = error == null ? choice : decision.getDefaultChoice();
+            this.mailbox.post(() -> this.applyBotAnswer(decision, answer));
+        });
+    }
+
+    /**
+     * Ends a turn which has run out of time, by answering the rest of its decisions with the default choice.
+     * <p>
+     * This declines to buy the Animal, skips the Chance card, and ends the turn without upgrading.
+     *
+     * @param turn The turn which ran out of time
+     */
+    private void applyTurnTimeout(final int turn) {
+        if (this.isFinished || this.game.getTurnCount() != turn || this.game.getPendingDecision() == null) {
+            // The turn ended before the timeout got here
+            return;
+        }
+
+        final ClientConnection connection = this.seats[this.game.getPendingDecision().player.playerId];
+        connection.send("TIMEOUT Your turn ran out of time.");
+
+        this.expiredTurn = turn;
+        this.answerReceivedAt = System.nanoTime();
+        this.advance();
+    }
+
+    /**
+     * Starts timing a turn, unless it's already being timed. Stops timing the previous turn.
+     */
+    private void timeTurn() {
+        final int turn = this.game.getTurnCount();
+
+        if (this.server.turnTimeoutMillis == 0 || turn == this.timedTurn) {
+            return;
+        }
+
+        this.stopTimingTurn();
+        this.timedTurn = turn;
+        this.turnTimeout = this.server.turnTimer.schedule(() -> this.mailbox.post(() -> this.applyTurnTimeout(turn)), this.server.turnTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops timing the current turn.
+     */
+    private void stopTimingTurn() {
+        if (this.turnTimeout != null) {
+            this.turnTimeout.cancel();
+            this.turnTimeout = null;
+        }
+    }
+
+    /**
+     * Answers for a player who disconnected, if the game was waiting on them.
+     *
+     * @param seat The seat
+     */
+    private void applyDisconnect(final int seat) {
+        if (this.game == null || this.isFinished) {
+            return;
+        }
+
+        final PendingDecision decision = this.game.getPendingDecision();
+
+        // Answer for them if the game was waiting on them
+        if (decision != null && decision.player.playerId == seat) {
+            this.advance();
+        }
+    }
+
+    /**
+     * Runs the game until a connected player needs to make a decision, then prompts them.
+     */
+    private void advance() {
+        PendingDecision decision;
+
+        while ((decision = this.game.advance()) != null) {
+            final ClientConnection connection = this.seats[decision.player.playerId];
+
+            if (connection == null) {
+                if (decision.getChoiceCount() == 1) {
+                    this.game.submitDecision(0);
+                    continue;
+                }
+
+                this.askBot(decision);
+                return;
+            }
+
+            if (connection.isClosed() || this.expiredTurn == this.game.getTurnCount()) {
+                this.game.submitDecision(decision.getDefaultChoice());
+                continue;
+            }
+
+            this.timeTurn();
+            this.sendPrompt(connection, decision);
+            this.server.turnLatency.record(System.nanoTime() - this.answerReceivedAt);
+            return;
+        }
+
+        this.finish();
+    }
+
+    /**
+     * Tells every player the result, then closes their connections.
+     */
+    private void finish() {
+        if (this.isFinished) {
+            return;
+        }
+
+        this.isFinished = true;
+        this.stopTimingTurn();
+
+        final Player winner = this.game.getWinner();
+        final String result = "GAME_OVER " + (winner == null ? -1 : winner.playerId) + " " + this.game.getTurnCount();
+
+        for (final ClientConnection connection : this.seats) {
+            if (connection == null) {
+                continue;
+            }
+
+            connection.send(result);
+            connection.flush();
+            connection.close();
+        }
+
+        this.server.tableFinished(this);
+    }
+
+    /**
+     * Sends a prompt to a player.
+     * <p>
+     * Prompts are one line: `PROMPT <decision type> <number of choices> <description>`.
+     *
+     * @param connection The player's connection
+     * @param decision   The decision to prompt for
+     */
+    private void sendPrompt(final ClientConnection connection, final PendingDecision decision) {
+        final StringBuilder sb = new StringBuilder(96);
+        sb.append("PROMPT ").append(decision.type).append(' ').append(decision.getChoiceCount()).append(' ');
+
+        switch (decision.type) {
+            case CONTINUE -> sb.append("Press ENTER to continue.");
+            case PURCHASE_ANIMAL -> {
+                sb.append("Buy ").append(decision.animal.displayName).append(" for ");
+                Money.appendTo(sb, decision.animal.purchaseCost).append("? 1 = yes, 0 = no");
+            }
+            case TAKE_CHANCE_CARD -> sb.append("You rolled a double! Pick up a Chance card? 1 = yes, 0 = no");
+            case UPGRADE_ANIMAL -> {
+                sb.append("0 = end turn");
+
+                for (int i = 0; i < decision.upgradeOptions.size(); i++) {
+                    final Animal animal = decision.upgradeOptions.get(i);
+                    sb.append(", ").append(i + 1).append(" = upgrade ").append(animal.displayName).append(" (L").append(animal.getCurrentLevel(this.game.gameBoardInstance).value).append(", ");
+                    Money.appendTo(sb, animal.upgradeCost).append(')');
+                }
+            }
+        }
+
+        connection.send(sb.toString());
+        connection.flush();
+    }
+
+    /**
+     * Sends each line of the game's output to every seat which wants it, as `OUT <line>`.
+     */
+    private class TableOutputStream extends OutputStream {
+        /**
+         * Bytes of the line being written.
+         */
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+
+        @Override
+        public void write(final int b) {
+            if (b == '\n') {
+                final String text = "OUT " + this.line.toString(StandardCharsets.UTF_8);
+                this.line.reset();
+
+                for (final ClientConnection connection : Table.this.seats) {
+                    if (connection != null && !connection.isQuiet()) {
+                        connection.send(text);
+                    }
+                }
+            } else {
+                this.line.write(b);
+            }
+        }
+
+        @Override
+        public void flush() {
+            for (final ClientConnection connection : Table.this.seats) {
+                if (connection != null && !connection.isQuiet()) {
+                    connection.flush();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.davwheat.server;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Player;
+import dev.davwheat.policies.DecisionPolicy;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DecisionPolicy which sets up the players at a server table.
+ * <p>
+ * Decisions during the game are answered over the network through `Game.submitDecision()`,
+ * so this policy is only used while the game is being created. If it's ever asked to make
+ * one, it gives the same default choice as a player who doesn't answer.
+ */
+class TableSetupPolicy implements DecisionPolicy {
+    /**
+     * Characters handed out as player identifiers, in order.
+     */
+    private static final String IDENTIFIERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    /**
+     * Names asked for by each seat at the table, or null for a bot.
+     */
+    private final String[] names;
+
+    /**
+     * Create a new instance of TableSetupPolicy.
+     *
+     * @param names Names asked for by each seat at the table, or null for a bot
+     */
+    TableSetupPolicy(final String[] names) {
+        this.names = names;
+    }
+
+    @Override
+    public int choosePlayerCount() {
+        return this.names.length;
+    }
+
+    @Override
+    public String choosePlayerName(final int playerNumber, final Function<String, Boolean> validator) {
+        final String name = this.names[playerNumber - 1];
+
+        if (name == null) {
+            return TableSetupPolicy.chooseUnusedName("Bot " + playerNumber, validator);
+        }
+
+        // Fall back to a name of our own if theirs is too long, or already used
+        return validator.apply(name) ? name : TableSetupPolicy.chooseUnusedName("Player " + playerNumber, validator);
+    }
+
+    /**
+     * Adds a suffix to a name until it isn't already used.
+     *
+     * @param name      The name to start with
+     * @param validator Checks whether a name can be used
+     * @return the first name which can be used
+     */
+    private static String chooseUnusedName(final String name, final Function<String, Boolean> validator) {
+        String chosen = name;
+
+        for (int i = 2; !validator.apply(chosen); i++) {
+            chosen = name + "-" + i;
+        }
+
+        return chosen;
+    }
+
+    @Override
+    public char choosePlayerIdentifier(final int playerNumber, final Function<Character, Boolean> validator) {
+        for (int i = 0; i < IDENTIFIERS.length(); i++) {
+            if (validator.apply(IDENTIFIERS.charAt(i))) {
+                return IDENTIFIERS.charAt(i);
+            }
+        }
+
+        throw new IllegalStateException("No identifiers left for Player " + playerNumber + ".");
+    }
+
+    @Override
+    public boolean shouldPurchaseAnimal(final Player actor, final Animal animal) {
+        return false;
+    }
+
+    @Override
+    public boolean shouldTakeChanceCard(final Player actor) {
+        return false;
+    }
+
+    @Override
+    public Animal chooseAnimalToUpgrade(final Player actor, final List<Animal> ownedAnimals) {
+        return null;
+    }
+
+    @Override
+    public void waitForContinue(final Player actor) {
+    }
+}
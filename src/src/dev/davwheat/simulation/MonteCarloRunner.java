@@ -0,0 +1,207 @@
+package dev.davwheat.simulation;
+
+import dev.davwheat.Game;
+import dev.davwheat.Player;
+import dev.davwheat.policies.DecisionPolicy;
+
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Plays large numbers of headless games across all CPU cores and merges their outcomes.
+ * <p>
+ * Each game is seeded from the master seed and its own index, so the merged results
+ * are identical no matter how many threads are used or how the games are split up.
+ */
+public class MonteCarloRunner {
+    /**
+     * Creates the DecisionPolicy for each game.
+     * <p>
+     * Called from many threads at once, so it must be thread-safe.
+     */
+    private final Supplier<DecisionPolicy> policyFactory;
+
+    /**
+     * Maximum number of turns for each game (0 for no limit).
+     */
+    private final int turnLimit;
+
+    /**
+     * Number of seats in each game.
+     */
+    private final int seats;
+
+    /**
+     * Create a new instance of MonteCarloRunner.
+     *
+     * @param policyFactory Creates the DecisionPolicy for each game (must be thread-safe)
+     * @param turnLimit     Maximum number of turns for each game (0 for no limit)
+     */
+    public MonteCarloRunner(final Supplier<DecisionPolicy> policyFactory, final int turnLimit) {
+        this.policyFactory = policyFactory;
+        this.turnLimit = turnLimit;
+        this.seats = policyFactory.get().choosePlayerCount();
+    }
+
+    /**
+     * Plays a number of games and merges their outcomes.
+     *
+     * @param gameCount  Number of games to play
+     * @param masterSeed Seed which every game's seed is derived from
+     * @param threads    Number of threads to play games on
+     * @return Merged outcomes of every game
+     */
+    public SimulationResults run(final long gameCount, final long masterSeed, final int threads) {
+        if (gameCount < 0) {
+            throw new IllegalArgumentException("gameCount cannot be negative.");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed.");
+        }
+
+        // Split into plenty of batches so that threads which finish early can steal more work
+        final long batchSize = Math.max(1, gameCount / (threads * 16L));
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+
+        try {
+            return pool.invoke(new GameBatch(0, gameCount, masterSeed, batchSize));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the same games with 1, 2, 4 ... up to `maxThreads` threads, printing
+     * games per second and how well each thread count scales.
+     *
+     * @param output     Where to print the report
+     * @param gameCount  Number of games to play for each thread count
+     * @param masterSeed Seed which every game's seed is derived from
+     * @param maxThreads Highest number of threads to try
+     * @return Merged outcomes of every game (identical for every thread count)
+     */
+    public SimulationResults printScalingReport(final PrintStream output, final long gameCount, final long masterSeed, final int maxThreads) {
+        SimulationResults firstResults = null;
+        double singleThreadRate = 0;
+
+        output.printf("%-8s %-12s %-14s %-10s %-10s %s\n", "Threads", "Time (ms)", "Games/sec", "Speedup", "Per-thread", "Checksum");
+
+        int threads = 1;
+
+        while (true) {
+            final long start = System.nanoTime();
+            final SimulationResults results = this.run(gameCount, masterSeed, threads);
+            final long elapsed = System.nanoTime() - start;
+
+            final double rate = gameCount / (elapsed / 1e9);
+            if (threads == 1) singleThreadRate = rate;
+
+            final double speedup = rate / singleThreadRate;
+            output.printf("%-8d %-12.1f %-14.0f %-10.2f %-10.2f %016x\n", threads, elapsed / 1e6, rate, speedup, speedup / threads, results.getChecksum());
+
+            if (firstResults == null) {
+                firstResults = results;
+            } else if (!firstResults.equals(results)) {
+                throw new IllegalStateException("Results with " + threads + " threads differ from results with 1 thread.");
+            }
+
+            if (threads >= maxThreads) break;
+            threads = Math.min(threads * 2, maxThreads);
+        }
+
+        return firstResults;
+    }
+
+    /**
+     * Plays a single game and records its outcome.
+     *
+     * @param gameIndex  Index of the game within the run
+     * @param masterSeed Seed which every game's seed is derived from
+     * @param results    Where to record the outcome
+     */
+    private void playGame(final long gameIndex, final long masterSeed, final SimulationResults results) {
+        final Game game = Game.createHeadlessGame(this.policyFactory.get(), this.turnLimit, MonteCarloRunner.seedForGame(masterSeed, gameIndex));
+        game.play();
+
+        final Player winner = game.getWinner();
+        int bankruptcies = 0;
+
+        for (final Player player : game.getPlayers()) {
+            if (player.hasLost()) bankruptcies++;
+        }
+
+        results.recordGame(gameIndex, winner == null ? -1 : winner.playerId, game.getTurnCount(), bankruptcies);
+    }
+
+    /**
+     * Derives the seed for one game from the master seed.
+     *
+     * @param masterSeed Seed for the whole run
+     * @param gameIndex  Index of the game within the run
+     * @return Seed for the game
+     */
+    public static long seedForGame(final long masterSeed, final long gameIndex) {
+        return MonteCarloRunner.mix(masterSeed + gameIndex * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Scrambles the bits of a number (the SplitMix64 finaliser).
+     *
+     * @param z Input
+     * @return Scrambled output
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a range of games, splitting it in half until it is small enough to play on one thread.
+     */
+    private class GameBatch extends RecursiveTask<SimulationResults> {
+        private final long from;
+        private final long to;
+        private final long masterSeed;
+        private final long batchSize;
+
+        /**
+         * Create a new instance of GameBatch.
+         *
+         * @param from       Index of the first game (inclusive)
+         * @param to         Index of the last game (exclusive)
+         * @param masterSeed Seed which every game's seed is derived from
+         * @param batchSize  Largest number of games to play without splitting
+         */
+        GameBatch(final long from, final long to, final long masterSeed, final long batchSize) {
+            this.from = from;
+            this.to = to;
+            this.masterSeed = masterSeed;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected SimulationResults compute() {
+            if (this.to - this.from <= this.batchSize) {
+                final SimulationResults results = new SimulationResults(MonteCarloRunner.this.seats);
+
+                for (long i = this.from; i < this.to; i++) {
+                    MonteCarloRunner.this.playGame(i, this.masterSeed, results);
+                }
+
+                return results;
+            }
+
+            final long middle = (this.from + this.to) >>> 1;
+            final GameBatch left = new GameBatch(this.from, middle, this.masterSeed, this.batchSize);
+            final GameBatch right = new GameBatch(middle, this.to, this.masterSeed, this.batchSize);
+
+            left.fork();
+            final SimulationResults rightResults = right.compute();
+
+            return left.join().merge(rightResults);
+        }
+    }
+}
@@ -0,0 +1,811 @@
+package dev.davwheat.simulation;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Card;
+import dev.davwheat.Game;
+import dev.davwheat.GameBoard;
+import dev.davwheat.GameState;
+import dev.davwheat.Money;
+import dev.davwheat.PendingDecision;
+import dev.davwheat.Player;
+import dev.davwheat.analysis.ReturnOnInvestment;
+import dev.davwheat.enums.AnimalLevel;
+import dev.davwheat.enums.DecisionType;
+import dev.davwheat.exceptions.AnimalAlreadyOwnedException;
+import dev.davwheat.exceptions.AnimalNotOwnedException;
+import dev.davwheat.exceptions.AnimalUpgradeNotAllowedException;
+import dev.davwheat.exceptions.InsufficientBalanceException;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+
+import javax.naming.NoPermissionException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes decisions for a player by playing out each choice many times and picking the one that does best.
+ * <p>
+ * Each decision is split into `STREAM_COUNT` streams of playouts, which are searched on
+ * the pool's threads for a fixed think time (or for a fixed number of playouts). Every
+ * stream has its own headless Game, and for each playout it puts that Game into the state
+ * of the real one (see GameState), makes one of the choices, then plays on for a number of
+ * turns with a quick greedy policy. The choice to try next is picked with UCB1, which tries
+ * choices that are doing well more often while still giving the others a chance. Once
+ * time is up, every stream's counts are added together and the most-played choice wins.
+ * <p>
+ * Each stream's Game and random number generator are seeded from the real game's state hash
+ * and turn, and the streams are always added together in the same order. So with a fixed
+ * number of playouts, the same decision always gets the same answer, however many threads
+ * there are, and simulations with bots can be repeated exactly. With a think time, how many
+ * playouts each stream gets depends on how busy the machine is.
+ * <p>
+ * The dice make the game after this decision almost entirely down to chance, so the tree is
+ * only searched one decision deep, and playouts handle everything after it. Each stream's
+ * Game has its own dice and its own order of Chance cards, so the search never knows what
+ * the real game will roll or draw next. The rest of the turn after the decision is played
+ * out without a Chance card, as whether the player rolled a double isn't part of the state.
+ * <p>
+ * Searches never wait for each other, so `chooseAsync()` can be used to make decisions
+ * without holding up the thread that asked. When several decisions are being searched at
+ * once, the threads are shared out between them rather than each taking every thread, and
+ * work that only gets a thread after its think time is up just tries each choice once.
+ */
+public class MonteCarloTreeSearch implements AutoCloseable {
+    /**
+     * Default number of turns each playout looks ahead.
+     */
+    public static final int DEFAULT_PLAYOUT_TURNS = 60;
+
+    /**
+     * How much UCB1 favours choices which haven't been played much. Playout scores are between 0 and 1.
+     */
+    private static final double EXPLORATION = 0.7;
+
+    /**
+     * Money in pence that playouts won't spend on purchases or upgrades.
+     */
+    private static final long PLAYOUT_RESERVE = Money.fromPounds(300);
+
+    /**
+     * Chance of a playout making a random choice instead of a greedy one, so playouts don't all go the same way.
+     */
+    private static final double PLAYOUT_RANDOMNESS = 0.1;
+
+    /**
+     * How quickly each upgrade pays for itself, so playouts can pick upgrades without simulating them.
+     */
+    private static final ReturnOnInvestment RETURNS = ReturnOnInvestment.createForBaseDeck();
+
+    /**
+     * Number of streams of playouts each decision is split into, which is the most threads one decision can use.
+     */
+    private static final int STREAM_COUNT = 16;
+
+    /**
+     * Runs each thread's share of every search.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Number of threads decisions are searched on.
+     */
+    private final int threads;
+
+    /**
+     * How long to search each decision for, in nanoseconds.
+     */
+    private final long thinkNanos;
+
+    /**
+     * Number of turns each playout looks ahead.
+     */
+    private final int playoutTurns;
+
+    /**
+     * Number of playouts to run for each decision instead of searching for the think time, or 0 to use the think time.
+     */
+    private final int playoutLimit;
+
+    /**
+     * Number of decisions searched.
+     */
+    private final LongAdder decisions = new LongAdder();
+
+    /**
+     * Number of playouts run.
+     */
+    private final LongAdder playouts = new LongAdder();
+
+    /**
+     * Total time threads have spent searching, in nanoseconds.
+     */
+    private final LongAdder searchNanos = new LongAdder();
+
+    /**
+     * Number of decisions being searched right now.
+     */
+    private final AtomicInteger activeSearches = new AtomicInteger();
+
+    /**
+     * Create a new instance of MonteCarloTreeSearch.
+     *
+     * @param threads         Number of threads decisions are searched on
+     * @param thinkTimeMillis How long to search each decision for, in milliseconds
+     * @param playoutTurns    Number of turns each playout looks ahead
+     */
+    public MonteCarloTreeSearch(final int threads, final long thinkTimeMillis, final int playoutTurns) {
+        this(threads, thinkTimeMillis, playoutTurns, 0);
+    }
+
+    /**
+     * Create a new instance of MonteCarloTreeSearch which can run a fixed number of playouts for each decision.
+     *
+     * @param threads         Number of threads decisions are searched on
+     * @param thinkTimeMillis How long to search each decision for, in milliseconds, if `playoutLimit` is 0
+     * @param playoutTurns    Number of turns each playout looks ahead
+     * @param playoutLimit    Number of playouts to run for each decision, or 0 to search for the think time instead
+     */
+    public MonteCarloTreeSearch(final int threads, final long thinkTimeMillis, final int playoutTurns, final int playoutLimit) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed.");
+        }
+
+        if (thinkTimeMillis < 0) {
+            throw new IllegalArgumentException("thinkTimeMillis must not be negative.");
+        }
+
+        if (playoutTurns < 1) {
+            throw new IllegalArgumentException("playoutTurns must be at least 1.");
+        }
+
+        if (playoutLimit < 0) {
+            throw new IllegalArgumentException("playoutLimit must not be negative.");
+        }
+
+        this.threads = threads;
+        this.thinkNanos = thinkTimeMillis * 1_000_000;
+        this.playoutTurns = playoutTurns;
+        this.playoutLimit = playoutLimit;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "animopoly-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a new instance of MonteCarloTreeSearch which uses every core and looks `DEFAULT_PLAYOUT_TURNS` ahead.
+     *
+     * @param thinkTimeMillis How long to search each decision for, in milliseconds
+     */
+    public MonteCarloTreeSearch(final long thinkTimeMillis) {
+        this(Runtime.getRuntime().availableProcessors(), thinkTimeMillis, MonteCarloTreeSearch.DEFAULT_PLAYOUT_TURNS);
+    }
+
+    /**
+     * Create a new instance of MonteCarloTreeSearch which uses every core, looks `DEFAULT_PLAYOUT_TURNS`
+     * ahead, and runs a fixed number of playouts for each decision, so the same decision always gets the same answer.
+     *
+     * @param playoutLimit Number of playouts to run for each decision
+     * @return the search
+     */
+    public static MonteCarloTreeSearch createWithPlayoutLimit(final int playoutLimit) {
+        if (playoutLimit < 1) {
+            throw new IllegalArgumentException("playoutLimit must be at least 1.");
+        }
+
+        return new MonteCarloTreeSearch(Runtime.getRuntime().availableProcessors(), 0, MonteCarloTreeSearch.DEFAULT_PLAYOUT_TURNS, playoutLimit);
+    }
+
+    /**
+     * Searches a decision, waiting for the answer.
+     *
+     * @param game     The game
+     * @param decision The decision it's waiting for
+     * @return The best choice found
+     */
+    public int choose(final Game game, final PendingDecision decision) {
+        return this.chooseAsync(game, decision).join();
+    }
+
+    /**
+     * Starts searching a decision, without waiting for the answer.
+     * <p>
+     * The game's state is copied before this returns, so the game can be left alone
+     * (but not changed) until the answer is ready.
+     *
+     * @param game     The game
+     * @param decision The decision it's waiting for
+     * @return The best choice found, once time is up, which fails if the search has been closed
+     */
+    public CompletableFuture<Integer> chooseAsync(final Game game, final PendingDecision decision) {
+        if (decision == null) {
+            throw new NullPointerException("decision must be a valid instance of PendingDecision, and not null.");
+        }
+
+        final boolean[] useful = MonteCarloTreeSearch.findUsefulChoices(decision);
+        int usefulCount = 0;
+        int lastUseful = 0;
+
+        for (int choice = 0; choice < useful.length; choice++) {
+            if (useful[choice]) {
+                usefulCount++;
+                lastUseful = choice;
+            }
+        }
+
+        if (usefulCount == 1) {
+            return CompletableFuture.completedFuture(lastUseful);
+        }
+
+        // Share the threads with any other decisions being searched, so none of them is left queueing for its whole think time
+        final int active = this.activeSearches.incrementAndGet();
+        final int tasks = Math.min(Math.max(1, this.threads / active), MonteCarloTreeSearch.STREAM_COUNT);
+        final Search search = new Search(game, decision, useful, usefulCount, System.nanoTime(), tasks);
+
+        try {
+            for (int task = 0; task < tasks; task++) {
+                final int taskIndex = task;
+                this.executor.execute(() -> search.run(taskIndex));
+            }
+        } catch (final RejectedExecutionException e) {
+            // Closed, so let the caller fall back rather than throwing on its thread
+            this.activeSearches.decrementAndGet();
+            search.result.completeExceptionally(e);
+        }
+
+        return search.result;
+    }
+
+    /**
+     * Gets the number of decisions searched.
+     *
+     * @return count
+     */
+    public long getDecisionCount() {
+        return this.decisions.sum();
+    }
+
+    /**
+     * Gets the number of playouts run.
+     *
+     * @return count
+     */
+    public long getPlayoutCount() {
+        return this.playouts.sum();
+    }
+
+    /**
+     * Gets how many playouts one thread runs per second of searching.
+     *
+     * @return playouts per second per thread
+     */
+    public double getPlayoutsPerSecond() {
+        final long nanos = this.searchNanos.sum();
+        return nanos == 0 ? 0 : this.playouts.sum() / (nanos / 1e9);
+    }
+
+    /**
+     * Prints how much searching has been done.
+     *
+     * @param out Where to print
+     */
+    public void printStats(final PrintStream out) {
+        out.printf("Searched %d decisions with %d playouts (%.0f playouts/sec per thread, %d threads)\n",
+                this.getDecisionCount(), this.getPlayoutCount(), this.getPlayoutsPerSecond(), this.threads);
+    }
+
+    /**
+     * Stops the search threads. Searches which haven't finished never will.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Finds which choices of a decision can change the game.
+     * <p>
+     * Upgrades the player can't make are left out, as picking one just asks the same question
+     * again, which would never end once the search always answers it the same way.
+     *
+     * @param decision The decision
+     * @return Whether each choice is worth searching
+     */
+    private static boolean[] findUsefulChoices(final PendingDecision decision) {
+        final boolean[] useful = new boolean[decision.getChoiceCount()];
+        Arrays.fill(useful, true);
+
+        if (decision.type == DecisionType.UPGRADE_ANIMAL) {
+            for (int i = 0; i < decision.upgradeOptions.size(); i++) {
+                final Animal animal = decision.upgradeOptions.get(i);
+                useful[i + 1] = animal.isUpgradable(decision.player) && decision.player.getBankBalance() >= animal.upgradeCost;
+            }
+        }
+
+        return useful;
+    }
+
+    /**
+     * Picks a choice for a playout: mostly the greedy choice, sometimes a random one.
+     *
+     * @param decision The decision
+     * @param random   Random number generator
+     * @return the choice
+     */
+    private static int choosePlayoutMove(final PendingDecision decision, final SplittableRandom random) {
+        if (decision.getChoiceCount() > 1 && random.nextDouble() < MonteCarloTreeSearch.PLAYOUT_RANDOMNESS) {
+            return random.nextInt(decision.getChoiceCount());
+        }
+
+        final Player player = decision.player;
+
+        return switch (decision.type) {
+            case CONTINUE -> 0;
+            case PURCHASE_ANIMAL -> player.getBankBalance() - decision.animal.purchaseCost >= MonteCarloTreeSearch.PLAYOUT_RESERVE ? 1 : 0;
+            case TAKE_CHANCE_CARD -> 1;
+            case UPGRADE_ANIMAL -> MonteCarloTreeSearch.chooseGreedyUpgrade(player, decision.upgradeOptions) + 1;
+        };
+    }
+
+    /**
+     * Picks the Animal whose upgrade pays for itself soonest, out of those the player
+     * can upgrade while keeping the playout reserve.
+     *
+     * @param player  The player
+     * @param options Animals the player owns
+     * @return Index of the Animal in `options`, or -1 for none
+     */
+    private static int chooseGreedyUpgrade(final Player player, final List<Animal> options) {
+        final GameBoard board = player.getGameInstance().gameBoardInstance;
+        int best = -1;
+        double bestPayback = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < options.size(); i++) {
+            final Animal animal = options.get(i);
+
+            if (animal.isUpgradable(player) && player.getBankBalance() - animal.upgradeCost >= MonteCarloTreeSearch.PLAYOUT_RESERVE) {
+                final AnimalLevel next = AnimalLevel.fromNumberValue(animal.getCurrentLevel(board).value + 1);
+                // The number of opponents doesn't change which upgrade pays back soonest
+                final double payback = MonteCarloTreeSearch.RETURNS.getStepPaybackRounds(animal, next, 1);
+
+                if (best == -1 || payback < bestPayback) {
+                    best = i;
+                    bestPayback = payback;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Scores a game for a player: 1 if they've won, 0 if they've lost, or otherwise
+     * their share of the net worth of every player still in.
+     *
+     * @param game   The game
+     * @param player The player
+     * @return score from 0 to 1
+     */
+    private static double score(final Game game, final Player player) {
+        if (player.hasLost()) {
+            return 0;
+        }
+
+        if (game.getLivePlayerCount() == 1) {
+            return 1;
+        }
+
+        long total = 0;
+        long own = 0;
+
+        for (final Player other : game.getPlayers()) {
+            if (!other.hasLost()) {
+                final long worth = MonteCarloTreeSearch.netWorth(game, other);
+                total += worth;
+
+                if (other == player) {
+                    own = worth;
+                }
+            }
+        }
+
+        return total == 0 ? 0 : (double) own / total;
+    }
+
+    /**
+     * Gets a player's money plus what they've spent on the Animals they own.
+     *
+     * @param game   The game
+     * @param player The player
+     * @return net worth in pence
+     */
+    private static long netWorth(final Game game, final Player player) {
+        long worth = player.getBankBalance();
+
+        for (final Animal animal : game.gameBoardInstance.getOwnedAnimals(player)) {
+            worth += animal.purchaseCost + animal.upgradeCost * animal.getCurrentLevel(game.gameBoardInstance).value;
+        }
+
+        return worth;
+    }
+
+    /**
+     * One decision being searched, split into streams of playouts which are shared out between a few tasks.
+     */
+    private final class Search {
+        /**
+         * State of the real game when the decision was asked for.
+         */
+        private final GameState state;
+
+        /**
+         * The decision being searched.
+         */
+        private final PendingDecision decision;
+
+        /**
+         * Whether each choice is worth searching (see `findUsefulChoices()`).
+         */
+        private final boolean[] useful;
+
+        /**
+         * Number of choices worth searching.
+         */
+        private final int usefulCount;
+
+        /**
+         * `playerId` of the player making the decision.
+         */
+        private final int seat;
+
+        /**
+         * Turn limit of the real game (0 for no limit).
+         */
+        private final int turnLimit;
+
+        /**
+         * When the search started, from `System.nanoTime()`.
+         */
+        private final long startNanos;
+
+        /**
+         * Every stream of playouts. Task `t` runs streams `t`, `t + tasks`, and so on.
+         */
+        private final Stream[] streams = new Stream[MonteCarloTreeSearch.STREAM_COUNT];
+
+        /**
+         * Number of tasks the streams are shared out between.
+         */
+        private final int tasks;
+
+        /**
+         * Number of tasks still searching.
+         */
+        private final AtomicInteger tasksLeft;
+
+        /**
+         * Completed with the best choice once every task has finished.
+         */
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        /**
+         * Create a new instance of Search.
+         *
+         * @param game       The real game
+         * @param decision    The decision being searched
+         * @param useful      Whether each choice is worth searching
+         * @param usefulCount Number of choices worth searching
+         * @param startNanos  When the search started
+         * @param tasks       Number of tasks the streams are shared out between
+         */
+        private Search(final Game game, final PendingDecision decision, final boolean[] useful, final int usefulCount, final long startNanos, final int tasks) {
+            this.state = GameState.createFromGame(game);
+            this.decision = decision;
+            this.useful = useful;
+            this.usefulCount = usefulCount;
+            this.seat = decision.player.playerId;
+            this.turnLimit = game.getTurnLimit();
+            this.startNanos = startNanos;
+            this.tasks = tasks;
+            this.tasksLeft = new AtomicInteger(tasks);
+
+            // Seed the streams from the decision, so the same decision is always searched the same way
+            final SplittableRandom seeds = new SplittableRandom(game.getStateHash() ^ game.getTurnCount() * 0x9E3779B97F4A7C15L ^ decision.type.ordinal());
+
+            for (int index = 0; index < this.streams.length; index++) {
+                this.streams[index] = new Stream(decision.getChoiceCount(), seeds.nextLong(), seeds.nextLong());
+            }
+        }
+
+        /**
+         * Runs this task's streams until time is up (or they've run their share of the playouts),
+         * taking turns so they all get the same share of the time. If the task was queued until
+         * after time was up, it only runs the playouts the first stream has to.
+         *
+         * @param taskIndex Which task this is, from 0 to `tasks - 1`
+         */
+        private void run(final int taskIndex) {
+            final long deadline = this.startNanos + MonteCarloTreeSearch.this.thinkNanos;
+            final long taskStartNanos = System.nanoTime();
+            long played = 0;
+
+            try {
+                boolean playing = true;
+
+                while (playing) {
+                    playing = false;
+
+                    for (int index = taskIndex; index < this.streams.length; index += this.tasks) {
+                        if (this.shouldPlay(index, deadline)) {
+                            this.playOnce(this.streams[index]);
+                            played++;
+                            playing = true;
+                        }
+                    }
+                }
+
+                MonteCarloTreeSearch.this.playouts.add(played);
+                MonteCarloTreeSearch.this.searchNanos.add(System.nanoTime() - taskStartNanos);
+            } catch (final RuntimeException e) {
+                this.result.completeExceptionally(e);
+            } finally {
+                this.finish();
+            }
+        }
+
+        /**
+         * Tests if a stream should run another playout.
+         *
+         * @param index    Index of the stream
+         * @param deadline When time is up, from `System.nanoTime()`
+         * @return Whether to run another playout
+         */
+        private boolean shouldPlay(final int index, final long deadline) {
+            final Stream stream = this.streams[index];
+            final int limit = MonteCarloTreeSearch.this.playoutLimit;
+            // The first stream always tries every choice at least once, even if time is already up
+            final int minimum = index == 0 ? this.usefulCount : 0;
+
+            if (limit == 0) {
+                return stream.played < minimum || System.nanoTime() < deadline;
+            }
+
+            final int share = limit / MonteCarloTreeSearch.STREAM_COUNT + (index < limit % MonteCarloTreeSearch.STREAM_COUNT ? 1 : 0);
+            return stream.played < Math.max(minimum, share);
+        }
+
+        /**
+         * Runs one playout in a stream.
+         *
+         * @param stream The stream
+         */
+        private void playOnce(final Stream stream) {
+            if (stream.game == null) {
+                // The policy is never asked anything, as playouts answer every decision themselves
+                stream.game = Game.createHeadlessGame(new GreedyDecisionPolicy(this.state.getPlayerCount(), 0), this.turnLimit, stream.gameSeed);
+            }
+
+            final int choice = this.selectChoice(stream.visits, stream.scores, stream.played);
+
+            this.state.applyTo(stream.game);
+            stream.scores[choice] += this.playOut(stream.game, choice, stream.random);
+            stream.visits[choice]++;
+            stream.played++;
+        }
+
+        /**
+         * Picks the next choice to play out with UCB1.
+         *
+         * @param visits Number of times each choice has been played out
+         * @param scores Total score of each choice
+         * @param played Total number of playouts
+         * @return the choice
+         */
+        private int selectChoice(final long[] visits, final double[] scores, final int played) {
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            final double logPlayed = Math.log(Math.max(1, played));
+
+            for (int choice = 0; choice < visits.length; choice++) {
+                if (!this.useful[choice]) {
+                    continue;
+                }
+
+                if (visits[choice] == 0) {
+                    return choice;
+                }
+
+                final double value = scores[choice] / visits[choice] + MonteCarloTreeSearch.EXPLORATION * Math.sqrt(logPlayed / visits[choice]);
+
+                if (value > bestValue) {
+                    best = choice;
+                    bestValue = value;
+                }
+            }
+
+            return best;
+        }
+
+        /**
+         * Makes a choice in a Game that's in the real game's state, finishes the turn, then plays on.
+         *
+         * @param game   The Game to play in
+         * @param choice The choice
+         * @param random Random number generator for the playout's choices
+         * @return The player's score at the end of the playout
+         */
+        private double playOut(final Game game, final int choice, final SplittableRandom random) {
+            final Player player = game.getPlayers().get(this.seat);
+
+            this.makeChoice(game, player, choice, random);
+
+            try {
+                game.endTurn(player);
+            } catch (final NoPermissionException ignored) {
+            }
+
+            final int horizon = game.getTurnCount() + MonteCarloTreeSearch.this.playoutTurns;
+            PendingDecision pending;
+
+            while (game.getTurnCount() < horizon && (pending = game.advance()) != null) {
+                game.submitDecision(MonteCarloTreeSearch.choosePlayoutMove(pending, random));
+            }
+
+            return MonteCarloTreeSearch.score(game, player);
+        }
+
+        /**
+         * Makes a choice for the decision, then any upgrades the playout policy wants for the rest of the turn.
+         *
+         * @param game   The Game to play in
+         * @param player The player making the decision, in that Game
+         * @param choice The choice
+         * @param random Random number generator for the playout's choices
+         */
+        private void makeChoice(final Game game, final Player player, final int choice, final SplittableRandom random) {
+            try {
+                switch (this.decision.type) {
+                    case PURCHASE_ANIMAL -> {
+                        if (choice == 1) {
+                            this.decision.animal.purchase(player);
+                        }
+                    }
+                    case TAKE_CHANCE_CARD -> {
+                        if (choice == 1) {
+                            final Card card = game.cardDeck.takeCard();
+                            card.takeAction(player);
+                        }
+                    }
+                    case UPGRADE_ANIMAL -> {
+                        if (choice == 0) {
+                            // Ending the turn
+                            return;
+                        }
+
+                        this.decision.upgradeOptions.get(choice - 1).upgrade(player);
+                    }
+                }
+            } catch (final InsufficientBalanceException e) {
+                if (this.decision.type == DecisionType.TAKE_CHANCE_CARD) {
+                    player.declareBankruptcy();
+                    return;
+                }
+            } catch (final AnimalAlreadyOwnedException | AnimalNotOwnedException | NoPermissionException | AnimalUpgradeNotAllowedException ignored) {
+            }
+
+            // Upgrade for the rest of the turn like a playout would
+            int upgrade;
+
+            while ((upgrade = MonteCarloTreeSearch.chooseGreedyUpgrade(player, game.gameBoardInstance.getOwnedAnimals(player))) >= 0 && random.nextDouble() >= MonteCarloTreeSearch.PLAYOUT_RANDOMNESS) {
+                try {
+                    game.gameBoardInstance.getOwnedAnimals(player).get(upgrade).upgrade(player);
+                } catch (final AnimalNotOwnedException | NoPermissionException | AnimalUpgradeNotAllowedException | InsufficientBalanceException e) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Called as each task finishes. The last task to finish adds up the streams' counts and picks the choice.
+         */
+        private void finish() {
+            if (this.tasksLeft.decrementAndGet() != 0) {
+                return;
+            }
+
+            final long[] visits = new long[this.decision.getChoiceCount()];
+            final double[] scores = new double[visits.length];
+
+            // Always in the same order, so the totals don't depend on which thread ran which stream
+            for (final Stream stream : this.streams) {
+                for (int choice = 0; choice < visits.length; choice++) {
+                    visits[choice] += stream.visits[choice];
+                    scores[choice] += stream.scores[choice];
+                }
+            }
+
+            int best = -1;
+
+            for (int choice = 0; choice < visits.length; choice++) {
+                if (!this.useful[choice]) {
+                    continue;
+                }
+
+                if (best == -1) {
+                    best = choice;
+                    continue;
+                }
+
+                final boolean moreVisits = visits[choice] > visits[best];
+                final boolean sameVisitsBetterScore = visits[choice] == visits[best] && scores[choice] > scores[best];
+
+                if (moreVisits || sameVisitsBetterScore) {
+                    best = choice;
+                }
+            }
+
+            MonteCarloTreeSearch.this.activeSearches.decrementAndGet();
+            MonteCarloTreeSearch.this.decisions.increment();
+            this.result.complete(best);
+        }
+    }
+
+    /**
+     * One stream of playouts for a decision, with its own Game, random number generator and counts.
+     * <p>
+     * Only one task ever runs a stream, and the counts are only read once every task has finished.
+     */
+    private static final class Stream {
+        /**
+         * Seed for the stream's Game, which sets its dice and order of Chance cards.
+         */
+        private final long gameSeed;
+
+        /**
+         * Random number generator for playout choices.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * Number of times each choice has been played out.
+         */
+        private final long[] visits;
+
+        /**
+         * Total score of each choice's playouts.
+         */
+        private final double[] scores;
+
+        /**
+         * Number of playouts run.
+         */
+        private int played;
+
+        /**
+         * Game which playouts are played in, or null if there hasn't been one yet.
+         */
+        private Game game;
+
+        /**
+         * Create a new instance of Stream.
+         *
+         * @param choiceCount Number of choices in the decision
+         * @param gameSeed    Seed for the stream's Game
+         * @param randomSeed  Seed for the stream's playout choices
+         */
+        private Stream(final int choiceCount, final long gameSeed, final long randomSeed) {
+            this.gameSeed = gameSeed;
+            this.random = new SplittableRandom(randomSeed);
+            this.visits = new long[choiceCount];
+            this.scores = new double[choiceCount];
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package dev.davwheat.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Merged outcomes of a batch of simulated games.
+ * <p>
+ * Every value is a whole number, so merging batches in any order (or on any
+ * number of threads) always gives exactly the same totals.
+ */
+public class SimulationResults {
+    /**
+     * Number of games played.
+     */
+    private long gamesPlayed;
+
+    /**
+     * Number of games won by each seat (index 0 is Player 1).
+     */
+    private final long[] winsBySeat;
+
+    /**
+     * Number of games that reached the turn limit without a winner.
+     */
+    private long unfinishedGames;
+
+    /**
+     * Total turns taken across all games.
+     */
+    private long totalTurns;
+
+    /**
+     * Length of the shortest game, in turns.
+     */
+    private int shortestGame = Integer.MAX_VALUE;
+
+    /**
+     * Length of the longest game, in turns.
+     */
+    private int longestGame;
+
+    /**
+     * Total number of players who went bankrupt across all games.
+     */
+    private long totalBankruptcies;
+
+    /**
+     * Order-independent fingerprint of every individual game outcome.
+     * <p>
+     * Two runs with the same checksum played out every game identically.
+     */
+    private long checksum;
+
+    /**
+     * Create a new, empty instance of SimulationResults.
+     *
+     * @param seats Number of seats in each game
+     */
+    public SimulationResults(final int seats) {
+        this.winsBySeat = new long[seats];
+    }
+
+    /**
+     * Records the outcome of a single game.
+     *
+     * @param gameIndex    Index of the game within the run
+     * @param winnerSeat   Seat of the winner, or -1 if the game reached the turn limit
+     * @param turns        Number of turns the game lasted
+     * @param bankruptcies Number of players who went bankrupt
+     */
+    public void recordGame(final long gameIndex, final int winnerSeat, final int turns, final int bankruptcies) {
+        this.gamesPlayed++;
+
+        if (winnerSeat < 0) {
+            this.unfinishedGames++;
+        } else {
+            this.winsBySeat[winnerSeat]++;
+        }
+
+        this.totalTurns += turns;
+        this.shortestGame = Math.min(this.shortestGame, turns);
+        this.longestGame = Math.max(this.longestGame, turns);
+        this.totalBankruptcies += bankruptcies;
+
+        final long outcome = ((long) turns << 32) | ((long) (winnerSeat + 1) << 16) | bankruptcies;
+        this.checksum += MonteCarloRunner.mix(gameIndex ^ MonteCarloRunner.mix(outcome));
+    }
+
+    /**
+     * Adds all outcomes from another set of results into this one.
+     *
+     * @param other Results to merge in
+     * @return these results
+     */
+    public SimulationResults merge(final SimulationResults other) {
+        if (other.winsBySeat.length != this.winsBySeat.length) {
+            throw new IllegalArgumentException("Cannot merge results for games with a different number of seats.");
+        }
+
+        this.gamesPlayed += other.gamesPlayed;
+
+        for (int i = 0; i < this.winsBySeat.length; i++) {
+            this.winsBySeat[i] += other.winsBySeat[i];
+        }
+
+        this.unfinishedGames += other.unfinishedGames;
+        this.totalTurns += other.totalTurns;
+        this.shortestGame = Math.min(this.shortestGame, other.shortestGame);
+        this.longestGame = Math.max(this.longestGame, other.longestGame);
+        this.totalBankruptcies += other.totalBankruptcies;
+        this.checksum += other.checksum;
+
+        return this;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return games played
+     */
+    public long getGamesPlayed() {
+        return this.gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games won from a seat.
+     *
+     * @param seat Seat index (0 is Player 1)
+     * @return games won
+     */
+    public long getWins(final int seat) {
+        return this.winsBySeat[seat];
+    }
+
+    /**
+     * Gets the number of games that reached the turn limit without a winner.
+     *
+     * @return unfinished games
+     */
+    public long getUnfinishedGames() {
+        return this.unfinishedGames;
+    }
+
+    /**
+     * Gets the total turns taken across all games.
+     *
+     * @return total turns
+     */
+    public long getTotalTurns() {
+        return this.totalTurns;
+    }
+
+    /**
+     * Gets the length of the shortest game, in turns.
+     *
+     * @return shortest game length
+     */
+    public int getShortestGame() {
+        return this.gamesPlayed == 0 ? 0 : this.shortestGame;
+    }
+
+    /**
+     * Gets the length of the longest game, in turns.
+     *
+     * @return longest game length
+     */
+    public int getLongestGame() {
+        return this.longestGame;
+    }
+
+    /**
+     * Gets the total number of players who went bankrupt across all games.
+     *
+     * @return total bankruptcies
+     */
+    public long getTotalBankruptcies() {
+        return this.totalBankruptcies;
+    }
+
+    /**
+     * Gets the order-independent fingerprint of every individual game outcome.
+     *
+     * @return checksum
+     */
+    public long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * Tests if these results contain exactly the same outcomes as another set of results.
+     *
+     * @param o Other results
+     * @return Whether the results are identical
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SimulationResults)) return false;
+
+        final SimulationResults other = (SimulationResults) o;
+        return this.gamesPlayed == other.gamesPlayed
+                && Arrays.equals(this.winsBySeat, other.winsBySeat)
+                && this.unfinishedGames == other.unfinishedGames
+                && this.totalTurns == other.totalTurns
+                && this.getShortestGame() == other.getShortestGame()
+                && this.longestGame == other.longestGame
+                && this.totalBankruptcies == other.totalBankruptcies
+                && this.checksum == other.checksum;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.checksum);
+    }
+
+    /**
+     * Creates a summary of the results shown to users.
+     *
+     * @return summary
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format("Games played:    %d\n", this.gamesPlayed));
+        sb.append(String.format("Average length:  %.1f turns (shortest %d, longest %d)\n", this.gamesPlayed == 0 ? 0d : (double) this.totalTurns / this.gamesPlayed, this.getShortestGame(), this.longestGame));
+        sb.append(String.format("Bankruptcies:    %d\n", this.totalBankruptcies));
+        sb.append(String.format("Unfinished:      %d\n", this.unfinishedGames));
+
+        for (int i = 0; i < this.winsBySeat.length; i++) {
+            sb.append(String.format("Player %d wins:   %d\n", i + 1, this.winsBySeat[i]));
+        }
+
+        sb.append(String.format("Checksum:        %016x", this.checksum));
+
+        return sb.toString();
+    }
+}
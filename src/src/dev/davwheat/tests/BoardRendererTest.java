@@ -0,0 +1,80 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.Player;
+import dev.davwheat.Renderer;
+import dev.davwheat.exceptions.AnimalAlreadyOwnedException;
+import dev.davwheat.exceptions.InsufficientBalanceException;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoardRenderer")
+class BoardRendererTest {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    Game createGame(final boolean stripAnsi) {
+        final Renderer renderer = new Renderer(new PrintStream(this.bytes, false, StandardCharsets.UTF_8), stripAnsi);
+        return new Game(new GreedyDecisionPolicy(2, 0), renderer, 0, 1);
+    }
+
+    /**
+     * Prints the board, and returns everything that was written.
+     */
+    String printBoard(final Game game) {
+        this.bytes.reset();
+        game.gameBoardInstance.printCurrentBoard();
+        game.getRenderer().flush();
+        return this.bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Prints the whole board when ANSI codes are stripped.")
+    void printsWholeBoard() {
+        final Game game = this.createGame(true);
+        final String board = this.printBoard(game);
+
+        assertEquals(33, board.lines().count());
+        assertTrue(board.contains("│Start     │Slug      │"));
+        assertTrue(board.contains("│AB        │"));
+        assertTrue(board.contains("│Miss next │"));
+        assertTrue(board.contains("> A  Player 1"));
+        assertFalse(board.contains("\033"));
+
+        // Printed in full every time
+        assertEquals(board, this.printBoard(game));
+    }
+
+    @Test
+    @DisplayName("Only redraws lines which have changed.")
+    void redrawsChangedLines() throws AnimalAlreadyOwnedException, InsufficientBalanceException {
+        final Game game = this.createGame(false);
+        final Player player = game.getPlayers().get(0);
+
+        final String firstFrame = this.printBoard(game);
+        assertTrue(firstFrame.startsWith("\033[2J\033[H"));
+        assertTrue(firstFrame.contains("\033[34r"));
+
+        // Nothing has changed
+        assertEquals("", this.printBoard(game));
+
+        player.movePlayer(2);
+        ((Animal) player.getBoardSpaceAtPlayerPosition()).purchase(player);
+
+        // Start and Snail tokens, Snail owner, and player 1's balance
+        final String diff = this.printBoard(game);
+        assertEquals(4, diff.split("\033\\[\\d+;\\d+H", -1).length - 1);
+        assertTrue(diff.startsWith("\0337"));
+        assertTrue(diff.endsWith("\0338"));
+        assertTrue(diff.contains("\033[4;2HB         "));
+        assertTrue(diff.contains("\033[3;24HA Lv0     "));
+        assertTrue(diff.contains("\033[4;24HA         "));
+    }
+}
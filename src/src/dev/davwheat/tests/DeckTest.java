@@ -0,0 +1,99 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Card;
+import dev.davwheat.Deck;
+import dev.davwheat.exceptions.DeckIsLockedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Deck")
+class DeckTest {
+    static final int CARDS = 40;
+
+    Deck createDeck(final long seed) throws DeckIsLockedException {
+        final Deck deck = new Deck(new SplittableRandom(seed));
+
+        for (int i = 0; i < DeckTest.CARDS; i++) {
+            deck.addCard(new Card("Card " + i, i, false));
+        }
+
+        return deck.lock();
+    }
+
+    List<Card> takeCards(final Deck deck, final int count) {
+        final ArrayList<Card> cards = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            cards.add(deck.takeCard());
+        }
+
+        return cards;
+    }
+
+    List<Long> takeCardValues(final Deck deck, final int count) {
+        return this.takeCards(deck, count).stream().map(c -> c.balanceChange).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Takes cards in order, returning each to the bottom of the pile.")
+    void takesCardsInOrder() throws DeckIsLockedException {
+        final Deck deck = this.createDeck(1);
+        final List<Card> cards = this.takeCards(deck, DeckTest.CARDS * 3);
+
+        for (int i = 0; i < cards.size(); i++) {
+            assertEquals(i % DeckTest.CARDS, cards.get(i).balanceChange);
+        }
+    }
+
+    @Test
+    @DisplayName("Doesn't allow cards to be added once locked.")
+    void lockPreventsChanges() throws DeckIsLockedException {
+        final Deck deck = this.createDeck(1);
+
+        assertThrows(DeckIsLockedException.class, () -> deck.addCard(new Card("Extra", 0, false)));
+        assertEquals(DeckTest.CARDS, deck.getCardCount());
+    }
+
+    @Test
+    @DisplayName("Adds new cards to the bottom of the pile.")
+    void addsCardsToBottom() throws DeckIsLockedException {
+        final Deck deck = new Deck(new SplittableRandom(1));
+        deck.addCard(new Card("A", 0, false)).addCard(new Card("B", 1, false));
+        deck.takeCard();
+        deck.addCard(new Card("C", 2, false));
+
+        assertEquals(List.of("B", "A", "C", "B"), this.takeCards(deck, 4).stream().map(c -> c.message).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Reshuffles with its own seeded random number generator when exhausted.")
+    void reshufflesWhenExhausted() throws DeckIsLockedException {
+        final Deck a = this.createDeck(5).setReshuffleWhenExhausted(true);
+        final Deck b = this.createDeck(5).setReshuffleWhenExhausted(true);
+
+        final List<Long> first = this.takeCardValues(a, DeckTest.CARDS);
+        final List<Long> second = this.takeCardValues(a, DeckTest.CARDS);
+
+        // Every card still comes out once per pass through the deck
+        assertEquals(DeckTest.CARDS, new HashSet<>(second).size());
+        assertNotEquals(first, second);
+
+        // The same seed gives the same shuffles
+        assertEquals(first, this.takeCardValues(b, DeckTest.CARDS));
+        assertEquals(second, this.takeCardValues(b, DeckTest.CARDS));
+    }
+
+    @Test
+    @DisplayName("Throws when taking a card from an empty Deck.")
+    void emptyDeckThrows() {
+        assertThrows(IllegalStateException.class, () -> new Deck().takeCard());
+    }
+}
@@ -4,6 +4,8 @@ import dev.davwheat.Dice;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class DiceTest {
@@ -64,4 +66,51 @@ class DiceTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Ensure the same seed always produces the same rolls.")
+    void seededRollsAreReproducible() {
+        final Dice a = new Dice(new SplittableRandom(1234));
+        final Dice b = new Dice(new SplittableRandom(1234));
+
+        for (int i = 0; i < DiceTest.ITERATIONS; i++) {
+            a.rollAllDice();
+            b.rollAllDice();
+
+            assertEquals(a.getOneRoll(1), b.getOneRoll(1));
+            assertEquals(a.getOneRoll(2), b.getOneRoll(2));
+        }
+    }
+
+    @Test
+    @DisplayName("Ensure the buffer size doesn't change the rolls.")
+    void bufferSizeDoesNotChangeRolls() {
+        final Dice small = new Dice(new SplittableRandom(99), 1);
+        final Dice large = new Dice(new SplittableRandom(99), Dice.DEFAULT_BUFFER_SIZE);
+
+        for (int i = 0; i < DiceTest.ITERATIONS; i++) {
+            assertEquals(small.rollAllDice().getTotalRoll(), large.rollAllDice().getTotalRoll());
+            assertEquals(small.getOneRoll(1), large.getOneRoll(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Ensure buffered rolls are between 1 and 6, and evenly spread.")
+    void bufferedRollsAreFair() {
+        final Dice d = new Dice(new SplittableRandom(7), Dice.DEFAULT_BUFFER_SIZE);
+        final int[] counts = new int[7];
+
+        for (int i = 0; i < DiceTest.ITERATIONS; i++) {
+            d.rollAllDice();
+            counts[d.getOneRoll(1)]++;
+            counts[d.getOneRoll(2)]++;
+        }
+
+        assertEquals(0, counts[0]);
+
+        for (int face = 1; face <= 6; face++) {
+            // Expect roughly 1/6 of 50000 rolls each
+            assertTrue(counts[face] > 7800 && counts[face] < 8900);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.GameBoard;
+import dev.davwheat.Player;
+import dev.davwheat.exceptions.AnimalAlreadyOwnedException;
+import dev.davwheat.exceptions.InsufficientBalanceException;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameBoard")
+class GameBoardTest {
+    final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+    final GameBoard board = this.game.gameBoardInstance;
+    final Player playerOne = this.game.getPlayers().get(0);
+    final Player playerTwo = this.game.getPlayers().get(1);
+
+    Animal animalAt(final int index) {
+        return (Animal) this.board.getBoardSpaceAtPosition(index);
+    }
+
+    @Test
+    @DisplayName("Indexes Animals when they are bought.")
+    void indexesPurchases() throws AnimalAlreadyOwnedException, InsufficientBalanceException {
+        this.animalAt(7).purchase(this.playerOne);
+        this.animalAt(2).purchase(this.playerOne);
+        this.animalAt(3).purchase(this.playerTwo);
+
+        assertEquals((1L << 2) | (1L << 7), this.board.getOwnedSpaces(this.playerOne));
+        assertEquals(2, this.board.countOwnedAnimals(this.playerOne));
+        assertEquals(1, this.board.countOwnedAnimals(this.playerTwo));
+        assertEquals(List.of(this.animalAt(2), this.animalAt(7)), this.board.getOwnedAnimals(this.playerOne));
+        assertSame(this.playerTwo, this.board.getOwner(3));
+        assertNull(this.board.getOwner(4));
+    }
+
+    @Test
+    @DisplayName("Indexes Animals bought by players in seats past 127.")
+    void indexesPurchasesInLargeGames() throws AnimalAlreadyOwnedException, InsufficientBalanceException {
+        final Game largeGame = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0) {
+            @Override
+            public int choosePlayerCount() {
+                return 300;
+            }
+
+            @Override
+            public char choosePlayerIdentifier(final int playerNumber, final Function<Character, Boolean> validator) {
+                // CJK characters have no upper or lower case, so they're all different
+                return (char) (0x4E00 + playerNumber);
+            }
+        }, 0, 1);
+        final GameBoard largeBoard = largeGame.gameBoardInstance;
+        final Player player = largeGame.getPlayers().get(200);
+
+        ((Animal) largeBoard.getBoardSpaceAtPosition(2)).purchase(player);
+
+        assertEquals(200, largeBoard.getOwnerId(2));
+        assertSame(player, largeBoard.getOwner(2));
+        assertEquals(1, largeBoard.countOwnedAnimals(player));
+    }
+
+    @Test
+    @DisplayName("Reuses the list of owned Animals until ownership changes.")
+    void cachesOwnedAnimals() throws AnimalAlreadyOwnedException, InsufficientBalanceException {
+        this.animalAt(1).purchase(this.playerOne);
+        final List<Animal> owned = this.board.getOwnedAnimals(this.playerOne);
+
+        assertSame(owned, this.board.getOwnedAnimals(this.playerOne));
+
+        this.animalAt(2).purchase(this.playerOne);
+        assertEquals(2, this.board.getOwnedAnimals(this.playerOne).size());
+    }
+
+    @Test
+    @DisplayName("Detects when a player owns a whole group.")
+    void detectsWholeGroups() throws AnimalAlreadyOwnedException, InsufficientBalanceException {
+        this.animalAt(3).purchase(this.playerOne);
+        this.animalAt(4).purchase(this.playerOne);
+        assertFalse(this.board.ownsWholeGroup(this.playerOne, this.animalAt(3)));
+
+        this.animalAt(5).purchase(this.playerOne);
+        assertTrue(this.board.ownsWholeGroup(this.playerOne, this.animalAt(3)));
+        assertFalse(this.board.ownsWholeGroup(this.playerTwo, this.animalAt(3)));
+    }
+
+    @Test
+    @DisplayName("Returns Animals to the bank on bankruptcy.")
+    void releasesAnimalsOnBankruptcy() throws AnimalAlreadyOwnedException, InsufficientBalanceException {
+        this.animalAt(24).purchase(this.playerOne);
+        this.animalAt(25).purchase(this.playerOne);
+
+        this.playerOne.declareBankruptcy();
+
+        assertEquals(0, this.board.getOwnedSpaces(this.playerOne));
+        assertTrue(this.board.getOwnedAnimals(this.playerOne).isEmpty());
+        assertNull(this.animalAt(24).getOwner(this.board));
+        assertNull(this.animalAt(25).getOwner(this.board));
+    }
+}
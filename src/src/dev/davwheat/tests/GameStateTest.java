@@ -0,0 +1,87 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Game;
+import dev.davwheat.GameState;
+import dev.davwheat.Player;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameState")
+class GameStateTest {
+    final GreedyDecisionPolicy policy = new GreedyDecisionPolicy(3, 10000);
+
+    /**
+     * Plays a game up to a turn limit.
+     */
+    Game playTo(final int turns, final long seed) {
+        final Game game = Game.createHeadlessGame(this.policy, turns, seed);
+        game.play();
+        return game;
+    }
+
+    @Test
+    @DisplayName("Copies are equal until one of them changes.")
+    void copiesAreEqual() {
+        final GameState state = GameState.createFromGame(this.playTo(40, 1));
+        final GameState copy = state.copy();
+
+        assertEquals(state, copy);
+        assertEquals(state.hashCode(), copy.hashCode());
+
+        copy.setBalance(0, copy.getBalance(0) + 1);
+        assertNotEquals(state, copy);
+
+        copy.copyFrom(state);
+        assertEquals(state, copy);
+
+        copy.setLevel(1, (copy.getLevel(1) + 1) % 4);
+        assertNotEquals(state, copy);
+    }
+
+    @Test
+    @DisplayName("Applying a state to another game of the same players gives the same game.")
+    void appliesToGame() {
+        for (int seed = 0; seed < 20; seed++) {
+            final Game played = this.playTo(300, seed);
+            final GameState state = GameState.createFromGame(played);
+
+            final Game restored = Game.createHeadlessGame(this.policy, 0, seed);
+            state.applyTo(restored);
+
+            assertEquals(state, GameState.createFromGame(restored));
+            assertEquals(played.getLivePlayerCount(), restored.getLivePlayerCount());
+            assertEquals(played.getActivePlayer().playerId, restored.getActivePlayer().playerId);
+
+            for (int seat = 0; seat < 3; seat++) {
+                final Player expected = played.getPlayers().get(seat);
+                final Player actual = restored.getPlayers().get(seat);
+
+                assertEquals(expected.getBoardSpaceAtPlayerPosition(), actual.getBoardSpaceAtPlayerPosition());
+                assertEquals(expected.hasLost(), actual.hasLost());
+                assertEquals(played.gameBoardInstance.getOwnedAnimals(expected), restored.gameBoardInstance.getOwnedAnimals(actual));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects a game with a different number of players.")
+    void rejectsOtherPlayerCounts() {
+        final GameState state = GameState.createFromGame(this.playTo(10, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> state.applyTo(Game.createHeadlessGame(new GreedyDecisionPolicy(4, 0), 0, 1)));
+    }
+
+    @Test
+    @DisplayName("Keeps the owner of a space when they're in a seat past 127.")
+    void keepsLargeOwnerIds() {
+        final GameState state = new GameState(300);
+        state.setOwner(2, 200);
+
+        assertEquals(200, state.getOwner(2));
+        assertEquals(200, state.copy().getOwner(2));
+        assertThrows(IllegalArgumentException.class, () -> new GameState(Game.MAX_PLAYERS + 1));
+    }
+}
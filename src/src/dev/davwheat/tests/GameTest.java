@@ -0,0 +1,97 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Game;
+import dev.davwheat.Player;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.naming.NoPermissionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Game")
+class GameTest {
+    static final int ITERATIONS = 25;
+
+    @Test
+    @DisplayName("Creates players using the DecisionPolicy.")
+    void createsPlayersFromPolicy() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(4, 0), 0, 1);
+
+        assertEquals(4, game.getPlayers().size());
+        assertEquals("Player 1", game.getPlayers().get(0).playerName);
+        assertEquals('D', game.getPlayers().get(3).playerVisualIdentifier);
+        assertEquals(game.getPlayers().get(0), game.getActivePlayer());
+    }
+
+    @Test
+    @DisplayName("Gives every player a different identifier, up to the most GreedyDecisionPolicy allows.")
+    void createsLargestGame() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(41, 0), 0, 1);
+
+        assertEquals(41, game.getPlayers().size());
+        assertEquals('*', game.getPlayers().get(40).playerVisualIdentifier);
+        assertThrows(IllegalArgumentException.class, () -> new GreedyDecisionPolicy(42, 0));
+    }
+
+    @Test
+    @DisplayName("Headless games run to completion or the turn limit.")
+    void headlessGamesFinish() {
+        for (int i = 0; i < GameTest.ITERATIONS; i++) {
+            final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2 + i % 7, 10000), 500, i);
+            game.play();
+
+            final Player winner = game.getWinner();
+
+            if (winner == null) {
+                assertEquals(500, game.getTurnCount());
+            } else {
+                assertFalse(winner.hasLost());
+                assertTrue(game.getTurnCount() <= 500);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects a turn limit below 0.")
+    void rejectsNegativeTurnLimit() {
+        assertThrows(IllegalArgumentException.class, () -> Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), -1, 1));
+    }
+
+    @Test
+    @DisplayName("Hands the turn on in order, skipping bankrupt players.")
+    void turnOrderSkipsBankruptPlayers() throws NoPermissionException {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(5, 0), 0, 1);
+        final List<Player> players = game.getPlayers();
+
+        players.get(1).declareBankruptcy();
+        players.get(2).declareBankruptcy();
+        assertEquals(3, game.getLivePlayerCount());
+
+        game.endTurn(players.get(0));
+        assertSame(players.get(3), game.getActivePlayer());
+
+        // A bankrupt player can still hand on their own turn
+        players.get(3).declareBankruptcy();
+        game.endTurn(players.get(3));
+        assertSame(players.get(4), game.getActivePlayer());
+
+        game.endTurn(players.get(4));
+        assertSame(players.get(0), game.getActivePlayer());
+        assertNull(game.getWinner());
+
+        players.get(0).declareBankruptcy();
+        assertEquals(1, game.getLivePlayerCount());
+        assertSame(players.get(4), game.getWinner());
+    }
+
+    @Test
+    @DisplayName("Only the active player can end the turn.")
+    void onlyActivePlayerEndsTurn() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(3, 0), 0, 1);
+
+        assertThrows(NoPermissionException.class, () -> game.endTurn(game.getPlayers().get(1)));
+    }
+}
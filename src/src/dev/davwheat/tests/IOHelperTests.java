@@ -6,10 +6,14 @@ import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class IOHelperTests {
     @Test
@@ -210,4 +214,57 @@ class IOHelperTests {
             ioHelper.pressEnterToContinue();
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Replays answers from a script.")
+    void replaysScript() {
+        final IOHelper ioHelper = new IOHelper(List.of("", "abc", "12", "", "y"), false);
+
+        assertEquals(12, ioHelper.readInteger("test input", "fail"));
+        ioHelper.pressEnterToContinue();
+        assertEquals('y', ioHelper.readChar("test input", "fail", IOHelper.YesNoCharValidator));
+    }
+
+    @Test
+    @DisplayName("Does not print prompts when replaying quietly.")
+    void replaysScriptQuietly() {
+        // Set up streams to allow monitoring of output
+        final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        final PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outContent));
+
+        final IOHelper ioHelper = new IOHelper(List.of(" ", "name"), false);
+        assertEquals("name", ioHelper.readString("test input", "fail"));
+        ioHelper.getOutput().println("menu");
+
+        System.setOut(originalOut);
+        assertEquals("", outContent.toString());
+    }
+
+    @Test
+    @DisplayName("Throws when the script runs out of answers.")
+    void scriptRunsOut() {
+        final IOHelper ioHelper = new IOHelper(List.of("abc"), false);
+
+        assertThrows(NoSuchElementException.class, () -> ioHelper.readInteger("test input", "fail"));
+    }
+
+    @Test
+    @DisplayName("Records every line read, so it can be replayed.")
+    void recordsInput() {
+        final ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        final IOHelper ioHelper = new IOHelper();
+        ioHelper.setScanner(new Scanner("x\n5\n\n"));
+        ioHelper.recordTo(new PrintStream(recording));
+
+        final PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        ioHelper.readInteger("test input", "fail");
+        ioHelper.pressEnterToContinue();
+        System.setOut(originalOut);
+
+        final IOHelper replay = new IOHelper(recording.toString().lines().collect(Collectors.toList()), false);
+        assertEquals(5, replay.readInteger("test input", "fail"));
+        assertDoesNotThrow(replay::pressEnterToContinue);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Money")
+class MoneyTest {
+    @Test
+    @DisplayName("Converts pounds to pence.")
+    void convertsPoundsToPence() {
+        assertEquals(250000, Money.fromPounds(2500));
+        assertEquals(-500, Money.fromPounds(-5));
+    }
+
+    @Test
+    @DisplayName("Formats whole pounds.")
+    void formatsWholePounds() {
+        assertEquals("£2000.00", Money.format(200000));
+        assertEquals("£0.00", Money.format(0));
+    }
+
+    @Test
+    @DisplayName("Formats pounds and pence, padding the pence.")
+    void formatsPence() {
+        assertEquals("£12.50", Money.format(1250));
+        assertEquals("£3.05", Money.format(305));
+        assertEquals("£0.07", Money.format(7));
+    }
+
+    @Test
+    @DisplayName("Formats negative amounts.")
+    void formatsNegativeAmounts() {
+        assertEquals("-£400.00", Money.format(-40000));
+        assertEquals("-£0.99", Money.format(-99));
+    }
+}
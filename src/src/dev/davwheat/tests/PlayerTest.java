@@ -0,0 +1,43 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Game;
+import dev.davwheat.Money;
+import dev.davwheat.Player;
+import dev.davwheat.exceptions.InsufficientBalanceException;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Player")
+class PlayerTest {
+    final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+    final Player playerOne = this.game.getPlayers().get(0);
+    final Player playerTwo = this.game.getPlayers().get(1);
+
+    @Test
+    @DisplayName("Starts with £2000.")
+    void startingBalance() {
+        assertEquals(Money.fromPounds(2000), this.playerOne.getBankBalance());
+    }
+
+    @Test
+    @DisplayName("Moves money between players exactly.")
+    void reciprocalAdjustment() throws InsufficientBalanceException {
+        this.playerOne.adjustBankBalance(-1, this.playerTwo);
+
+        assertEquals(Money.fromPounds(2000) - 1, this.playerOne.getBankBalance());
+        assertEquals(Money.fromPounds(2000) + 1, this.playerTwo.getBankBalance());
+    }
+
+    @Test
+    @DisplayName("Changes neither balance if a payment can't be afforded.")
+    void unaffordableReciprocalAdjustment() {
+        assertThrows(InsufficientBalanceException.class, () -> this.playerOne.adjustBankBalance(-Money.fromPounds(2001), this.playerTwo));
+        assertThrows(InsufficientBalanceException.class, () -> this.playerOne.adjustBankBalance(Money.fromPounds(2001), this.playerTwo));
+
+        assertEquals(Money.fromPounds(2000), this.playerOne.getBankBalance());
+        assertEquals(Money.fromPounds(2000), this.playerTwo.getBankBalance());
+    }
+}
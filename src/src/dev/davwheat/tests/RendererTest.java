@@ -0,0 +1,70 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Renderer;
+import dev.davwheat.enums.Color;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Renderer")
+class RendererTest {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final PrintStream stream = new PrintStream(this.bytes, false, StandardCharsets.UTF_8);
+
+    String written() {
+        return this.bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Only writes output when flushed.")
+    void writesOnFlush() {
+        final Renderer renderer = new Renderer(this.stream);
+
+        renderer.print("Player ").print(1).print(" has ").printMoney(123405).println(".");
+        assertEquals("", this.written());
+
+        renderer.flush();
+        assertEquals("Player 1 has £1234.05.\n", this.written());
+
+        // Frame is emptied after flushing
+        renderer.println("Next");
+        renderer.flush();
+        assertEquals("Player 1 has £1234.05.\nNext\n", this.written());
+    }
+
+    @Test
+    @DisplayName("Keeps colour codes unless told to strip them.")
+    void keepsColours() {
+        final Renderer renderer = new Renderer(this.stream);
+
+        renderer.printColored(Color.RED, "Hi").flush();
+        assertEquals(Color.RED + "Hi" + Color.RESET, this.written());
+    }
+
+    @Test
+    @DisplayName("Strips colour codes, including ones added as plain text.")
+    void stripsColours() {
+        final Renderer renderer = new Renderer(this.stream, true);
+
+        renderer.printColored(Color.GREEN_BOLD_BRIGHT, "Hello").print(" ").printf("%sthere%s", Color.BLUE_BOLD, Color.RESET).println();
+        renderer.flush();
+
+        assertEquals("Hello there\n", this.written());
+    }
+
+    @Test
+    @DisplayName("Quiet renderer discards everything.")
+    void quietDiscardsOutput() {
+        final Renderer renderer = Renderer.createQuietRenderer();
+
+        assertTrue(renderer.isQuiet());
+        renderer.print("Hello").printf("%d", 5).println();
+        renderer.flush();
+    }
+}
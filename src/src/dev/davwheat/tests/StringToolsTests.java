@@ -5,8 +5,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("StringTools")
 class StringToolsTests {
@@ -50,4 +51,30 @@ class StringToolsTests {
                 )
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Keeps text which is wider than the line as it is.")
+    void leavesWideTextUncentred() {
+        assertEquals("too wide", StringTools.centreText("too wide", 5));
+    }
+
+    @Test
+    @DisplayName("Splits text which exactly fills a line.")
+    void splitsTextOfExactWidth() {
+        assertEquals(Arrays.asList("exactly"), StringTools.splitStringAtWhitespace("exactly", 7));
+        assertEquals(Arrays.asList(""), StringTools.splitStringAtWhitespace("", 7));
+    }
+
+    @Test
+    @DisplayName("Lays out wrapped, centred text once and reuses it.")
+    void cachesLayouts() {
+        final List<String> lines = StringTools.layoutCentred("this is a line of text that should be wrapped", 10, 12);
+
+        assertEquals(
+                StringTools.centreText(StringTools.splitStringAtWhitespace("this is a line of text that should be wrapped", 10), 12),
+                lines
+        );
+        assertSame(lines, StringTools.layoutCentred("this is a line of text that should be wrapped", 10, 12));
+        assertNotSame(lines, StringTools.layoutCentred("this is a line of text that should be wrapped", 10, 14));
+    }
+}
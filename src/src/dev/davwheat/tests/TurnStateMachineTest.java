@@ -0,0 +1,97 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Game;
+import dev.davwheat.PendingDecision;
+import dev.davwheat.Player;
+import dev.davwheat.enums.DecisionType;
+import dev.davwheat.enums.TurnState;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TurnStateMachine")
+class TurnStateMachineTest {
+    @Test
+    @DisplayName("Pauses before rolling until the player continues.")
+    void pausesBeforeRolling() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+
+        final PendingDecision decision = game.advance();
+
+        assertEquals(DecisionType.CONTINUE, decision.type);
+        assertSame(game.getActivePlayer(), decision.player);
+        assertSame(decision, game.getPendingDecision());
+        assertEquals(TurnState.ROLL, game.getTurnState());
+
+        // Advancing again doesn't skip the decision
+        assertSame(decision, game.advance());
+        assertEquals(1, game.getTurnCount());
+
+        game.submitDecision(0);
+        assertNull(game.getPendingDecision());
+        assertNotNull(game.advance());
+        assertNotEquals(TurnState.ROLL, game.getTurnState());
+    }
+
+    @Test
+    @DisplayName("Rejects answers which aren't valid for the decision.")
+    void rejectsInvalidAnswers() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+
+        assertThrows(IllegalStateException.class, () -> game.submitDecision(0));
+
+        game.advance();
+        assertThrows(IllegalArgumentException.class, () -> game.submitDecision(1));
+        assertThrows(IllegalArgumentException.class, () -> game.submitDecision(-1));
+    }
+
+    @Test
+    @DisplayName("Playing by hand gives the same game as play().")
+    void manualPlayMatchesPlay() {
+        for (int seed = 0; seed < 10; seed++) {
+            final GreedyDecisionPolicy policy = new GreedyDecisionPolicy(3, 10000);
+            final Game expected = Game.createHeadlessGame(policy, 300, seed);
+            expected.play();
+
+            final Game game = Game.createHeadlessGame(policy, 300, seed);
+            PendingDecision decision;
+
+            while ((decision = game.advance()) != null) {
+                final Player player = decision.player;
+                assertTrue(decision.isValidChoice(decision.getDefaultChoice()));
+
+                switch (decision.type) {
+                    case CONTINUE -> game.submitDecision(0);
+                    case PURCHASE_ANIMAL -> game.submitDecision(policy.shouldPurchaseAnimal(player, decision.animal) ? 1 : 0);
+                    case TAKE_CHANCE_CARD -> game.submitDecision(1);
+                    case UPGRADE_ANIMAL -> game.submitDecision(decision.upgradeOptions.indexOf(policy.chooseAnimalToUpgrade(player, decision.upgradeOptions)) + 1);
+                }
+            }
+
+            assertTrue(game.isOver());
+            assertEquals(expected.getTurnCount(), game.getTurnCount());
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected.getPlayers().get(i).getBankBalance(), game.getPlayers().get(i).getBankBalance());
+                assertEquals(expected.getPlayers().get(i).hasLost(), game.getPlayers().get(i).hasLost());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Saying no to everything still finishes at the turn limit.")
+    void defaultChoicesFinish() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 50, 3);
+        PendingDecision decision;
+
+        while ((decision = game.advance()) != null) {
+            game.submitDecision(decision.getDefaultChoice());
+        }
+
+        assertEquals(TurnState.GAME_OVER, game.getTurnState());
+        assertEquals(50, game.getTurnCount());
+        assertEquals(0, game.gameBoardInstance.countOwnedAnimals(game.getPlayers().get(0)));
+    }
+}
@@ -0,0 +1,87 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.GameState;
+import dev.davwheat.Player;
+import dev.davwheat.UndoLog;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UndoLog")
+class UndoLogTest {
+    @Test
+    @DisplayName("Undoing a whole game puts everything back how it started.")
+    void undoesWholeGames() {
+        for (int seed = 0; seed < 20; seed++) {
+            final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(3, 10000), 300, seed);
+            final GameState start = GameState.createFromGame(game);
+            final UndoLog undoLog = game.startUndoLog();
+
+            game.play();
+            assertNotEquals(start, GameState.createFromGame(game));
+
+            undoLog.undoAll();
+            assertEquals(start, GameState.createFromGame(game));
+            assertEquals(3, game.getLivePlayerCount());
+            assertEquals(0, undoLog.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Undoes moves back to a mark, newest first.")
+    void undoesToMark() throws Exception {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 5);
+        final Player one = game.getPlayers().get(0);
+        final Player two = game.getPlayers().get(1);
+        final UndoLog undoLog = game.startUndoLog();
+
+        final Animal slug = (Animal) one.movePlayer(1);
+        slug.purchase(one);
+
+        final GameState afterPurchase = GameState.createFromGame(game);
+        final int mark = undoLog.mark();
+
+        slug.upgrade(one);
+        two.movePlayer(1);
+        slug.payForStop(two);
+        game.cardDeck.takeCard().takeAction(two);
+
+        undoLog.undoTo(mark);
+        assertEquals(afterPurchase, GameState.createFromGame(game));
+        assertSame(one, slug.getOwner(game.gameBoardInstance));
+
+        undoLog.undoAll();
+        assertNull(slug.getOwner(game.gameBoardInstance));
+        assertEquals(0, one.getCurrentSpaceIndex());
+    }
+
+    @Test
+    @DisplayName("Puts bankrupt players back into the turn order.")
+    void undoesBankruptcy() throws Exception {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(3, 0), 0, 5);
+        final Player one = game.getPlayers().get(0);
+        final Player two = game.getPlayers().get(1);
+        final UndoLog undoLog = game.startUndoLog();
+
+        ((Animal) two.movePlayer(3)).purchase(two);
+        final GameState before = GameState.createFromGame(game);
+        final int mark = undoLog.mark();
+
+        two.declareBankruptcy();
+        game.endTurn(one);
+        assertEquals(2, game.getActivePlayer().playerId);
+        assertEquals(0, game.gameBoardInstance.countOwnedAnimals(two));
+
+        undoLog.undoTo(mark);
+        assertEquals(before, GameState.createFromGame(game));
+        assertEquals(3, game.getLivePlayerCount());
+        assertEquals(1, game.gameBoardInstance.countOwnedAnimals(two));
+
+        game.endTurn(one);
+        assertSame(two, game.getActivePlayer());
+    }
+}
@@ -0,0 +1,92 @@
+package dev.davwheat.tests;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.GameState;
+import dev.davwheat.Player;
+import dev.davwheat.UndoLog;
+import dev.davwheat.ZobristHash;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ZobristHash")
+class ZobristHashTest {
+    @Test
+    @DisplayName("Keeps the game's hash the same as hashing it from scratch.")
+    void incrementalHashMatches() {
+        for (int seed = 0; seed < 20; seed++) {
+            final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(4, 10000), 300, seed);
+
+            while (game.advance() != null) {
+                assertEquals(ZobristHash.hashOf(game), game.getStateHash());
+                assertEquals(ZobristHash.hashOf(GameState.createFromGame(game)), game.getStateHash());
+                game.submitDecision(game.getPendingDecision().getDefaultChoice());
+            }
+
+            assertEquals(ZobristHash.hashOf(game), game.getStateHash());
+        }
+    }
+
+    @Test
+    @DisplayName("Gives the same state the same hash, however it was reached.")
+    void sameStateSameHash() throws Exception {
+        final Game first = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+        final Game second = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+        assertEquals(first.getStateHash(), second.getStateHash());
+
+        final Player firstPlayer = first.getPlayers().get(0);
+        ((Animal) firstPlayer.movePlayer(1)).purchase(firstPlayer);
+        firstPlayer.movePlayer(2);
+        assertNotEquals(first.getStateHash(), second.getStateHash());
+
+        final Player secondPlayer = second.getPlayers().get(0);
+        secondPlayer.movePlayer(1);
+        secondPlayer.movePlayer(2);
+        ((Animal) second.gameBoardInstance.getBoardSpaceAtPosition(1)).purchase(secondPlayer);
+        assertEquals(first.getStateHash(), second.getStateHash());
+    }
+
+    @Test
+    @DisplayName("Puts the hash back when moves are undone or a state is applied.")
+    void restoresHash() throws Exception {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(3, 0), 0, 2);
+        final Player player = game.getPlayers().get(1);
+        final long start = game.getStateHash();
+        final GameState startState = GameState.createFromGame(game);
+        final UndoLog undoLog = game.startUndoLog();
+
+        final Animal animal = (Animal) player.movePlayer(3);
+        animal.purchase(player);
+        animal.upgrade(player);
+        player.makeMissNextTurn();
+        game.endTurn(game.getActivePlayer());
+        assertNotEquals(start, game.getStateHash());
+
+        undoLog.undoAll();
+        assertEquals(start, game.getStateHash());
+
+        player.declareBankruptcy();
+        game.cardDeck.takeCard();
+        assertNotEquals(start, game.getStateHash());
+
+        startState.applyTo(game);
+        assertEquals(start, game.getStateHash());
+    }
+
+    @Test
+    @DisplayName("Hashes balances by bucket.")
+    void hashesBalancesByBucket() throws Exception {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 3);
+        final Player player = game.getPlayers().get(0);
+        final long start = game.getStateHash();
+
+        player.adjustBankBalance(1);
+        assertEquals(start, game.getStateHash());
+
+        player.adjustBankBalance(ZobristHash.BALANCE_BUCKET);
+        assertNotEquals(start, game.getStateHash());
+    }
+}
@@ -0,0 +1,206 @@
+package dev.davwheat.tests.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Card;
+import dev.davwheat.Deck;
+import dev.davwheat.Game;
+import dev.davwheat.GameBoard;
+import dev.davwheat.GameState;
+import dev.davwheat.Money;
+import dev.davwheat.Player;
+import dev.davwheat.analysis.BankruptcyRisk;
+import dev.davwheat.enums.BoardSpaceType;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BankruptcyRisk")
+class BankruptcyRiskTest {
+    final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+    final Player player = this.game.getPlayers().get(0);
+
+    /**
+     * Gives every Animal to the second player at a level, and puts the first player somewhere with a balance.
+     */
+    void setUp(final int level, final int index, final long balance, final boolean missNextTurn) {
+        final GameState state = GameState.createFromGame(this.game);
+
+        for (int i = 0; i < GameBoard.SPACE_COUNT; i++) {
+            if (GameBoard.getSpace(i).type == BoardSpaceType.ANIMAL) {
+                state.setOwner(i, 1);
+                state.setLevel(i, level);
+            } else {
+                state.setOwner(i, -1);
+                state.setLevel(i, 0);
+            }
+        }
+
+        state.setPosition(0, index);
+        state.setBalance(0, balance);
+        state.setMissNextTurn(0, missNextTurn);
+        state.applyTo(this.game);
+    }
+
+    /**
+     * Gets the rent the first player would pay on a space.
+     */
+    long rentAt(final int index) {
+        final int ownerId = this.game.gameBoardInstance.getOwnerId(index);
+        return ownerId < 0 || ownerId == 0 ? 0 : ((Animal) GameBoard.getSpace(index)).getStopCostAtLevel(this.game.gameBoardInstance.getLevel(index));
+    }
+
+    /**
+     * Gets what the first player is paid for moving between two spaces.
+     */
+    static long startReward(final int from, final int to) {
+        if (from <= to) return 0;
+        return to == 0 ? GameBoard.LAND_ON_START_REWARD : GameBoard.PASS_START_REWARD;
+    }
+
+    @Test
+    @DisplayName("Only counts Chance cards when nothing is owned.")
+    void onlyChanceCards() {
+        this.setUp(0, 3, 0, false);
+
+        final Deck deck = this.game.cardDeck;
+        int losses = 0;
+
+        for (int i = 0; i < deck.getCardCount(); i++) {
+            if (deck.getCard(i).balanceChange < 0) losses++;
+        }
+
+        // Clear the owners, leaving the player with nothing
+        final GameState state = GameState.createFromGame(this.game);
+        for (int i = 0; i < GameBoard.SPACE_COUNT; i++) state.setOwner(i, -1);
+        state.applyTo(this.game);
+
+        assertEquals(6.0 / 36 * losses / deck.getCardCount(), new BankruptcyRisk(this.game, 1).getRisk(this.player), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Matches every roll of the dice and every card for a single turn.")
+    void matchesOneTurn() {
+        final BankruptcyRisk risk = new BankruptcyRisk(this.game, 1);
+        final Deck deck = this.game.cardDeck;
+
+        for (int level = 0; level <= 3; level++) {
+            for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+                for (long balance = 0; balance <= Money.fromPounds(1000); balance += Money.fromPounds(5)) {
+                    this.setUp(level, index, balance, false);
+
+                    double expected = 0;
+
+                    for (int d1 = 1; d1 <= 6; d1++) {
+                        for (int d2 = 1; d2 <= 6; d2++) {
+                            final int to = Player.getSpaceIndexAfterMove(index, d1 + d2);
+                            final long afterMove = balance + BankruptcyRiskTest.startReward(index, to);
+
+                            if (afterMove < this.rentAt(to)) {
+                                expected += 1.0 / 36;
+                            } else if (d1 == d2) {
+                                for (int i = 0; i < deck.getCardCount(); i++) {
+                                    if (afterMove - this.rentAt(to) + deck.getCard(i).balanceChange < 0) {
+                                        expected += 1.0 / 36 / deck.getCardCount();
+                                    }
+                                }
+                            }
+                        }
+                    }
+
+                    assertEquals(expected, risk.getRisk(this.player), 1e-12, "level " + level + ", space " + index + ", balance " + balance);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Matches playing the same turns out at random.")
+    void matchesRandomTurns() {
+        this.setUp(2, 5, Money.fromPounds(150), false);
+
+        final int turns = 3;
+        final Deck deck = this.game.cardDeck;
+        final SplittableRandom random = new SplittableRandom(7);
+        final int trials = 400_000;
+        int bankrupt = 0;
+
+        for (int trial = 0; trial < trials; trial++) {
+            int index = 5;
+            long balance = Money.fromPounds(150);
+            boolean missing = false;
+
+            for (int turn = 0; turn < turns; turn++) {
+                if (missing) {
+                    missing = false;
+                    continue;
+                }
+
+                final int d1 = random.nextInt(1, 7);
+                final int d2 = random.nextInt(1, 7);
+                final int to = Player.getSpaceIndexAfterMove(index, d1 + d2);
+
+                balance += BankruptcyRiskTest.startReward(index, to) - this.rentAt(to);
+                index = to;
+
+                if (balance < 0) {
+                    bankrupt++;
+                    break;
+                }
+
+                if (d1 == d2) {
+                    final Card card = deck.getCard(random.nextInt(deck.getCardCount()));
+                    balance += card.balanceChange;
+                    missing = card.missNextTurn;
+
+                    if (balance < 0) {
+                        bankrupt++;
+                        break;
+                    }
+                }
+            }
+        }
+
+        assertEquals((double) bankrupt / trials, new BankruptcyRisk(this.game, turns).getRisk(this.player), 0.003);
+    }
+
+    @Test
+    @DisplayName("Works the risk out again when the rent changes.")
+    void updatesWithRent() throws Exception {
+        this.setUp(0, 0, Money.fromPounds(10), false);
+
+        final BankruptcyRisk risk = new BankruptcyRisk(this.game, 2);
+        final double before = risk.getRisk(this.player);
+
+        final Player owner = this.game.getPlayers().get(1);
+        ((Animal) GameBoard.getSpace(10)).upgrade(owner);
+
+        assertTrue(risk.getRisk(this.player) > before);
+
+        this.setUp(0, 0, Money.fromPounds(10), false);
+        assertEquals(before, risk.getRisk(this.player), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Counts a missed turn as a turn without any risk.")
+    void countsMissedTurns() {
+        this.setUp(3, 0, 0, true);
+        assertEquals(0, new BankruptcyRisk(this.game, 1).getRisk(this.player));
+
+        this.setUp(3, 0, 0, false);
+        assertEquals(1, new BankruptcyRisk(this.game, 1).getRisk(this.player), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Has no risk with plenty of money, and all the risk once a player has lost.")
+    void extremes() {
+        this.setUp(3, 0, Money.fromPounds(100_000), false);
+        assertEquals(0, new BankruptcyRisk(this.game).getRisk(this.player));
+
+        this.player.declareBankruptcy();
+        assertEquals(1, new BankruptcyRisk(this.game).getRisk(this.player));
+    }
+}
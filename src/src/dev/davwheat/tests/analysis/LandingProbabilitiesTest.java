@@ -0,0 +1,90 @@
+package dev.davwheat.tests.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Deck;
+import dev.davwheat.GameBoard;
+import dev.davwheat.Player;
+import dev.davwheat.analysis.LandingProbabilities;
+import dev.davwheat.enums.AnimalLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LandingProbabilities")
+class LandingProbabilitiesTest {
+    final LandingProbabilities odds = LandingProbabilities.createForBaseDeck();
+
+    @Test
+    @DisplayName("Accounts for every turn.")
+    void accountsForEveryTurn() {
+        double total = this.odds.getMissedTurnProbability();
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            total += this.odds.getLandingProbability(index);
+        }
+
+        assertEquals(1, total, 1e-9);
+        assertTrue(this.odds.getMissedTurnProbability() > 0);
+    }
+
+    @Test
+    @DisplayName("Never lands on Start, as moves wrap around by 25.")
+    void neverLandsOnStart() {
+        assertEquals(0, this.odds.getLandingProbability(0), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Matches a long simulated walk around the board.")
+    void matchesSimulation() {
+        final SplittableRandom random = new SplittableRandom(1);
+        final int[] landings = new int[GameBoard.SPACE_COUNT];
+        final int turns = 2_000_000;
+        int index = 0;
+        boolean missNextTurn = false;
+
+        for (int turn = 0; turn < turns; turn++) {
+            if (missNextTurn) {
+                missNextTurn = false;
+                continue;
+            }
+
+            final int d1 = random.nextInt(1, 7);
+            final int d2 = random.nextInt(1, 7);
+            index = Player.getSpaceIndexAfterMove(index, d1 + d2);
+            landings[index]++;
+
+            // 2 of the 11 standard cards make the player miss their next turn
+            missNextTurn = d1 == d2 && random.nextInt(11) < 2;
+        }
+
+        for (int space = 0; space < GameBoard.SPACE_COUNT; space++) {
+            assertEquals(this.odds.getLandingProbability(space), (double) landings[space] / turns, 0.001);
+        }
+    }
+
+    @Test
+    @DisplayName("Caches results for the same configuration.")
+    void cachesResults() {
+        assertSame(this.odds, LandingProbabilities.create(Deck.createBaseDeck(new SplittableRandom(5)), true));
+        assertSame(LandingProbabilities.create(0, 11, false), LandingProbabilities.create(2, 11, false));
+        assertNotSame(this.odds, LandingProbabilities.create(0, 11, true));
+        assertEquals(0, LandingProbabilities.create(0, 11, true).getMissedTurnProbability(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Ranks Animals by expected rent.")
+    void ranksAnimals() {
+        final List<Animal> ranked = this.odds.rankAnimalsByRent(AnimalLevel.LEVEL_THREE);
+
+        for (int i = 1; i < ranked.size(); i++) {
+            assertTrue(this.odds.getExpectedRentPerTurn(ranked.get(i - 1), AnimalLevel.LEVEL_THREE) >= this.odds.getExpectedRentPerTurn(ranked.get(i), AnimalLevel.LEVEL_THREE));
+        }
+
+        final Animal animal = ranked.get(0);
+        assertEquals(this.odds.getLandingProbability(animal.index) * animal.getStopCostAtLevel(AnimalLevel.LEVEL_ONE), this.odds.getExpectedRentPerTurn(animal, AnimalLevel.LEVEL_ONE), 1e-9);
+    }
+}
@@ -0,0 +1,81 @@
+package dev.davwheat.tests.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.GameBoard;
+import dev.davwheat.analysis.LandingProbabilities;
+import dev.davwheat.analysis.ReturnOnInvestment;
+import dev.davwheat.enums.AnimalLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReturnOnInvestment")
+class ReturnOnInvestmentTest {
+    final LandingProbabilities odds = LandingProbabilities.createForBaseDeck();
+    final ReturnOnInvestment returns = ReturnOnInvestment.create(this.odds);
+
+    @Test
+    @DisplayName("Is only worked out once for each set of landing probabilities.")
+    void isCached() {
+        assertSame(this.returns, ReturnOnInvestment.createForBaseDeck());
+    }
+
+    @Test
+    @DisplayName("Adds up what's spent on each step.")
+    void addsUpInvestment() {
+        final Animal animal = (Animal) GameBoard.getSpace(1);
+        long total = 0;
+
+        for (final AnimalLevel level : AnimalLevel.values()) {
+            total += this.returns.getStepCost(animal, level);
+            assertEquals(total, this.returns.getInvestment(animal, level));
+        }
+
+        assertEquals(animal.purchaseCost + animal.upgradeCost * 3, this.returns.getInvestment(animal, AnimalLevel.LEVEL_THREE));
+    }
+
+    @Test
+    @DisplayName("Scales income with the number of opponents, and payback against it.")
+    void scalesWithOpponents() {
+        final Animal animal = (Animal) GameBoard.getSpace(1);
+        final AnimalLevel level = AnimalLevel.LEVEL_TWO;
+        final double perTurn = this.odds.getExpectedRentPerTurn(animal, level);
+
+        assertEquals(perTurn * 3, this.returns.getExpectedIncomePerRound(animal, level, 3), 1e-9);
+        assertEquals(this.returns.getPaybackRounds(animal, level, 1) / 3, this.returns.getPaybackRounds(animal, level, 3), 1e-9);
+        assertEquals(this.returns.getInvestment(animal, level) / (perTurn * 3), this.returns.getPaybackRounds(animal, level, 3), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> this.returns.getExpectedIncomePerRound(animal, level, 0));
+    }
+
+    @Test
+    @DisplayName("Pays back each step with only the extra rent it brings in.")
+    void paysBackSteps() {
+        final Animal animal = (Animal) GameBoard.getSpace(1);
+        final double extra = this.odds.getExpectedRentPerTurn(animal, AnimalLevel.LEVEL_ONE) - this.odds.getExpectedRentPerTurn(animal, AnimalLevel.LEVEL_ZERO);
+
+        assertEquals(extra * 2, this.returns.getStepIncomePerRound(animal, AnimalLevel.LEVEL_ONE, 2), 1e-9);
+        assertEquals(animal.upgradeCost / (extra * 2), this.returns.getStepPaybackRounds(animal, AnimalLevel.LEVEL_ONE, 2), 1e-9);
+        assertEquals(this.returns.getPaybackRounds(animal, AnimalLevel.LEVEL_ZERO, 2), this.returns.getStepPaybackRounds(animal, AnimalLevel.LEVEL_ZERO, 2), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Prints a row for every step of every Animal.")
+    void printsReport() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        this.returns.printReport(new PrintStream(bytes, true), 3);
+
+        int animals = 0;
+
+        for (int index = 0; index < GameBoard.SPACE_COUNT; index++) {
+            if (GameBoard.getSpace(index) instanceof Animal) {
+                animals++;
+            }
+        }
+
+        assertEquals(2 + animals * AnimalLevel.values().length, bytes.toString().split("\n").length);
+    }
+}
@@ -0,0 +1,178 @@
+package dev.davwheat.tests.analysis;
+
+import dev.davwheat.Animal;
+import dev.davwheat.Game;
+import dev.davwheat.GameBoard;
+import dev.davwheat.Money;
+import dev.davwheat.Player;
+import dev.davwheat.analysis.LandingProbabilities;
+import dev.davwheat.analysis.UpgradeAdvisor;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UpgradeAdvisor")
+class UpgradeAdvisorTest {
+    /**
+     * Finds the best gain by trying every combination of upgrades.
+     */
+    static double bruteForce(final long[] costs, final double[][] gains, final long budget, final int item) {
+        if (item == costs.length) return 0;
+
+        double best = UpgradeAdvisorTest.bruteForce(costs, gains, budget, item + 1);
+
+        for (int step = 1; step <= gains[item].length && costs[item] * step <= budget; step++) {
+            best = Math.max(best, gains[item][step - 1] + UpgradeAdvisorTest.bruteForce(costs, gains, budget - costs[item] * step, item + 1));
+        }
+
+        return best;
+    }
+
+    @Test
+    @DisplayName("Finds the same best upgrades as trying every combination.")
+    void matchesBruteForce() {
+        final SplittableRandom random = new SplittableRandom(3);
+
+        for (int round = 0; round < 300; round++) {
+            final int items = random.nextInt(0, 7);
+            final long[] costs = new long[items];
+            final double[][] gains = new double[items][];
+
+            for (int i = 0; i < items; i++) {
+                costs[i] = Money.fromPounds(random.nextInt(1, 5) * 50);
+                gains[i] = new double[random.nextInt(0, 4)];
+
+                for (int step = 0; step < gains[i].length; step++) {
+                    gains[i][step] = (step == 0 ? 0 : gains[i][step - 1]) + random.nextInt(1, 1000);
+                }
+            }
+
+            final long budget = Money.fromPounds(random.nextInt(0, 1500));
+            final int[] steps = UpgradeAdvisor.choose(costs, gains, budget);
+
+            long spent = 0;
+            double gain = 0;
+
+            for (int i = 0; i < items; i++) {
+                spent += costs[i] * steps[i];
+                if (steps[i] > 0) gain += gains[i][steps[i] - 1];
+            }
+
+            assertTrue(spent <= budget);
+            assertEquals(UpgradeAdvisorTest.bruteForce(costs, gains, budget, 0), gain, 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Comes close to the best upgrades when the costs have nothing in common.")
+    void nearlyMatchesBruteForceWithOddCosts() {
+        final SplittableRandom random = new SplittableRandom(7);
+
+        for (int round = 0; round < 100; round++) {
+            final int items = random.nextInt(1, 7);
+            final long[] costs = new long[items];
+            final double[][] gains = new double[items][3];
+
+            for (int i = 0; i < items; i++) {
+                // Costs in odd numbers of pence, so the table would need one entry for every penny of the budget
+                costs[i] = random.nextInt(100_000, 1_000_000) | 1;
+
+                for (int step = 0; step < 3; step++) {
+                    gains[i][step] = (step == 0 ? 0 : gains[i][step - 1]) + random.nextInt(1, 1000);
+                }
+            }
+
+            final long budget = random.nextLong(0, 10_000_000);
+            final int[] steps = UpgradeAdvisor.choose(costs, gains, budget);
+
+            long spent = 0;
+            double gain = 0;
+
+            for (int i = 0; i < items; i++) {
+                spent += costs[i] * steps[i];
+                if (steps[i] > 0) gain += gains[i][steps[i] - 1];
+            }
+
+            assertTrue(spent <= budget);
+            assertTrue(gain >= 0.99 * UpgradeAdvisorTest.bruteForce(costs, gains, budget, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps the player's reserve, and picks the upgrades worth the most.")
+    void advisesPlayer() throws Exception {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+        final Player player = game.getPlayers().get(0);
+        final LandingProbabilities odds = LandingProbabilities.createForBaseDeck();
+        final UpgradeAdvisor advisor = new UpgradeAdvisor(odds);
+
+        final Animal snail = (Animal) GameBoard.getSpace(2);
+        final Animal lion = (Animal) GameBoard.getSpace(25);
+        snail.purchase(player);
+        lion.purchase(player);
+
+        final long balance = player.getBankBalance();
+        final UpgradeAdvisor.Plan plan = advisor.advise(player, balance - lion.upgradeCost);
+
+        // The Lion's upgrade is worth far more than the Snail's, even though it costs twice as much
+        assertEquals(1, plan.getUpgrades().size());
+        assertSame(lion, plan.getUpgrades().get(0));
+        assertEquals(lion.upgradeCost, plan.getCost());
+        assertTrue(plan.getExtraRentPerTurn() > 0);
+
+        assertTrue(advisor.advise(player, balance).getUpgrades().isEmpty());
+        assertTrue(advisor.advise(player, 0).getCost() <= balance);
+        assertThrows(IllegalArgumentException.class, () -> advisor.advise(player, -1));
+    }
+
+    @Test
+    @DisplayName("Stays quick with hundreds of Animals.")
+    void handlesLargeBoards() {
+        final SplittableRandom random = new SplittableRandom(5);
+        final int items = 500;
+        final long[] costs = new long[items];
+        final double[][] gains = new double[items][3];
+
+        for (int i = 0; i < items; i++) {
+            costs[i] = Money.fromPounds(random.nextInt(1, 3) * 100);
+
+            for (int step = 0; step < 3; step++) {
+                gains[i][step] = (step == 0 ? 0 : gains[i][step - 1]) + random.nextInt(1, 1000);
+            }
+        }
+
+        final int[] steps = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> UpgradeAdvisor.choose(costs, gains, Money.fromPounds(20_000)));
+
+        long spent = 0;
+        for (int i = 0; i < items; i++) spent += costs[i] * steps[i];
+        assertTrue(spent <= Money.fromPounds(20_000));
+    }
+
+    @Test
+    @DisplayName("Stays quick with hundreds of Animals whose costs have nothing in common.")
+    void handlesLargeBoardsWithOddCosts() {
+        final SplittableRandom random = new SplittableRandom(9);
+        final int items = 500;
+        final long[] costs = new long[items];
+        final double[][] gains = new double[items][3];
+
+        for (int i = 0; i < items; i++) {
+            costs[i] = random.nextInt(1, 50_000);
+
+            for (int step = 0; step < 3; step++) {
+                gains[i][step] = (step == 0 ? 0 : gains[i][step - 1]) + random.nextInt(1, 1000);
+            }
+        }
+
+        final int[] steps = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> UpgradeAdvisor.choose(costs, gains, Money.fromPounds(100_000)));
+
+        long spent = 0;
+        for (int i = 0; i < items; i++) spent += costs[i] * steps[i];
+        assertTrue(spent <= Money.fromPounds(100_000));
+    }
+}
@@ -0,0 +1,95 @@
+package dev.davwheat.tests.server;
+
+import dev.davwheat.server.CommandMailbox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CommandMailbox")
+class CommandMailboxTest {
+    @Test
+    @DisplayName("Runs commands from many threads one at a time, in the order each thread posted them.")
+    void runsCommandsSerially() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final CommandMailbox mailbox = new CommandMailbox(executor, 8);
+        final int threads = 4;
+        final int commandsPerThread = 5000;
+
+        final AtomicInteger running = new AtomicInteger();
+        final int[] lastSeen = new int[threads];
+        final List<String> problems = new ArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(threads * commandsPerThread);
+
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+
+            new Thread(() -> {
+                for (int i = 1; i <= commandsPerThread; i++) {
+                    final int command = i;
+
+                    mailbox.post(() -> {
+                        if (running.incrementAndGet() != 1) {
+                            problems.add("Two commands ran at once");
+                        }
+
+                        // Plain array, as only one command should ever touch it at a time
+                        if (lastSeen[thread] != command - 1) {
+                            problems.add("Thread " + thread + " command " + command + " ran after " + lastSeen[thread]);
+                        }
+
+                        lastSeen[thread] = command;
+                        running.decrementAndGet();
+                        finished.countDown();
+                    });
+                }
+            }).start();
+        }
+
+        assertTrue(finished.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(List.of(), problems);
+
+        for (int t = 0; t < threads; t++) {
+            assertEquals(commandsPerThread, lastSeen[t]);
+        }
+    }
+
+    @Test
+    @DisplayName("Keeps running commands after one throws.")
+    void survivesFailingCommands() throws InterruptedException {
+        final CountDownLatch finished = new CountDownLatch(1);
+        final CommandMailbox mailbox = new CommandMailbox(Runnable::run);
+
+        mailbox.post(() -> {
+            throw new IllegalStateException("Expected by the test");
+        });
+        mailbox.post(finished::countDown);
+
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Closes quietly once its executor has been shut down.")
+    void closesAfterShutdown() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CommandMailbox mailbox = new CommandMailbox(executor);
+        final AtomicInteger ran = new AtomicInteger();
+
+        executor.shutdown();
+
+        assertDoesNotThrow(() -> mailbox.post(ran::incrementAndGet));
+        assertTrue(mailbox.isClosed());
+        assertDoesNotThrow(() -> mailbox.post(ran::incrementAndGet));
+        assertEquals(0, ran.get());
+    }
+}
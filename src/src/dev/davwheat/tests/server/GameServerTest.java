@@ -0,0 +1,158 @@
+package dev.davwheat.tests.server;
+
+import dev.davwheat.server.GameServer;
+import dev.davwheat.server.LoadTestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameServer")
+class GameServerTest {
+    GameServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = new GameServer(0, 100, 1);
+
+        final Thread thread = new Thread(this.server);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        this.server.close();
+    }
+
+    @Test
+    @DisplayName("Plays every table of a load test to the end.")
+    void playsManyTables() throws InterruptedException {
+        final LoadTestClient client = new LoadTestClient("localhost", this.server.getPort(), 25, 3);
+
+        assertTrue(client.run(new PrintStream(OutputStream.nullOutputStream()), 60));
+        assertEquals(25, this.server.getFinishedTableCount());
+    }
+
+    @Test
+    @DisplayName("Rejects invalid answers, then keeps waiting for a valid one.")
+    void rejectsInvalidAnswers() throws IOException {
+        try (final Socket first = new Socket("localhost", this.server.getPort());
+             final Socket second = new Socket("localhost", this.server.getPort())) {
+            final BufferedReader firstIn = new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8));
+            final PrintWriter firstOut = new PrintWriter(first.getOutputStream(), true, StandardCharsets.UTF_8);
+            final BufferedReader secondIn = new BufferedReader(new InputStreamReader(second.getInputStream(), StandardCharsets.UTF_8));
+            final PrintWriter secondOut = new PrintWriter(second.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            assertTrue(firstIn.readLine().startsWith("HELLO"));
+            assertTrue(secondIn.readLine().startsWith("HELLO"));
+
+            firstOut.println("JOIN 9 Alice");
+            assertTrue(firstIn.readLine().startsWith("ERROR"));
+
+            firstOut.println("JOIN 2 Alice QUIET");
+            assertEquals("WAITING 1/2", firstIn.readLine());
+
+            secondOut.println("JOIN 2 Bob QUIET");
+            assertTrue(firstIn.readLine().matches("START \\d+ 0 A Alice"));
+            assertTrue(secondIn.readLine().matches("START \\d+ 1 B Bob"));
+            assertEquals("PROMPT CONTINUE 1 Press ENTER to continue.", firstIn.readLine());
+
+            secondOut.println("0");
+            assertEquals("ERROR It isn't your turn to choose.", secondIn.readLine());
+
+            firstOut.println("7");
+            assertTrue(firstIn.readLine().startsWith("ERROR"));
+            assertTrue(firstIn.readLine().startsWith("PROMPT CONTINUE"));
+
+            firstOut.println();
+            assertTrue(firstIn.readLine().startsWith("PROMPT"));
+        }
+    }
+
+    @Test
+    @DisplayName("Gives a player a name of their own if theirs is already taken.")
+    void renamesDuplicatePlayers() throws IOException {
+        try (final Socket first = new Socket("localhost", this.server.getPort());
+             final Socket second = new Socket("localhost", this.server.getPort())) {
+            final BufferedReader firstIn = new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8));
+            final BufferedReader secondIn = new BufferedReader(new InputStreamReader(second.getInputStream(), StandardCharsets.UTF_8));
+
+            new PrintWriter(first.getOutputStream(), true, StandardCharsets.UTF_8).println("JOIN 2 Alice QUIET");
+            assertTrue(firstIn.readLine().startsWith("HELLO"));
+            assertEquals("WAITING 1/2", firstIn.readLine());
+
+            new PrintWriter(second.getOutputStream(), true, StandardCharsets.UTF_8).println("JOIN 2 alice QUIET");
+            assertTrue(secondIn.readLine().startsWith("HELLO"));
+            assertTrue(secondIn.readLine().matches("START \\d+ 1 B Player 2"));
+        }
+    }
+
+    @Test
+    @DisplayName("Ends the turn of a player who doesn't answer in time.")
+    void endsIdleTurns() throws IOException {
+        try (final GameServer timedServer = new GameServer(0, 100, 1, 200);
+             final Socket first = new Socket("localhost", timedServer.getPort());
+             final Socket second = new Socket("localhost", timedServer.getPort())) {
+            final Thread thread = new Thread(timedServer);
+            thread.setDaemon(true);
+            thread.start();
+
+            final BufferedReader firstIn = new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8));
+            final BufferedReader secondIn = new BufferedReader(new InputStreamReader(second.getInputStream(), StandardCharsets.UTF_8));
+
+            new PrintWriter(first.getOutputStream(), true, StandardCharsets.UTF_8).println("JOIN 2 Alice QUIET");
+            assertTrue(firstIn.readLine().startsWith("HELLO"));
+            assertTrue(firstIn.readLine().startsWith("WAITING"));
+
+            new PrintWriter(second.getOutputStream(), true, StandardCharsets.UTF_8).println("JOIN 2 Bob QUIET");
+
+            // Alice never answers
+            assertTrue(firstIn.readLine().startsWith("START"));
+            assertTrue(firstIn.readLine().startsWith("PROMPT"));
+            assertEquals("TIMEOUT Your turn ran out of time.", firstIn.readLine());
+
+            assertTrue(secondIn.readLine().startsWith("HELLO"));
+            assertTrue(secondIn.readLine().startsWith("START"));
+            assertEquals("PROMPT CONTINUE 1 Press ENTER to continue.", secondIn.readLine());
+        }
+    }
+
+    @Test
+    @DisplayName("Fills a table's empty seats with bots after a while.")
+    void fillsEmptySeatsWithBots() throws IOException {
+        try (final GameServer botServer = new GameServer(0, 40, 1, 0, 100, 2);
+             final Socket socket = new Socket("localhost", botServer.getPort())) {
+            final Thread thread = new Thread(botServer);
+            thread.setDaemon(true);
+            thread.start();
+
+            final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            final PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            out.println("JOIN 3 Alice QUIET");
+            assertTrue(in.readLine().startsWith("HELLO"));
+            assertEquals("WAITING 1/3", in.readLine());
+            assertTrue(in.readLine().matches("START \\d+ 0 A Alice"));
+
+            String line;
+
+            while ((line = in.readLine()).startsWith("PROMPT")) {
+                out.println();
+            }
+
+            assertTrue(line.startsWith("GAME_OVER"));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package dev.davwheat.tests.server;
+
+import dev.davwheat.server.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HashedWheelTimer")
+class HashedWheelTimerTest {
+    // Only 8 buckets, so most timers need more than one turn of the wheel
+    final HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void closeTimer() {
+        this.timer.close();
+    }
+
+    @Test
+    @DisplayName("Runs tasks once their delay has passed, and not before.")
+    void runsTasksAfterDelay() throws InterruptedException {
+        final CountDownLatch finished = new CountDownLatch(20);
+        final List<String> early = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            final long delayMillis = i * 7;
+            final long scheduledAt = System.nanoTime();
+
+            this.timer.schedule(() -> {
+                if (System.nanoTime() - scheduledAt < TimeUnit.MILLISECONDS.toNanos(delayMillis)) {
+                    early.add("Timer for " + delayMillis + "ms ran early");
+                }
+
+                finished.countDown();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(), early);
+    }
+
+    @Test
+    @DisplayName("Doesn't run cancelled tasks.")
+    void skipsCancelledTasks() throws InterruptedException {
+        final AtomicInteger runs = new AtomicInteger();
+        final List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            timeouts.add(this.timer.schedule(runs::incrementAndGet, 30 + i % 50, TimeUnit.MILLISECONDS));
+        }
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+            assertTrue(timeouts.get(i).isCancelled());
+        }
+
+        final CountDownLatch finished = new CountDownLatch(1);
+        this.timer.schedule(finished::countDown, 200, TimeUnit.MILLISECONDS);
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(500, runs.get());
+        assertTrue(timeouts.get(1).isExpired());
+        assertFalse(timeouts.get(1).cancel());
+    }
+}
@@ -0,0 +1,49 @@
+package dev.davwheat.tests.simulation;
+
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import dev.davwheat.simulation.MonteCarloRunner;
+import dev.davwheat.simulation.SimulationResults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MonteCarloRunner")
+class MonteCarloRunnerTest {
+    static final int GAMES = 64;
+
+    final MonteCarloRunner runner = new MonteCarloRunner(() -> new GreedyDecisionPolicy(3, 10000), 200);
+
+    @Test
+    @DisplayName("Gives identical results for any number of threads.")
+    void resultsAreIndependentOfThreadCount() {
+        final SimulationResults single = this.runner.run(MonteCarloRunnerTest.GAMES, 42, 1);
+
+        assertEquals(single, this.runner.run(MonteCarloRunnerTest.GAMES, 42, 2));
+        assertEquals(single, this.runner.run(MonteCarloRunnerTest.GAMES, 42, 5));
+    }
+
+    @Test
+    @DisplayName("Gives different results for different seeds.")
+    void resultsDependOnSeed() {
+        assertNotEquals(
+                this.runner.run(MonteCarloRunnerTest.GAMES, 1, 2).getChecksum(),
+                this.runner.run(MonteCarloRunnerTest.GAMES, 2, 2).getChecksum()
+        );
+    }
+
+    @Test
+    @DisplayName("Accounts for every game played.")
+    void countsEveryGame() {
+        final SimulationResults results = this.runner.run(MonteCarloRunnerTest.GAMES, 7, 3);
+
+        long outcomes = results.getUnfinishedGames();
+        for (int seat = 0; seat < 3; seat++) {
+            outcomes += results.getWins(seat);
+        }
+
+        assertEquals(MonteCarloRunnerTest.GAMES, results.getGamesPlayed());
+        assertEquals(MonteCarloRunnerTest.GAMES, outcomes);
+        assertTrue(results.getLongestGame() <= 200);
+    }
+}
@@ -0,0 +1,141 @@
+package dev.davwheat.tests.simulation;
+
+import dev.davwheat.Game;
+import dev.davwheat.GameState;
+import dev.davwheat.PendingDecision;
+import dev.davwheat.enums.DecisionType;
+import dev.davwheat.policies.GreedyDecisionPolicy;
+import dev.davwheat.policies.MonteCarloTreeSearchPolicy;
+import dev.davwheat.simulation.MonteCarloTreeSearch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MonteCarloTreeSearch")
+class MonteCarloTreeSearchTest {
+    final MonteCarloTreeSearch search = new MonteCarloTreeSearch(2, 5, 20);
+
+    @AfterEach
+    void closeSearch() {
+        this.search.close();
+    }
+
+    /**
+     * Plays a game with default choices until it offers an Animal for sale.
+     */
+    PendingDecision advanceToPurchase(final Game game) {
+        PendingDecision decision;
+
+        while ((decision = game.advance()).type != DecisionType.PURCHASE_ANIMAL) {
+            game.submitDecision(decision.getDefaultChoice());
+        }
+
+        return decision;
+    }
+
+    @Test
+    @DisplayName("Picks a valid choice without changing the game.")
+    void choosesWithoutChangingGame() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(3, 0), 0, 4);
+        final PendingDecision decision = this.advanceToPurchase(game);
+        final GameState before = GameState.createFromGame(game);
+        final long hash = game.getStateHash();
+
+        final int choice = this.search.choose(game, decision);
+
+        assertTrue(decision.isValidChoice(choice));
+        assertSame(decision, game.getPendingDecision());
+        assertEquals(before, GameState.createFromGame(game));
+        assertEquals(hash, game.getStateHash());
+        assertEquals(1, this.search.getDecisionCount());
+        assertTrue(this.search.getPlayoutCount() >= 2);
+        assertTrue(this.search.getPlayoutsPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Tries every choice, even with no time to think.")
+    void triesEveryChoice() {
+        try (final MonteCarloTreeSearch hasty = new MonteCarloTreeSearch(1, 0, 5)) {
+            final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 9);
+
+            assertTrue(hasty.choose(game, this.advanceToPurchase(game)) >= 0);
+            assertEquals(2, hasty.getPlayoutCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Searches the same way on any number of threads when the playouts are fixed.")
+    void repeatsFixedSearches() {
+        try (final MonteCarloTreeSearch oneThread = new MonteCarloTreeSearch(1, 0, 20, 100);
+             final MonteCarloTreeSearch threeThreads = new MonteCarloTreeSearch(3, 0, 20, 100)) {
+            final Game first = Game.createHeadlessGame(new MonteCarloTreeSearchPolicy(new GreedyDecisionPolicy(3, 0), oneThread, 2), 60, 5);
+            final Game second = Game.createHeadlessGame(new MonteCarloTreeSearchPolicy(new GreedyDecisionPolicy(3, 0), threeThreads, 2), 60, 5);
+            first.play();
+            second.play();
+
+            assertEquals(GameState.createFromGame(first), GameState.createFromGame(second));
+            assertEquals(oneThread.getDecisionCount(), threeThreads.getDecisionCount());
+            assertEquals(oneThread.getPlayoutCount(), threeThreads.getPlayoutCount());
+            assertEquals(100 * oneThread.getDecisionCount(), oneThread.getPlayoutCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Shares its threads between decisions searched at once.")
+    void sharesThreads() {
+        try (final MonteCarloTreeSearch shared = new MonteCarloTreeSearch(4, 0, 20, 100)) {
+            final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(3, 0), 0, 4);
+            final PendingDecision decision = this.advanceToPurchase(game);
+            final int alone = shared.choose(game, decision);
+            final List<CompletableFuture<Integer>> answers = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                answers.add(shared.chooseAsync(game, decision));
+            }
+
+            for (final CompletableFuture<Integer> answer : answers) {
+                assertEquals(alone, answer.join());
+            }
+
+            assertEquals(9, shared.getDecisionCount());
+            assertEquals(900, shared.getPlayoutCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Answers decisions with only one choice straight away.")
+    void skipsSingleChoices() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(2, 0), 0, 1);
+
+        assertEquals(0, this.search.choose(game, game.advance()));
+        assertEquals(0, this.search.getDecisionCount());
+    }
+
+    @Test
+    @DisplayName("Plays whole games in the bots' seats.")
+    void playsWholeGames() {
+        final Game game = Game.createHeadlessGame(new MonteCarloTreeSearchPolicy(new GreedyDecisionPolicy(3, 0), this.search, 2), 40, 3);
+        game.play();
+
+        assertTrue(game.isOver());
+        assertEquals("Bot 3", game.getPlayers().get(2).playerName);
+        assertTrue(this.search.getDecisionCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Fails the answer, rather than throwing, once closed.")
+    void failsAfterClose() {
+        final Game game = Game.createHeadlessGame(new GreedyDecisionPolicy(3, 0), 0, 4);
+        final PendingDecision decision = this.advanceToPurchase(game);
+
+        this.search.close();
+
+        assertTrue(assertDoesNotThrow(() -> this.search.chooseAsync(game, decision)).isCompletedExceptionally());
+    }
+}